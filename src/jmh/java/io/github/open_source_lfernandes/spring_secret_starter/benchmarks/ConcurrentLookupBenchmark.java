@@ -0,0 +1,77 @@
+package io.github.open_source_lfernandes.spring_secret_starter.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConcurrentLookupBenchmark measures the throughput of lookups from any provider made by several threads
+ * sharing one service, each thread cycling through the keys.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConcurrentLookupBenchmark {
+
+    /**
+     * The service shared by every thread.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedService {
+
+        SecretsManagerService service;
+
+        @Setup
+        public void setUp() {
+            service = Fixtures.service(new ObjectMapper());
+        }
+    }
+
+    /**
+     * The position of a thread in the keys.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+        String nextKey() {
+            next = (next + 1) % Fixtures.KEYS;
+            return Fixtures.key(next);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<SecretDTO> threads01(SharedService shared, Cursor cursor) {
+        return shared.service.getFromAnyProvider(cursor.nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<SecretDTO> threads04(SharedService shared, Cursor cursor) {
+        return shared.service.getFromAnyProvider(cursor.nextKey());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Optional<SecretDTO> threads16(SharedService shared, Cursor cursor) {
+        return shared.service.getFromAnyProvider(cursor.nextKey());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Optional<SecretDTO> threads64(SharedService shared, Cursor cursor) {
+        return shared.service.getFromAnyProvider(cursor.nextKey());
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.open_source_lfernandes.spring_secret_starter.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsLookupProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixtures builds the services and payloads shared by the benchmarks.
+ */
+final class Fixtures {
+
+    /**
+     * The number of secrets served by the last provider.
+     */
+    static final int KEYS = 64;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Returns the key of the secret at the specified index.
+     *
+     * @param index the index of the secret, below {@link #KEYS}
+     * @return the key of the secret
+     */
+    static String key(int index) {
+        return "secret-" + index;
+    }
+
+    /**
+     * Builds a service whose first two providers hold no secret, so every lookup from any provider
+     * falls through them before the CUSTOM provider answers.
+     *
+     * @param objectMapper the ObjectMapper used to convert secret values
+     * @return the service
+     */
+    static SecretsManagerService service(ObjectMapper objectMapper) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            values.put(key(i), "\"value-" + i + "\"");
+        }
+        List<AbstractSecretsProvider> providers = new ArrayList<>();
+        providers.add(new InMemorySecretsProvider(objectMapper, Origin.AWS, 1, Map.of()));
+        providers.add(new InMemorySecretsProvider(objectMapper, Origin.VAULT, 2, Map.of()));
+        providers.add(new InMemorySecretsProvider(objectMapper, Origin.CUSTOM, 3, values));
+        return new SecretsManagerService(providers, objectMapper, SecretsExecutors.sharedLookupExecutor(),
+                new SecretsLookupProperties(null, null, null, null, null));
+    }
+
+    /**
+     * Builds a JSON payload of credentials with the specified number of entries.
+     *
+     * @param entries the number of entries of the payload
+     * @return the JSON payload
+     */
+    static String credentials(int entries) {
+        StringBuilder json = new StringBuilder("{\"username\":\"service-account\",\"password\":\"s3cr3t\",\"entries\":[");
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"entry-").append(i).append("\",\"value\":\"").append("x".repeat(32)).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.open_source_lfernandes.spring_secret_starter.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * InMemorySecretsProvider serves secrets from a map, so the benchmarks measure the starter
+ * without any network call.
+ */
+class InMemorySecretsProvider extends AbstractSecretsProvider {
+
+    /**
+     * The origin reported by the provider.
+     */
+    private final Origin origin;
+
+    /**
+     * The secrets served, indexed by key.
+     */
+    private final Map<String, SecretDTO> secrets;
+
+    /**
+     * Constructs an InMemorySecretsProvider serving the specified values.
+     *
+     * @param objectMapper the ObjectMapper used to convert secret values
+     * @param origin       the origin reported by the provider
+     * @param order        the order of the provider
+     * @param values       the secret values, indexed by key
+     */
+    InMemorySecretsProvider(ObjectMapper objectMapper, Origin origin, int order, Map<String, String> values) {
+        super(objectMapper, order);
+        this.origin = origin;
+        this.secrets = Map.copyOf(values.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> SecretDTO.builder().origin(origin).key(entry.getKey()).value(entry.getValue()).build())));
+    }
+
+    @Override
+    public Origin getOrigin() {
+        return origin;
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        return Optional.ofNullable(secrets.get(key));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        SecretDTO secret = secrets.get(key);
+        if (secret == null) {
+            throw new SecretNotFoundException(key);
+        }
+        return convertSecretToTypeInstance(secret, type);
+    }
+}
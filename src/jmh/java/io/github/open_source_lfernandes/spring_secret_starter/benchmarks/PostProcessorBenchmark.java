@@ -0,0 +1,98 @@
+package io.github.open_source_lfernandes.spring_secret_starter.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretBindingRegistry;
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretValueBeanPostProcessor;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsInjectionProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostProcessorBenchmark measures the injection of secrets by the {@link SecretValueBeanPostProcessor}
+ * into a bean with many annotated fields, and its overhead on a bean without any.
+ * A single post-processor processes every instance, as for prototype beans. Hot reload is disabled,
+ * so the registry of the bindings does not grow across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostProcessorBenchmark {
+
+    SecretValueBeanPostProcessor postProcessor;
+
+    @Setup
+    public void setUp() {
+        SecretsManagerService service = Fixtures.service(new ObjectMapper());
+        postProcessor = new SecretValueBeanPostProcessor(new StandardEnvironment(), service,
+                new SecretsInjectionProperties(false, false, Duration.ZERO, true), new SecretBindingRegistry(service));
+    }
+
+    @Benchmark
+    public Object annotatedBean() {
+        return postProcessor.postProcessBeforeInitialization(new AnnotatedBean(), "annotatedBean");
+    }
+
+    @Benchmark
+    public Object plainBean() {
+        return postProcessor.postProcessBeforeInitialization(new PlainBean(), "plainBean");
+    }
+
+    /**
+     * A bean with 32 annotated fields, each injected from a different secret.
+     */
+    public static class AnnotatedBean {
+        @SecretValue("secret-0") String secret0;
+        @SecretValue("secret-1") String secret1;
+        @SecretValue("secret-2") String secret2;
+        @SecretValue("secret-3") String secret3;
+        @SecretValue("secret-4") String secret4;
+        @SecretValue("secret-5") String secret5;
+        @SecretValue("secret-6") String secret6;
+        @SecretValue("secret-7") String secret7;
+        @SecretValue("secret-8") String secret8;
+        @SecretValue("secret-9") String secret9;
+        @SecretValue("secret-10") String secret10;
+        @SecretValue("secret-11") String secret11;
+        @SecretValue("secret-12") String secret12;
+        @SecretValue("secret-13") String secret13;
+        @SecretValue("secret-14") String secret14;
+        @SecretValue("secret-15") String secret15;
+        @SecretValue("secret-16") String secret16;
+        @SecretValue("secret-17") String secret17;
+        @SecretValue("secret-18") String secret18;
+        @SecretValue("secret-19") String secret19;
+        @SecretValue("secret-20") String secret20;
+        @SecretValue("secret-21") String secret21;
+        @SecretValue("secret-22") String secret22;
+        @SecretValue("secret-23") String secret23;
+        @SecretValue("secret-24") String secret24;
+        @SecretValue("secret-25") String secret25;
+        @SecretValue("secret-26") String secret26;
+        @SecretValue("secret-27") String secret27;
+        @SecretValue("secret-28") String secret28;
+        @SecretValue("secret-29") String secret29;
+        @SecretValue("secret-30") String secret30;
+        @SecretValue("secret-31") String secret31;
+    }
+
+    /**
+     * A bean with as many fields, none of them annotated.
+     */
+    public static class PlainBean {
+        String field0, field1, field2, field3, field4, field5, field6, field7;
+        String field8, field9, field10, field11, field12, field13, field14, field15;
+        String field16, field17, field18, field19, field20, field21, field22, field23;
+        String field24, field25, field26, field27, field28, field29, field30, field31;
+    }
+}
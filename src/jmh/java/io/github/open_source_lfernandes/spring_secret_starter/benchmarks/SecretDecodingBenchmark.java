@@ -0,0 +1,100 @@
+package io.github.open_source_lfernandes.spring_secret_starter.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SecretDecodingBenchmark measures {@link SecretsManagerService#convertSecretToTypeInstance(SecretDTO, Class)}
+ * on small and large JSON payloads. Mutable types and records holding a collection are decoded on every call,
+ * while records whose components are all immutable are memoized per version of the secret, so both paths are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecretDecodingBenchmark {
+
+    /**
+     * The number of entries of the payload: 1 for a small credential, 1000 for a large document.
+     */
+    @Param({"1", "1000"})
+    int entries;
+
+    SecretsManagerService service;
+    SecretDTO secret;
+
+    @Setup
+    public void setUp() {
+        service = Fixtures.service(new ObjectMapper());
+        secret = SecretDTO.builder()
+                .origin(Origin.AWS)
+                .key("credentials")
+                .value(Fixtures.credentials(entries))
+                .version("v1")
+                .build();
+    }
+
+    @Benchmark
+    public MutableCredentials decodeMutable() {
+        return service.convertSecretToTypeInstance(secret, MutableCredentials.class);
+    }
+
+    @Benchmark
+    public Credentials decodeRecord() {
+        return service.convertSecretToTypeInstance(secret, Credentials.class);
+    }
+
+    @Benchmark
+    public Login decodeImmutableRecord() {
+        return service.convertSecretToTypeInstance(secret, Login.class);
+    }
+
+    /**
+     * Credentials decoded as a record, whose list of entries is mutable.
+     */
+    public record Credentials(String username, String password, List<Entry> entries) {
+    }
+
+    /**
+     * The login of the credentials decoded as a record whose components are all immutable, ignoring the entries.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Login(String username, String password) {
+    }
+
+    /**
+     * An entry of the credentials.
+     */
+    public record Entry(String name, String value) {
+    }
+
+    /**
+     * Credentials decoded as a mutable bean.
+     */
+    public static class MutableCredentials {
+        public String username;
+        public String password;
+        public List<MutableEntry> entries;
+    }
+
+    /**
+     * An entry of the mutable credentials.
+     */
+    public static class MutableEntry {
+        public String name;
+        public String value;
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.open_source_lfernandes.spring_secret_starter.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SecretLookupBenchmark measures the cost of the SecretsManagerService itself on a lookup,
+ * with in-memory providers answering right away.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecretLookupBenchmark {
+
+    SecretsManagerService service;
+
+    @Setup
+    public void setUp() {
+        service = Fixtures.service(new ObjectMapper());
+    }
+
+    /**
+     * A lookup in the provider of a given origin.
+     */
+    @Benchmark
+    public Optional<SecretDTO> singleKeyLookup() {
+        return service.get(Origin.CUSTOM, Fixtures.key(7));
+    }
+
+    /**
+     * A lookup from any provider, missing in the first two providers before the third one answers.
+     */
+    @Benchmark
+    public Optional<SecretDTO> anyProviderFallThrough() {
+        return service.getFromAnyProvider(Fixtures.key(7));
+    }
+
+    /**
+     * A lookup from any provider missing in every provider.
+     */
+    @Benchmark
+    public Optional<SecretDTO> anyProviderMiss() {
+        return service.getFromAnyProvider("missing");
+    }
+}
@@ -36,4 +36,13 @@ public @interface SecretValue {
      * @return the Class type to convert the secret value to
      */
     Class<?> type() default String.class;
+
+    /**
+     * The name of a method of the bean invoked after the field is re-injected with a rotated secret,
+     * taking either no parameter or the new value.
+     * Default is empty, meaning no method is invoked.
+     *
+     * @return the name of the method invoked when the secret changes
+     */
+    String onChange() default "";
 }
@@ -0,0 +1,216 @@
+package io.github.open_source_lfernandes.spring_secret_starter.annotations.impl;
+
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretValueBeanPostProcessor.SecretLookup;
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretValueFields.SecretField;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.events.SecretRotatedEvent;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotInjectSecretValueException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretBindingRegistry keeps track of the fields injected by {@link SecretValueBeanPostProcessor}
+ * and injects the new value of a secret into them when a {@link SecretRotatedEvent} is published.
+ * <br>
+ * Beans are referenced weakly, so registering a binding does not keep a discarded bean alive, and the bindings
+ * of collected beans are pruned whenever another field is registered for the same key. Each key is retained once
+ * in the caches refreshed in the background, so its rotation is detected even if it is never read again.
+ * Fields are injected again with the setter cached by {@link SecretValueFields}. After a field is re-injected, the method named by {@link SecretValue#onChange()}, if any, is invoked
+ * on the bean. Fields read by other threads should be declared volatile to observe the new value.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretBindingRegistry implements ApplicationListener<SecretRotatedEvent> {
+
+    /**
+     * The SecretsManagerService instance used to resolve the rotated secrets requested from any provider.
+     */
+    SecretsManagerService secretService;
+    /**
+     * The bindings of the injected fields, indexed by resolved key.
+     */
+    ConcurrentMap<String, List<SecretBinding>> bindings = new ConcurrentHashMap<>();
+    /**
+     * The keys and origins already retained in the caches.
+     */
+    Set<SecretLookup> retained = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Registers a field injected with a secret, retaining its key in the caches refreshed in the background.
+     *
+     * @param bean  the bean holding the field
+     * @param field the injected field
+     * @param key   the resolved key of the secret
+     * @throws CannotInjectSecretValueException if the callback method named by the annotation does not exist
+     */
+    void register(Object bean, SecretField field, String key) {
+        SecretValue annotation = field.annotation();
+        Method callback = resolveCallback(bean.getClass(), annotation.onChange(), annotation.type());
+        List<SecretBinding> bound = bindings.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>());
+        bound.removeIf(binding -> isNull(binding.bean().get()));
+        bound.add(new SecretBinding(new WeakReference<>(bean), field, annotation.origin(), annotation.type(), callback));
+        if (retained.add(new SecretLookup(key, annotation.origin()))) {
+            secretService.retain(annotation.origin(), key);
+        }
+    }
+
+    /**
+     * Returns the number of fields registered.
+     *
+     * @return the number of bindings
+     */
+    public int size() {
+        return bindings.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Injects the new value of the rotated secret into the fields bound to its key and origin,
+     * or to its key with origin ANY.
+     *
+     * @param event the event published when a background refresh found a new value
+     */
+    @Override
+    public void onApplicationEvent(SecretRotatedEvent event) {
+        List<SecretBinding> bound = bindings.get(event.getKey());
+        if (isNull(bound)) {
+            return;
+        }
+        for (SecretBinding binding : bound) {
+            Object bean = binding.bean().get();
+            if (isNull(bean)) {
+                bound.remove(binding);
+            } else if (Origin.ANY == binding.origin() || binding.origin() == event.getOrigin()) {
+                reinject(bean, binding, event);
+            }
+        }
+    }
+
+    /**
+     * Injects the new value of a secret into a bound field and invokes its callback, when the value changed.
+     * Failures are logged and leave the field with its previous value.
+     *
+     * @param bean    the bean holding the field
+     * @param binding the binding of the field
+     * @param event   the event published when a background refresh found a new value
+     */
+    private void reinject(Object bean, SecretBinding binding, SecretRotatedEvent event) {
+        Field field = binding.field().field();
+        try {
+            Object value = resolve(binding, event);
+            // the field was made accessible when its setter was created
+            if (Objects.equals(field.get(bean), value)) {
+                return;
+            }
+            binding.field().set(bean, value);
+            log.info("stage=secret-reinjected, key={}, bean={}, field={}",
+                    event.getKey(), bean.getClass().getSimpleName(), field.getName());
+            invokeCallback(bean, binding.callback(), value);
+        } catch (SecretNotFoundException | IllegalAccessException | InvocationTargetException | RuntimeException exception) {
+            log.warn("stage=secret-reinjection-failed, key={}, field={}, error={}",
+                    event.getKey(), field.getName(), exception.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the value to inject. The secret of the event is used when the binding requests its origin;
+     * bindings requesting any provider resolve the key again, as another provider may take precedence.
+     *
+     * @param binding the binding of the field
+     * @param event   the event published when a background refresh found a new value
+     * @return the value to inject
+     */
+    private Object resolve(SecretBinding binding, SecretRotatedEvent event) throws SecretNotFoundException {
+        SecretDTO secret;
+        if (Origin.ANY == binding.origin()) {
+            secret = secretService.getFromAnyProvider(event.getKey())
+                    .orElseThrow(() -> new SecretNotFoundException(event.getKey()));
+        } else {
+            secret = event.getCurrent();
+        }
+        if (String.class.equals(binding.type())) {
+            return secret.value();
+        }
+        return secretService.convertSecretToTypeInstance(secret, binding.type());
+    }
+
+    /**
+     * Invokes the callback of a re-injected field, passing the new value when the method declares a parameter.
+     *
+     * @param bean     the bean holding the field
+     * @param callback the callback method, may be null
+     * @param value    the value injected
+     */
+    private static void invokeCallback(Object bean, Method callback, Object value)
+            throws IllegalAccessException, InvocationTargetException {
+        if (isNull(callback)) {
+            return;
+        }
+        ReflectionUtils.makeAccessible(callback);
+        if (callback.getParameterCount() == 0) {
+            callback.invoke(bean);
+        } else {
+            callback.invoke(bean, value);
+        }
+    }
+
+    /**
+     * Finds the callback method of a field: a method with the specified name declared by the bean class
+     * or its superclasses, taking either no parameter or the value of the secret.
+     *
+     * @param beanClass the class of the bean
+     * @param name      the name of the method, empty if there is no callback
+     * @param type      the type of the secret value
+     * @return the callback method, or null if there is no callback
+     */
+    private static Method resolveCallback(Class<?> beanClass, String name, Class<?> type) {
+        if (name.isEmpty()) {
+            return null;
+        }
+        Class<?> userClass = ClassUtils.getUserClass(beanClass);
+        Method callback = ReflectionUtils.findMethod(userClass, name, type);
+        if (isNull(callback)) {
+            callback = ReflectionUtils.findMethod(userClass, name);
+        }
+        if (nonNull(callback)) {
+            return callback;
+        }
+        throw new CannotInjectSecretValueException(new NoSuchMethodException(
+                "No method " + name + "() or " + name + "(" + type.getSimpleName() + ") on " + userClass.getName()));
+    }
+
+    /**
+     * SecretBinding describes a field injected with a secret.
+     *
+     * @param bean     the bean holding the field, referenced weakly
+     * @param field    the injected field
+     * @param origin   the origin requested by the annotation
+     * @param type     the Class type the secret value is converted to
+     * @param callback the method invoked after the field is re-injected, or null
+     */
+    record SecretBinding(WeakReference<Object> bean, SecretField field, Origin origin, Class<?> type, Method callback) {
+    }
+}
@@ -1,21 +1,44 @@
 package io.github.open_source_lfernandes.spring_secret_starter.annotations.impl;
 
 import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretValueFields.SecretField;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.events.SecretRotatedEvent;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotInjectSecretValueException;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsInjectionProperties;
 import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsObservations;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.SmartApplicationListener;
 import org.springframework.core.env.Environment;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -23,12 +46,33 @@ import static java.util.Objects.nonNull;
  * SecretValue.
  * <br>
  * It retrieves the secret value from the SecretsManagerService and injects it into the field.
+ * <br>
+ * Before the first bean is initialized, the keys of every annotated field declared by the bean
+ * definitions are fetched in batch, so most fields are injected from memory instead of resolving
+ * each one against the providers.
+ * <br>
+ * The annotated fields of each class, including inherited ones, are introspected once and cached
+ * with a setter of each field, so beans without any annotated field only cost a map lookup.
+ * <br>
+ * When memoization is enabled, the secret resolved for each key and origin is kept in memory, so the
+ * prototype and scoped beans created later are injected without calling the providers again. Typed values
+ * are decoded from the memoized secret by the SecretsManagerService, which memoizes immutable instances
+ * per type and value and never shares mutable ones between beans. A memoized secret is released when
+ * a background refresh finds it rotated only, so without refresh-ahead it is kept until the context is closed.
+ * <br>
+ * When hot reload is enabled, the fields of singleton beans are registered in the {@link SecretBindingRegistry},
+ * so they are injected again when their secret is rotated. Prototype and scoped beans are not registered,
+ * as the registry would otherwise grow with every instance created.
+ * <br>
+ * When a startup budget is configured, the time spent resolving secrets until the context is refreshed
+ * is accumulated; once it is exhausted, the remaining fields fail fast instead of stalling the startup.
  *
  * @see SecretValue
  */
+@Slf4j
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
-public class SecretValueBeanPostProcessor implements BeanPostProcessor {
+public class SecretValueBeanPostProcessor implements BeanPostProcessor, BeanFactoryAware, SmartApplicationListener {
 
     /**
      * The Environment instance used to resolve placeholders in the secret key.
@@ -38,6 +82,48 @@ public class SecretValueBeanPostProcessor implements BeanPostProcessor {
      * The SecretsManagerService instance used to retrieve secrets from various providers.
      */
     SecretsManagerService secretService;
+    /**
+     * The properties configuring how secrets are injected.
+     */
+    SecretsInjectionProperties properties;
+    /**
+     * The registry of the injected fields, injected again when their secret is rotated.
+     */
+    SecretBindingRegistry bindingRegistry;
+    /**
+     * The annotated fields of each class post-processed so far.
+     */
+    SecretValueFields secretValueFields = new SecretValueFields();
+    /**
+     * The secrets fetched in batch before the first bean was initialized.
+     */
+    Map<SecretLookup, SecretDTO> prefetched = new ConcurrentHashMap<>();
+    /**
+     * The secrets resolved for the annotated fields, kept until they are rotated.
+     */
+    Map<SecretLookup, SecretDTO> memoized = new ConcurrentHashMap<>();
+    /**
+     * Whether the prefetch of the annotated keys was already attempted.
+     */
+    AtomicBoolean prefetchAttempted = new AtomicBoolean();
+    /**
+     * The time spent resolving secrets since the startup began, in nanoseconds.
+     */
+    AtomicLong startupNanos = new AtomicLong();
+    /**
+     * Whether the application context was refreshed, after which the startup budget no longer applies.
+     */
+    AtomicBoolean started = new AtomicBoolean();
+    /**
+     * The bean factory whose bean definitions are scanned for annotated fields.
+     */
+    @NonFinal
+    BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
 
     /**
      * Post-processes the bean before initialization. It scans the fields of the bean for the @SecretValue annotation
@@ -50,33 +136,170 @@ public class SecretValueBeanPostProcessor implements BeanPostProcessor {
      */
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-        Class<?> clazz = bean.getClass();
-        processFields(bean, clazz);
+        prefetchOnce();
+        List<SecretField> fields = secretValueFields.get(bean.getClass());
+        if (!fields.isEmpty()) {
+            processFields(bean, beanName, fields);
+        }
         return bean;
     }
 
+    @Override
+    public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+        return ContextRefreshedEvent.class.isAssignableFrom(eventType)
+                || SecretRotatedEvent.class.isAssignableFrom(eventType);
+    }
+
     /**
-     * Post-processes the bean after initialization. This implementation does not perform any additional processing.
+     * Releases the prefetched secrets once every singleton has been initialized and ends the startup budget,
+     * or releases the memoized secret of a rotated key.
      *
-     * @param bean  the bean instance being processed
-     * @param clazz the class type of the bean
-     * @throws BeansException if any error occurs during processing
+     * @param event the event published when the application context is refreshed or a secret is rotated
+     */
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof SecretRotatedEvent rotated) {
+            release(rotated);
+        } else if (event instanceof ContextRefreshedEvent) {
+            onContextRefreshed();
+        }
+    }
+
+    /**
+     * Releases the prefetched secrets once every singleton has been initialized and ends the startup budget.
+     */
+    private void onContextRefreshed() {
+        prefetched.clear();
+        if (started.compareAndSet(false, true) && !properties.getStartupBudget().isZero()) {
+            log.info("stage=secrets-injected-at-startup, elapsed={}, budget={}",
+                    Duration.ofNanos(startupNanos.get()), properties.getStartupBudget());
+        }
+    }
+
+    /**
+     * Releases the secret of a rotated key, memoized for its origin or for any provider,
+     * as another provider may take precedence.
+     *
+     * @param event the event published when a background refresh found a new value
+     */
+    private void release(SecretRotatedEvent event) {
+        for (SecretLookup lookup : List.of(new SecretLookup(event.getKey(), event.getOrigin()),
+                new SecretLookup(event.getKey(), Origin.ANY))) {
+            prefetched.remove(lookup);
+            if (nonNull(memoized.remove(lookup))) {
+                log.debug("stage=memoized-secret-released, key={}, origin={}", lookup.key(), lookup.origin());
+            }
+        }
+    }
+
+    /**
+     * Injects the secret value of each annotated field of the bean.
+     *
+     * @param bean     the bean instance being processed
+     * @param beanName the name of the bean
+     * @param fields   the annotated fields of the class of the bean
+     * @throws CannotInjectSecretValueException if a secret cannot be found or the startup budget is exhausted
      */
-    private void processFields(Object bean, Class<?> clazz) {
-        for (Field field : clazz.getDeclaredFields()) {
-            SecretValue annotation = field.getAnnotation(SecretValue.class);
-            if (nonNull(annotation)) {
-                String key = resolveKey(annotation.value());
+    private void processFields(Object bean, String beanName, List<SecretField> fields) {
+        boolean hotReload = properties.getHotReload() && isSingleton(beanName);
+        for (SecretField field : fields) {
+            SecretValue annotation = field.annotation();
+            String key = resolveKey(annotation.value());
+            try {
+                checkStartupBudget(key);
+                long start = System.nanoTime();
+                Object secret;
                 try {
-                    Object secret = getSecretFromProviders(key, annotation.origin(), annotation.type());
-                    injectValue(bean, field, secret);
-                } catch (SecretNotFoundException secretNotFoundException) {
-                    throw new CannotInjectSecretValueException(secretNotFoundException);
+                    secret = observeResolution(key, annotation.origin(), annotation.type());
+                } finally {
+                    chargeStartupBudget(start);
+                }
+                field.set(bean, secret);
+                if (hotReload) {
+                    bindingRegistry.register(bean, field, key);
                 }
+            } catch (SecretNotFoundException secretNotFoundException) {
+                throw new CannotInjectSecretValueException(secretNotFoundException);
             }
         }
     }
 
+    /**
+     * Checks whether a bean is a singleton of the bean factory, as opposed to a prototype, scoped or inner bean.
+     *
+     * @param beanName the name of the bean
+     * @return true if the bean is a singleton
+     */
+    private boolean isSingleton(String beanName) {
+        return nonNull(beanFactory) && nonNull(beanName) && beanFactory.containsBean(beanName)
+                && beanFactory.isSingleton(beanName);
+    }
+
+    /**
+     * Resolves the secret value of a field in a {@value SecretsObservations#INJECTION} observation,
+     * tagged with whether it was served by the prefetched or memoized secrets.
+     *
+     * @param key    the key of the secret to retrieve
+     * @param origin the origin of the secret
+     * @param type   the Class type to convert the secret value to
+     * @return the secret value
+     */
+    private Object observeResolution(String key, Origin origin, Class<?> type) throws SecretNotFoundException {
+        SecretsObservations observations = secretService.getObservations();
+        if (observations.getRegistry().isNoop()) {
+            return resolveSecret(key, origin, type);
+        }
+        var lookup = new SecretLookup(key, origin);
+        boolean cached = prefetched.containsKey(lookup) || memoized.containsKey(lookup);
+        return observations.observe(observations.create(SecretsObservations.INJECTION, "inject", origin, key)
+                .lowCardinalityKeyValue("cached", String.valueOf(cached)), () -> resolveSecret(key, origin, type));
+    }
+
+    /**
+     * Resolves the secret value from the prefetched or memoized secrets, falling back to the providers
+     * when the key was not resolved yet or its value cannot be converted to the requested type.
+     *
+     * @param key    the key of the secret to retrieve
+     * @param origin the origin of the secret
+     * @param type   the Class type to convert the secret value to
+     * @return the secret value
+     */
+    private Object resolveSecret(String key, Origin origin, Class<?> type) throws SecretNotFoundException {
+        var lookup = new SecretLookup(key, origin);
+        SecretDTO secret = prefetched.get(lookup);
+        if (isNull(secret) && properties.getMemoize()) {
+            secret = memoized.get(lookup);
+            if (isNull(secret)) {
+                secret = memoize(lookup);
+            }
+        }
+        if (nonNull(secret)) {
+            if (String.class.equals(type)) {
+                return secret.value();
+            }
+            try {
+                return secretService.convertSecretToTypeInstance(secret, type);
+            } catch (RuntimeException exception) {
+                log.debug("stage=prefetched-secret-not-convertible, key={}, type={}", key, type.getName());
+            }
+        }
+        return getSecretFromProviders(key, origin, type);
+    }
+
+    /**
+     * Retrieves a secret from the providers and memoizes it.
+     *
+     * @param lookup the key and origin of the secret
+     * @return the secret, or null if no provider holds it
+     */
+    private SecretDTO memoize(SecretLookup lookup) {
+        Optional<SecretDTO> secret = Origin.ANY == lookup.origin()
+                ? secretService.getFromAnyProvider(lookup.key())
+                : secretService.get(lookup.origin(), lookup.key());
+        secret.ifPresent(found -> memoized.put(lookup, found));
+        return secret.orElse(null);
+    }
+
     /**
      * Retrieves the secret value from the SecretsManagerService based on the provided key and origin.
      * If the origin is ANY, it retrieves the secret from any available provider.
@@ -104,6 +327,125 @@ public class SecretValueBeanPostProcessor implements BeanPostProcessor {
         }
     }
 
+    /**
+     * Fetches in batch the keys of every annotated field declared by the bean definitions,
+     * the first time a bean is post-processed. Failures are logged and leave the affected
+     * fields to be resolved individually.
+     */
+    private void prefetchOnce() {
+        if (!properties.getPrefetch() || !(beanFactory instanceof ListableBeanFactory listableBeanFactory)
+                || !prefetchAttempted.compareAndSet(false, true)) {
+            return;
+        }
+        Map<Origin, Set<String>> keysByOrigin = scanAnnotatedKeys(listableBeanFactory);
+        keysByOrigin.forEach((origin, keys) -> {
+            if (isStartupBudgetExhausted()) {
+                log.warn("stage=secrets-prefetch-skipped, origin={}, reason=startup-budget-exhausted", origin);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                SecretBatchDTO batch = Origin.ANY == origin
+                        ? secretService.getAllFromAnyProvider(keys)
+                        : secretService.getAll(origin, keys);
+                batch.secrets().forEach((key, secret) -> prefetched.put(new SecretLookup(key, origin), secret));
+                log.info("stage=secrets-prefetched, origin={}, requested={}, found={}",
+                        origin, keys.size(), batch.secrets().size());
+            } catch (RuntimeException exception) {
+                log.warn("stage=secrets-prefetch-failed, origin={}, error={}", origin, exception.getMessage());
+            } finally {
+                chargeStartupBudget(start);
+            }
+        });
+    }
+
+    /**
+     * Fails the injection of a field when the startup budget is exhausted.
+     *
+     * @param key the key of the secret to inject
+     * @throws CannotInjectSecretValueException if the startup budget is exhausted
+     */
+    private void checkStartupBudget(String key) {
+        if (isStartupBudgetExhausted()) {
+            throw new CannotInjectSecretValueException(new TimeoutException(String.format(
+                    "Startup budget of %s exhausted before injecting key=%s", properties.getStartupBudget(), key)));
+        }
+    }
+
+    /**
+     * Checks whether the time spent resolving secrets during startup exceeded the startup budget.
+     *
+     * @return true if the budget is configured, still applies and is exhausted
+     */
+    private boolean isStartupBudgetExhausted() {
+        Duration budget = properties.getStartupBudget();
+        return !budget.isZero() && !started.get() && startupNanos.get() >= budget.toNanos();
+    }
+
+    /**
+     * Adds the time elapsed since the specified instant to the time spent resolving secrets during startup.
+     *
+     * @param start the {@link System#nanoTime()} at which the resolution started
+     */
+    private void chargeStartupBudget(long start) {
+        if (!started.get()) {
+            startupNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Collects the resolved keys of the annotated fields declared by the bean definitions, grouped by origin.
+     *
+     * @param listableBeanFactory the bean factory whose bean definitions are scanned
+     * @return the keys to prefetch, grouped by origin
+     */
+    private Map<Origin, Set<String>> scanAnnotatedKeys(ListableBeanFactory listableBeanFactory) {
+        Map<Origin, Set<String>> keysByOrigin = new EnumMap<>(Origin.class);
+        for (String beanName : listableBeanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = resolveBeanType(listableBeanFactory, beanName);
+            if (isNull(beanType)) {
+                continue;
+            }
+            try {
+                secretValueFields.get(beanType).forEach(field -> addResolvedKey(keysByOrigin, field.annotation()));
+            } catch (IllegalStateException exception) {
+                log.debug("stage=secret-fields-not-introspectable, bean={}, error={}", beanName, exception.getMessage());
+            }
+        }
+        return keysByOrigin;
+    }
+
+    /**
+     * Resolves the type of a bean definition without initializing factory beans.
+     *
+     * @param listableBeanFactory the bean factory holding the definition
+     * @param beanName            the name of the bean
+     * @return the type of the bean, or null if it cannot be determined
+     */
+    private static Class<?> resolveBeanType(ListableBeanFactory listableBeanFactory, String beanName) {
+        try {
+            return listableBeanFactory.getType(beanName, false);
+        } catch (RuntimeException | LinkageError exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Resolves the key of the annotation and adds it to the keys of its origin.
+     * Keys whose placeholders cannot be resolved yet are skipped.
+     *
+     * @param keysByOrigin the keys to prefetch, grouped by origin
+     * @param annotation   the annotation of the field
+     */
+    private void addResolvedKey(Map<Origin, Set<String>> keysByOrigin, SecretValue annotation) {
+        try {
+            keysByOrigin.computeIfAbsent(annotation.origin(), origin -> new LinkedHashSet<>())
+                    .add(resolveKey(annotation.value()));
+        } catch (IllegalArgumentException exception) {
+            log.debug("stage=secret-key-not-resolvable, expression={}", annotation.value());
+        }
+    }
+
     /**
      * Resolves the key by replacing any placeholders in the expression using the Environment.
      *
@@ -115,19 +457,12 @@ public class SecretValueBeanPostProcessor implements BeanPostProcessor {
     }
 
     /**
-     * Injects the secret value into the specified field of the bean.
+     * SecretLookup identifies a secret requested by an annotated field.
      *
-     * @param bean  the bean instance
-     * @param field the field to inject the secret value into
-     * @param value the secret value to inject
+     * @param key    the resolved key of the secret
+     * @param origin the origin requested by the annotation
      */
-    private void injectValue(Object bean, Field field, Object value) {
-        try {
-            field.setAccessible(true);
-            field.set(bean, value);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException("Failed to inject secret into field " + field.getName(), e);
-        }
+    record SecretLookup(String key, Origin origin) {
     }
 
 }
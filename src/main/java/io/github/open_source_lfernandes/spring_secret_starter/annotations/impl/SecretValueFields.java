@@ -0,0 +1,120 @@
+package io.github.open_source_lfernandes.spring_secret_starter.annotations.impl;
+
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretValueFields caches, per class, the fields annotated with {@link SecretValue}, including the ones
+ * declared by its superclasses, along with a setter of each field.
+ * <br>
+ * A class is introspected the first time it is requested only. Classes without annotated fields are cached
+ * with an empty list, so the many beans declaring no secret only cost a map lookup. Classes are referenced
+ * softly, so caching them does not prevent their class loader from being collected.
+ * <br>
+ * The setters are {@link MethodHandle}s unreflected once from the accessible field. A {@link java.lang.invoke.VarHandle}
+ * is not used, as it cannot write the final fields that {@link Field#set(Object, Object)} was able to inject.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class SecretValueFields {
+
+    /**
+     * The type every setter is adapted to: the bean and the value, both as objects.
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * The annotated fields of each class introspected so far.
+     */
+    ConcurrentMap<Class<?>, List<SecretField>> fields = new ConcurrentReferenceHashMap<>();
+
+    /**
+     * Returns the annotated fields of a class, superclass fields first.
+     *
+     * @param clazz the class of the bean
+     * @return the annotated fields, empty if the class declares none
+     * @throws IllegalStateException if a setter cannot be created for an annotated field
+     */
+    List<SecretField> get(Class<?> clazz) {
+        return fields.computeIfAbsent(clazz, SecretValueFields::introspect);
+    }
+
+    /**
+     * Collects the annotated fields declared by a class and its superclasses.
+     *
+     * @param clazz the class to introspect
+     * @return the annotated fields, superclass fields first
+     */
+    private static List<SecretField> introspect(Class<?> clazz) {
+        List<SecretField> annotated = new ArrayList<>();
+        for (Class<?> current = clazz; nonNull(current) && Object.class != current; current = current.getSuperclass()) {
+            List<SecretField> declared = new ArrayList<>();
+            for (Field field : current.getDeclaredFields()) {
+                SecretValue annotation = field.getAnnotation(SecretValue.class);
+                if (nonNull(annotation)) {
+                    declared.add(new SecretField(field, annotation, setter(field)));
+                }
+            }
+            annotated.addAll(0, declared);
+        }
+        return List.copyOf(annotated);
+    }
+
+    /**
+     * Creates the setter of a field, taking the bean and the value.
+     *
+     * @param field the annotated field
+     * @return the setter of the field
+     */
+    private static MethodHandle setter(Field field) {
+        try {
+            ReflectionUtils.makeAccessible(field);
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            return setter.asType(SETTER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalStateException("Failed to inject secret into field " + field.getName(), e);
+        }
+    }
+
+    /**
+     * SecretField describes a field annotated with {@link SecretValue}.
+     *
+     * @param field      the annotated field
+     * @param annotation the annotation of the field
+     * @param setter     the setter of the field, taking the bean and the value
+     */
+    record SecretField(Field field, SecretValue annotation, MethodHandle setter) {
+
+        /**
+         * Injects a value into the field of a bean.
+         *
+         * @param bean  the bean holding the field
+         * @param value the value to inject
+         */
+        void set(Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to inject secret into field " + field.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.open_source_lfernandes.spring_secret_starter.aot;
+
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretValueBeanPostProcessor;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.aot.BeanRegistrationAotProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretValueBeanRegistrationAotProcessor finds, at build time, the fields annotated with {@link SecretValue}
+ * of every bean, including the ones declared by superclasses, and registers the reflection hints the
+ * {@link SecretValueBeanPostProcessor} needs to inject them in a native image:
+ * <ul>
+ *     <li>the annotated fields, read and written reflectively;</li>
+ *     <li>the types the secret values are decoded to, bound with Jackson;</li>
+ *     <li>the callback methods named by {@link SecretValue#onChange()}.</li>
+ * </ul>
+ * Only reflection hints are contributed: no injection code is generated into the bean registrations. The injection
+ * itself stays with the post-processor, which also runs in native images and sets the fields reflectively, so the
+ * placeholders, prefetch, memoization and hot reload of the fields behave as on the JVM.
+ */
+public class SecretValueBeanRegistrationAotProcessor implements BeanRegistrationAotProcessor {
+
+    /**
+     * The registrar of the hints binding the decoded types with Jackson.
+     */
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public BeanRegistrationAotContribution processAheadOfTime(RegisteredBean registeredBean) {
+        Class<?> beanClass = ClassUtils.getUserClass(registeredBean.getBeanClass());
+        List<Field> fields = findAnnotatedFields(beanClass);
+        if (fields.isEmpty()) {
+            return null;
+        }
+        return (generationContext, beanRegistrationCode) ->
+                registerHints(generationContext.getRuntimeHints().reflection(), beanClass, fields);
+    }
+
+    /**
+     * Registers the hints of the annotated fields of a bean class.
+     *
+     * @param hints     the reflection hints of the native image
+     * @param beanClass the class of the bean
+     * @param fields    the annotated fields of the class
+     */
+    private void registerHints(ReflectionHints hints, Class<?> beanClass, List<Field> fields) {
+        for (Field field : fields) {
+            SecretValue annotation = field.getAnnotation(SecretValue.class);
+            hints.registerField(field);
+            if (!String.class.equals(annotation.type())) {
+                bindingRegistrar.registerReflectionHints(hints, annotation.type());
+            }
+            Method callback = findCallback(beanClass, annotation);
+            if (nonNull(callback)) {
+                hints.registerMethod(callback, ExecutableMode.INVOKE);
+            }
+        }
+    }
+
+    /**
+     * Collects the annotated fields declared by a class and its superclasses.
+     *
+     * @param beanClass the class of the bean
+     * @return the annotated fields
+     */
+    static List<Field> findAnnotatedFields(Class<?> beanClass) {
+        List<Field> fields = new ArrayList<>();
+        ReflectionUtils.doWithFields(beanClass, fields::add, field -> field.isAnnotationPresent(SecretValue.class));
+        return fields;
+    }
+
+    /**
+     * Finds the callback method of a field, taking either the value of the secret or no parameter.
+     *
+     * @param beanClass  the class of the bean
+     * @param annotation the annotation of the field
+     * @return the callback method, or null if there is none
+     */
+    private static Method findCallback(Class<?> beanClass, SecretValue annotation) {
+        if (annotation.onChange().isEmpty()) {
+            return null;
+        }
+        Method callback = ReflectionUtils.findMethod(beanClass, annotation.onChange(), annotation.type());
+        return isNull(callback) ? ReflectionUtils.findMethod(beanClass, annotation.onChange()) : callback;
+    }
+}
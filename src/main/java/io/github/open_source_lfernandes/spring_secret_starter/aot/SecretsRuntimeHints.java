@@ -0,0 +1,60 @@
+package io.github.open_source_lfernandes.spring_secret_starter.aot;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * SecretsRuntimeHints registers the hints the starter needs in a native image beyond the ones its
+ * dependencies ship:
+ * <ul>
+ *     <li>the DTOs returned by the SecretsManagerService, so applications can bind them with Jackson;</li>
+ *     <li>the content of the encrypted snapshot of the secrets, bound with Jackson;</li>
+ *     <li>the factory of virtual thread executors, looked up reflectively by the
+ *     {@link io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors}, as the
+ *     starter is compiled for Java 17;</li>
+ *     <li>the factories the AWS SDK loads by name to resolve credentials from STS web identities,
+ *     STS and SSO profiles, when their modules are on the classpath.</li>
+ * </ul>
+ * The AWS SDK and Spring Vault already ship the metadata of their clients. The types decoded by
+ * {@code @SecretValue} fields are registered by the {@link SecretValueBeanRegistrationAotProcessor};
+ * types decoded programmatically should be registered with
+ * {@link org.springframework.aot.hint.annotation.RegisterReflectionForBinding}.
+ */
+public class SecretsRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * The factories the AWS SDK instantiates by name, from optional modules.
+     */
+    private static final List<String> AWS_CREDENTIALS_FACTORIES = List.of(
+            "software.amazon.awssdk.services.sts.internal.StsWebIdentityCredentialsProviderFactory",
+            "software.amazon.awssdk.services.sts.internal.StsProfileCredentialsProviderFactory",
+            "software.amazon.awssdk.services.sso.auth.SsoProfileCredentialsProviderFactory",
+            "software.amazon.awssdk.services.ssooidc.SsoOidcProfileTokenProviderFactory");
+
+    /**
+     * The content of the snapshot, a record private to its package.
+     */
+    private static final String SNAPSHOT_CONTENT =
+            "io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretSnapshot$Content";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                SecretDTO.class, SecretBatchDTO.class);
+        hints.reflection().registerType(TypeReference.of(SNAPSHOT_CONTENT), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+        hints.reflection().registerType(Executors.class, type -> type
+                .withMethod("newVirtualThreadPerTaskExecutor", List.of(), ExecutableMode.INVOKE));
+        AWS_CREDENTIALS_FACTORIES.forEach(factory -> hints.reflection()
+                .registerTypeIfPresent(classLoader, factory, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+    }
+}
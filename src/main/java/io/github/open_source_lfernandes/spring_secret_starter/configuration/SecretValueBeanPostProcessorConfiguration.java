@@ -1,7 +1,11 @@
 package io.github.open_source_lfernandes.spring_secret_starter.configuration;
 
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretBindingRegistry;
 import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretValueBeanPostProcessor;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsInjectionProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsProperties;
 import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -12,19 +16,41 @@ import org.springframework.core.env.Environment;
  * It is responsible for processing fields annotated with @SecretValue and injecting secret values.
  */
 @Configuration
+@EnableConfigurationProperties(SecretsProperties.class)
 public class SecretValueBeanPostProcessorConfiguration {
 
     /**
-     * Creates a SecretValueBeanPostProcessor bean.
+     * Creates a SecretBindingRegistry bean, injecting rotated secrets into the annotated fields.
+     *
+     * @param secretsManagerService the SecretsManagerService instance used to resolve rotated secrets
+     * @return a new instance of SecretBindingRegistry
+     */
+    @Bean
+    public SecretBindingRegistry secretBindingRegistry(SecretsManagerService secretsManagerService) {
+        return new SecretBindingRegistry(secretsManagerService);
+    }
+
+    /**
+     * Creates a SecretValueBeanPostProcessor bean. Hot reload is only enabled together with the cache
+     * and its refresh-ahead, as no rotation is ever detected without them.
      *
      * @param environment the Environment instance used to resolve placeholders in secret keys
      * @param secretsManagerService the SecretsManagerService instance used to retrieve secrets
+     * @param props the SecretsProperties instance containing the injection configuration
+     * @param secretBindingRegistry the registry of the injected fields
      * @return a new instance of SecretValueBeanPostProcessor
      */
     @Bean
     public SecretValueBeanPostProcessor secretValueBeanPostProcessor(
             Environment environment,
-            SecretsManagerService secretsManagerService) {
-        return new SecretValueBeanPostProcessor(environment, secretsManagerService);
+            SecretsManagerService secretsManagerService,
+            SecretsProperties props,
+            SecretBindingRegistry secretBindingRegistry) {
+        SecretsInjectionProperties injection = props.injection();
+        if (injection.getHotReload() && !(props.cache().getEnabled() && props.cache().getRefreshAhead())) {
+            injection = new SecretsInjectionProperties(injection.getPrefetch(), false, injection.getStartupBudget(),
+                    injection.getMemoize());
+        }
+        return new SecretValueBeanPostProcessor(environment, secretsManagerService, injection, secretBindingRegistry);
     }
 }
\ No newline at end of file
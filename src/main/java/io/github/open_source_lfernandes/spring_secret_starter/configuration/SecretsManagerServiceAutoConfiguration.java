@@ -1,30 +1,54 @@
 package io.github.open_source_lfernandes.spring_secret_starter.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.aot.SecretsRuntimeHints;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.NoneSecretProviderException;
 import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsProperties;
 import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
 import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.CachingSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.CircuitBreakerSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.RateLimitedSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.RetryingSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SecretsProviderDecorator;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SingleFlightSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SnapshotSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretSnapshot;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretSnapshotKeyProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsObservations;
+import jakarta.annotation.PreDestroy;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * SecretsManagerServiceAutoConfiguration is a Spring configuration class
  * that automatically configures the SecretsManagerService bean.
  * It uses the provided SecretsProvider implementations to manage secrets.
+ * The hints the starter needs in a native image are registered by {@link SecretsRuntimeHints}.
  */
 @RequiredArgsConstructor
 @Configuration
 @EnableConfigurationProperties(SecretsProperties.class)
+@ImportRuntimeHints(SecretsRuntimeHints.class)
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class SecretsManagerServiceAutoConfiguration {
 
@@ -33,6 +57,37 @@ public class SecretsManagerServiceAutoConfiguration {
      */
     List<AbstractSecretsProvider> providers;
     ObjectMapper objectMapper;
+    /**
+     * The SecretsProperties instance containing the configuration properties
+     * for the secrets management system.
+     */
+    SecretsProperties props;
+    /**
+     * The publisher of the events of rotated secrets found by the background refreshes.
+     */
+    ApplicationEventPublisher eventPublisher;
+    /**
+     * The decorators contributed by integrations, applied around the built-in ones.
+     */
+    ObjectProvider<SecretsProviderDecorator> decorators;
+    /**
+     * The observations the lookups are wrapped in, when an ObservationRegistry is available.
+     */
+    ObjectProvider<SecretsObservations> observations;
+    /**
+     * The encrypted snapshot of the resolved secrets, when it is enabled.
+     */
+    ObjectProvider<SecretSnapshot> snapshot;
+    /**
+     * The executor running concurrent provider calls, shut down with the application context.
+     */
+    @NonFinal
+    ExecutorService lookupExecutor;
+    /**
+     * The scheduler of the background refreshes of cached secrets, shut down with the application context.
+     */
+    @NonFinal
+    ScheduledExecutorService refreshScheduler;
 
     /**
      * Creates a SecretsManagerService bean if there are any providers available.
@@ -43,7 +98,93 @@ public class SecretsManagerServiceAutoConfiguration {
         if (isNull(providers) || providers.isEmpty())
             throw new NoneSecretProviderException("No Secret Provider Could Be Instantiate! Check your properties/yml file!");
         providers.sort(Comparator.comparingInt(AbstractSecretsProvider::getOrder));
-        return new SecretsManagerService(providers, objectMapper);
+        lookupExecutor = SecretsExecutors.newLookupExecutor(props.lookup().getMaxConcurrency());
+        if (props.cache().getEnabled() && props.cache().getRefreshAhead()) {
+            refreshScheduler = SecretsExecutors.newRefreshScheduler();
+        }
+        return new SecretsManagerService(decorate(providers), objectMapper, lookupExecutor, props.lookup(),
+                observations.getIfAvailable(SecretsObservations::noop));
+    }
+
+    /**
+     * Creates the encrypted snapshot of the resolved secrets, loading the snapshot file, if any.
+     * The key is read from the environment variable named by the properties, unless a
+     * SecretSnapshotKeyProvider bean is declared. Pending changes are written when the context is closed.
+     *
+     * @param keyProvider the provider of the key declared by the application, if any
+     * @param environment the Environment the key is read from by default
+     * @return a SecretSnapshot instance
+     */
+    @Bean(destroyMethod = "flush")
+    @ConditionalOnProperty(prefix = "spring.secrets.snapshot", name = "enabled", havingValue = "true")
+    public SecretSnapshot secretSnapshot(ObjectProvider<SecretSnapshotKeyProvider> keyProvider, Environment environment) {
+        SecretSnapshotKeyProvider key = keyProvider.getIfAvailable(
+                () -> SecretSnapshotKeyProvider.fromEnvironment(environment, props.snapshot().getKeyEnv()));
+        return new SecretSnapshot(props.snapshot(), key.getKey(), objectMapper, SecretsExecutors.sharedRefreshScheduler());
+    }
+
+    /**
+     * Shuts down the executor running concurrent provider calls and the refresh scheduler.
+     */
+    @PreDestroy
+    public void shutdownLookupExecutor() {
+        if (nonNull(refreshScheduler)) {
+            refreshScheduler.shutdownNow();
+        }
+        if (nonNull(lookupExecutor)) {
+            lookupExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wraps each provider with the decorators enabled by the configuration properties.
+     *
+     * @param providers the providers sorted by order
+     * @return the decorated providers, in the same order
+     */
+    private List<AbstractSecretsProvider> decorate(List<AbstractSecretsProvider> providers) {
+        return providers.stream()
+                .map(this::decorate)
+                .toList();
+    }
+
+    /**
+     * Wraps a provider with the decorators enabled by the configuration properties.
+     * Concurrent lookups are coalesced below the cache, so only cache misses reach the in-flight lookups.
+     * The circuit breaker records a retried call as a single outcome and rejects calls before any retry,
+     * while the rate limiter sits closest to the provider, so every attempt actually made takes a permit.
+     * The snapshot sits above the circuit breaker, so the last known good secret is also served when calls are
+     * rejected, and below the coalescing of lookups, so concurrent lookups record a secret once.
+     * The decorators contributed by integrations wrap the result, so they observe every call made to the provider.
+     *
+     * @param provider the provider to decorate
+     * @return the decorated provider
+     */
+    private AbstractSecretsProvider decorate(AbstractSecretsProvider provider) {
+        AbstractSecretsProvider decorated = provider;
+        if (props.rateLimit().getEnabled()) {
+            decorated = new RateLimitedSecretsProvider(decorated, props.rateLimit());
+        }
+        if (props.retry().getEnabled()) {
+            decorated = new RetryingSecretsProvider(decorated, props.retry());
+        }
+        if (props.circuitBreaker().getEnabled()) {
+            decorated = new CircuitBreakerSecretsProvider(decorated, props.circuitBreaker());
+        }
+        SecretSnapshot secretSnapshot = snapshot.getIfAvailable();
+        if (nonNull(secretSnapshot)) {
+            decorated = new SnapshotSecretsProvider(decorated, secretSnapshot, props.snapshot().getWarmStart());
+        }
+        if (props.lookup().getSingleFlight()) {
+            decorated = new SingleFlightSecretsProvider(decorated);
+        }
+        if (props.cache().getEnabled()) {
+            decorated = new CachingSecretsProvider(decorated, props.cache(), refreshScheduler, eventPublisher);
+        }
+        for (SecretsProviderDecorator decorator : decorators.orderedStream().toList()) {
+            decorated = decorator.decorate(decorated);
+        }
+        return decorated;
     }
 
 }
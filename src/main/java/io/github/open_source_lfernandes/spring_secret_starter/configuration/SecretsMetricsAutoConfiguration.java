@@ -0,0 +1,137 @@
+package io.github.open_source_lfernandes.spring_secret_starter.configuration;
+
+import io.github.open_source_lfernandes.spring_secret_starter.enums.CircuitState;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.CachingSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.CircuitBreakerSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.DelegatingSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.MeteredSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.RateLimitedSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.RetryingSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SecretsProviderDecorator;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SingleFlightSecretsProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * SecretsMetricsAutoConfiguration is a Spring configuration class that publishes Micrometer metrics
+ * of the secrets providers. It only activates when a {@link MeterRegistry} bean is present.
+ * <br>
+ * Every provider is wrapped by a {@link MeteredSecretsProvider} timing its calls, and the counters
+ * of the decorators enabled by the configuration properties are bound to the registry: the size of the cache,
+ * the state and rejections of the circuit breaker, the coalesced lookups, the rate limited calls and the retries.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@AutoConfigureBefore(SecretsManagerServiceAutoConfiguration.class)
+@AutoConfigureAfter(name = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"
+})
+public class SecretsMetricsAutoConfiguration {
+
+    /**
+     * The registry the meters are registered in.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * Creates the decorator recording the calls of every provider and binding the counters of its decorators.
+     *
+     * @return the metrics decorator of the providers
+     */
+    @Bean
+    public SecretsProviderDecorator meteredSecretsProviderDecorator() {
+        return provider -> {
+            bindDecorators(provider);
+            return new MeteredSecretsProvider(provider, registry);
+        };
+    }
+
+    /**
+     * Binds the counters of every decorator in a chain to the registry.
+     *
+     * @param provider the outermost provider of the chain
+     */
+    private void bindDecorators(AbstractSecretsProvider provider) {
+        Tags tags = Tags.of("origin", provider.getOrigin().name());
+        for (AbstractSecretsProvider current = provider; current instanceof DelegatingSecretsProvider delegating;
+             current = delegating.getDelegate()) {
+            if (current instanceof CachingSecretsProvider cache) {
+                Gauge.builder("secrets.cache.size", cache, CachingSecretsProvider::size)
+                        .description("Secrets currently cached")
+                        .tags(tags)
+                        .register(registry);
+            } else if (current instanceof CircuitBreakerSecretsProvider breaker) {
+                bindCircuitBreaker(breaker, tags);
+            } else if (current instanceof SingleFlightSecretsProvider singleFlight) {
+                counter("secrets.single-flight.lookups", "Lookups forwarded to the provider or served by one in flight",
+                        tags.and("result", "delegated"), singleFlight, SingleFlightSecretsProvider::getDelegatedCount);
+                counter("secrets.single-flight.lookups", "Lookups forwarded to the provider or served by one in flight",
+                        tags.and("result", "deduplicated"), singleFlight, SingleFlightSecretsProvider::getDeduplicatedCount);
+            } else if (current instanceof RetryingSecretsProvider retrying) {
+                counter("secrets.retry.retries", "Attempts made after a failed one",
+                        tags, retrying, RetryingSecretsProvider::getRetriedCount);
+                counter("secrets.retry.throttled", "Attempts throttled by the provider",
+                        tags, retrying, RetryingSecretsProvider::getThrottledCount);
+                counter("secrets.retry.exhausted", "Calls still failing after the last attempt",
+                        tags, retrying, RetryingSecretsProvider::getExhaustedCount);
+            } else if (current instanceof RateLimitedSecretsProvider rateLimited) {
+                counter("secrets.rate-limit.calls", "Calls delayed or rejected by the rate limiter",
+                        tags.and("result", "throttled"), rateLimited, RateLimitedSecretsProvider::getThrottledCount);
+                counter("secrets.rate-limit.calls", "Calls delayed or rejected by the rate limiter",
+                        tags.and("result", "rejected"), rateLimited, RateLimitedSecretsProvider::getRejectedCount);
+            }
+        }
+    }
+
+    /**
+     * Binds the state and the counters of a circuit breaker to the registry.
+     * The state is published as one gauge per state, set to 1 for the current one.
+     *
+     * @param breaker the circuit breaker decorator
+     * @param tags    the tags of the provider
+     */
+    private void bindCircuitBreaker(CircuitBreakerSecretsProvider breaker, Tags tags) {
+        for (CircuitState state : CircuitState.values()) {
+            Gauge.builder("secrets.circuit-breaker.state", breaker, current -> current.getState() == state ? 1 : 0)
+                    .description("State of the circuit breaker, 1 for the current one")
+                    .tags(tags.and("state", state.name()))
+                    .register(registry);
+        }
+        counter("secrets.circuit-breaker.rejected", "Calls rejected without reaching the provider",
+                tags, breaker, CircuitBreakerSecretsProvider::getRejectedCount);
+        counter("secrets.circuit-breaker.opened", "Times the circuit breaker opened",
+                tags, breaker, CircuitBreakerSecretsProvider::getOpenedCount);
+    }
+
+    /**
+     * Binds a monotonic count of a decorator to the registry.
+     *
+     * @param name        the name of the counter
+     * @param description the description of the counter
+     * @param tags        the tags of the counter
+     * @param decorator   the decorator holding the count
+     * @param count       the function reading the count
+     * @param <D>         the type of the decorator
+     */
+    private <D> void counter(String name, String description, Tags tags, D decorator, ToDoubleFunction<D> count) {
+        FunctionCounter.builder(name, decorator, count)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
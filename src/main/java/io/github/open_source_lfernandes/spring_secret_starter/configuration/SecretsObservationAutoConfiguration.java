@@ -0,0 +1,54 @@
+package io.github.open_source_lfernandes.spring_secret_starter.configuration;
+
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.ObservedSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SecretsProviderDecorator;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsObservations;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SecretsObservationAutoConfiguration is a Spring configuration class that wraps the secret lookups
+ * in Micrometer observations. It only activates when an {@link ObservationRegistry} bean is present,
+ * so the lookups show up in the tracing already configured for the application.
+ * <br>
+ * The operations of the SecretsManagerService, the calls made to every provider and the injection
+ * of every annotated field are observed.
+ */
+@Configuration
+@ConditionalOnClass(ObservationRegistry.class)
+@ConditionalOnBean(ObservationRegistry.class)
+@EnableConfigurationProperties(SecretsProperties.class)
+@AutoConfigureBefore(SecretsManagerServiceAutoConfiguration.class)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration")
+public class SecretsObservationAutoConfiguration {
+
+    /**
+     * Creates the observations the secret lookups are wrapped in.
+     *
+     * @param observationRegistry the registry the observations are reported to
+     * @param props               the SecretsProperties instance containing the observation configuration
+     * @return the observations of the secret lookups
+     */
+    @Bean
+    public SecretsObservations secretsObservations(ObservationRegistry observationRegistry, SecretsProperties props) {
+        return new SecretsObservations(observationRegistry, props.observation());
+    }
+
+    /**
+     * Creates the decorator wrapping every provider call in an observation.
+     *
+     * @param secretsObservations the observations the calls are wrapped in
+     * @return the observation decorator of the providers
+     */
+    @Bean
+    public SecretsProviderDecorator observedSecretsProviderDecorator(SecretsObservations secretsObservations) {
+        return provider -> new ObservedSecretsProvider(provider, secretsObservations);
+    }
+}
@@ -2,17 +2,24 @@ package io.github.open_source_lfernandes.spring_secret_starter.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsTimeoutProperties;
 import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SecretsProviderAws;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
 
 import java.net.URI;
@@ -46,26 +53,35 @@ public class SecretsServiceAwsAutoConfiguration {
      */
     @PostConstruct
     public void postConstruct() {
-        log.info("Secret-Manager-AWS-Provider-Initiated, enabled={}, region={}, endpoint={}, order={}",
+        log.info("Secret-Manager-AWS-Provider-Initiated, enabled={}, region={}, endpoint={}, order={}, async={}, "
+                        + "connectTimeout={}, readTimeout={}, callTimeout={}",
                 props.aws().secretsManager().getEnabled(),
                 props.aws().secretsManager().getRegion(), props.aws().secretsManager().getEndpoint(),
-                props.aws().secretsManager().getOrder());
+                props.aws().secretsManager().getOrder(), props.aws().secretsManager().getAsync(),
+                props.aws().secretsManager().getTimeout().getConnect(),
+                props.aws().secretsManager().getTimeout().getRead(),
+                props.aws().secretsManager().getTimeout().getCall());
     }
 
     /**
      * Creates a SecretsProviderAws bean if it is not already defined.
+     * Asynchronous lookups use the SecretsManagerAsyncClient when one is available.
      *
-     * @param secretsManagerClient the SecretsManagerClient to use
+     * @param secretsManagerClient      the SecretsManagerClient to use
+     * @param secretsManagerAsyncClient the SecretsManagerAsyncClient backing asynchronous lookups, if any
      * @return a SecretsProviderAws instance
      */
     @Bean
-    public SecretsProviderAws secretsProviderAws(SecretsManagerClient secretsManagerClient) {
-        return new SecretsProviderAws(objectMapper, props.aws().secretsManager().getOrder(), secretsManagerClient);
+    public SecretsProviderAws secretsProviderAws(SecretsManagerClient secretsManagerClient,
+                                                 ObjectProvider<SecretsManagerAsyncClient> secretsManagerAsyncClient) {
+        return new SecretsProviderAws(objectMapper, props.aws().secretsManager().getOrder(), secretsManagerClient,
+                secretsManagerAsyncClient.getIfAvailable());
     }
 
     /**
      * Creates a SecretsManagerClient bean if it is not already defined.
-     * It uses the DefaultCredentialsProvider and the properties defined in SecretsProperties.
+     * It uses the DefaultCredentialsProvider and the properties defined in SecretsProperties,
+     * bounding connections, reads and whole calls by the configured timeouts.
      *
      * @param defaultCredentialsProvider the DefaultCredentialsProvider to use
      * @return a SecretsManagerClient instance
@@ -74,7 +90,13 @@ public class SecretsServiceAwsAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(SecretsManagerClient.class)
     public SecretsManagerClient secretsManagerClient(DefaultCredentialsProvider defaultCredentialsProvider) throws URISyntaxException {
-        var builder = SecretsManagerClient.builder().credentialsProvider(defaultCredentialsProvider);
+        SecretsTimeoutProperties timeout = props.aws().secretsManager().getTimeout();
+        var builder = SecretsManagerClient.builder()
+                .credentialsProvider(defaultCredentialsProvider)
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .connectionTimeout(timeout.getConnect())
+                        .socketTimeout(timeout.getRead()))
+                .overrideConfiguration(overrideConfiguration(timeout, props.retry().getEnabled()));
         if (hasText(props.aws().secretsManager().getEndpoint())) {
             builder.endpointOverride(new URI(props.aws().secretsManager().getEndpoint()));
         }
@@ -84,6 +106,55 @@ public class SecretsServiceAwsAutoConfiguration {
         return builder.build();
     }
 
+    /**
+     * Creates a SecretsManagerAsyncClient bean if it is not already defined and asynchronous lookups are enabled.
+     * It uses the DefaultCredentialsProvider and the properties defined in SecretsProperties,
+     * bounding connections, reads and whole calls by the configured timeouts.
+     *
+     * @param defaultCredentialsProvider the DefaultCredentialsProvider to use
+     * @return a SecretsManagerAsyncClient instance
+     * @throws URISyntaxException if the endpoint URI is invalid
+     */
+    @Bean
+    @ConditionalOnMissingBean(SecretsManagerAsyncClient.class)
+    @ConditionalOnProperty(prefix = "spring.secrets.aws.secrets-manager", name = "async", havingValue = "true")
+    public SecretsManagerAsyncClient secretsManagerAsyncClient(DefaultCredentialsProvider defaultCredentialsProvider) throws URISyntaxException {
+        SecretsTimeoutProperties timeout = props.aws().secretsManager().getTimeout();
+        var builder = SecretsManagerAsyncClient.builder()
+                .credentialsProvider(defaultCredentialsProvider)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .connectionTimeout(timeout.getConnect())
+                        .readTimeout(timeout.getRead()))
+                .overrideConfiguration(overrideConfiguration(timeout, props.retry().getEnabled()));
+        if (hasText(props.aws().secretsManager().getEndpoint())) {
+            builder.endpointOverride(new URI(props.aws().secretsManager().getEndpoint()));
+        }
+        if (hasText(props.aws().secretsManager().getRegion())) {
+            builder.region(Region.of(props.aws().secretsManager().getRegion()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds the client configuration bounding a whole call, including its retries, by the call timeout,
+     * and each attempt by the read timeout. When the starter retries throttled calls itself, the retries
+     * of the SDK are turned off, so the attempts of both are not multiplied.
+     *
+     * @param timeout      the timeouts of the Secrets Manager clients
+     * @param retryEnabled whether the starter retries throttled calls and server errors
+     * @return the client override configuration
+     */
+    private static ClientOverrideConfiguration overrideConfiguration(SecretsTimeoutProperties timeout,
+                                                                     boolean retryEnabled) {
+        var builder = ClientOverrideConfiguration.builder()
+                .apiCallTimeout(timeout.getCall())
+                .apiCallAttemptTimeout(timeout.getRead());
+        if (retryEnabled) {
+            builder.retryStrategy(AwsRetryStrategy.doNotRetry());
+        }
+        return builder.build();
+    }
+
     /**
      * Creates a DefaultCredentialsProvider bean if it is not already defined.
      *
@@ -2,18 +2,29 @@ package io.github.open_source_lfernandes.spring_secret_starter.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsTimeoutProperties;
 import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SecretsProviderVault;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.vault.authentication.SimpleSessionManager;
 import org.springframework.vault.authentication.TokenAuthentication;
+import org.springframework.vault.client.ClientHttpConnectorFactory;
+import org.springframework.vault.client.ClientHttpRequestFactoryFactory;
 import org.springframework.vault.client.VaultEndpoint;
+import org.springframework.vault.core.ReactiveVaultTemplate;
 import org.springframework.vault.core.VaultTemplate;
+import org.springframework.vault.support.ClientOptions;
+import org.springframework.vault.support.SslConfiguration;
+import org.springframework.vault.support.VaultToken;
+import reactor.core.publisher.Mono;
 
 import java.util.Objects;
 
@@ -45,17 +56,22 @@ public class SecretsServiceVaultAutoConfiguration {
      */
     @PostConstruct
     public void postConstruct() {
-        log.info("Vault-Provider-Initiated, enabled={}, uri={}, order={}, path={}",
+        log.info("Vault-Provider-Initiated, enabled={}, uri={}, order={}, path={}, refreshInterval={}, async={}, "
+                        + "connectTimeout={}, readTimeout={}",
                 props.vault().getEnabled(),
                 props.vault().getUri(),
                 props.vault().getOrder(),
-                props.vault().getPath());
+                props.vault().getPath(),
+                props.vault().getRefreshInterval(),
+                props.vault().getAsync(),
+                props.vault().getTimeout().getConnect(),
+                props.vault().getTimeout().getRead());
     }
 
     /**
      * Creates a VaultTemplate bean if it is not already defined in the application context.
-     * The VaultTemplate is configured with the Vault endpoint and authentication token
-     * from the SecretsProperties.
+     * The VaultTemplate is configured with the Vault endpoint, authentication token and
+     * connect and read timeouts from the SecretsProperties.
      *
      * @return a configured VaultTemplate instance
      */
@@ -64,20 +80,65 @@ public class SecretsServiceVaultAutoConfiguration {
     public VaultTemplate vaultTemplate() {
         var uri = Objects.requireNonNull(props.vault().getUri(), "Vault Uri cannot be null");
         var token = Objects.requireNonNull(props.vault().getToken(), "Vault Token cannot be null");
-        return new VaultTemplate(VaultEndpoint.from(uri), new TokenAuthentication(token));
+        return new VaultTemplate(VaultEndpoint.from(uri),
+                ClientHttpRequestFactoryFactory.create(clientOptions(props.vault().getTimeout()), SslConfiguration.unconfigured()),
+                new SimpleSessionManager(new TokenAuthentication(token)));
+    }
+
+    /**
+     * Builds the client options of the Vault templates from the configured timeouts.
+     *
+     * @param timeout the timeouts of the Vault clients
+     * @return the client options
+     */
+    static ClientOptions clientOptions(SecretsTimeoutProperties timeout) {
+        return new ClientOptions(timeout.getConnect(), timeout.getRead());
     }
 
     /**
      * Creates a SecretsProviderVault bean if it is not already defined in the application context.
-     * The SecretsProviderVault is configured with the order from the SecretsProperties
-     * and the VaultTemplate instance.
+     * The SecretsProviderVault is configured with the order, path and snapshot refresh interval
+     * from the SecretsProperties and the VaultTemplate instance. Asynchronous lookups use the
+     * ReactiveVaultTemplate when one is available.
      *
+     * @param reactiveVaultTemplate the ReactiveVaultTemplate backing asynchronous lookups, if any
      * @return a configured SecretsProviderVault instance
      */
     @Bean
-    public SecretsProviderVault secretsVaultProvider(){
-        return new SecretsProviderVault(objectMapper, props.vault().getOrder(),
-                vaultTemplate(), props.vault().getPath());
+    public SecretsProviderVault secretsVaultProvider(ObjectProvider<ReactiveVaultTemplate> reactiveVaultTemplate){
+        return new SecretsProviderVault(objectMapper, props.vault().getOrder(), vaultTemplate(),
+                reactiveVaultTemplate.getIfAvailable(), props.vault().getPath(), props.vault().getRefreshInterval(),
+                props.vault().getVersionCheck());
+    }
+
+    /**
+     * ReactiveVaultConfiguration sets up the ReactiveVaultTemplate backing asynchronous lookups.
+     * It is enabled when asynchronous lookups are requested and Project Reactor and Spring WebFlux
+     * are on the classpath.
+     */
+    @Configuration
+    @ConditionalOnClass(name = {"reactor.core.publisher.Mono",
+            "org.springframework.web.reactive.function.client.WebClient"})
+    @ConditionalOnProperty(prefix = "spring.secrets.vault", name = "async", havingValue = "true")
+    static class ReactiveVaultConfiguration {
+
+        /**
+         * Creates a ReactiveVaultTemplate bean if it is not already defined in the application context.
+         * The ReactiveVaultTemplate is configured with the Vault endpoint, authentication token and
+         * connect and read timeouts from the SecretsProperties.
+         *
+         * @param props the SecretsProperties instance
+         * @return a configured ReactiveVaultTemplate instance
+         */
+        @Bean
+        @ConditionalOnMissingBean(ReactiveVaultTemplate.class)
+        public ReactiveVaultTemplate reactiveVaultTemplate(SecretsProperties props) {
+            var uri = Objects.requireNonNull(props.vault().getUri(), "Vault Uri cannot be null");
+            var token = VaultToken.of(Objects.requireNonNull(props.vault().getToken(), "Vault Token cannot be null"));
+            return new ReactiveVaultTemplate(VaultEndpoint.from(uri),
+                    ClientHttpConnectorFactory.create(clientOptions(props.vault().getTimeout()), SslConfiguration.unconfigured()),
+                    () -> Mono.just(token));
+        }
     }
 
 }
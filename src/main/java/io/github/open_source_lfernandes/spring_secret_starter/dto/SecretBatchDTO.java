@@ -0,0 +1,16 @@
+package io.github.open_source_lfernandes.spring_secret_starter.dto;
+
+import lombok.Builder;
+
+import java.util.Map;
+
+/**
+ * SecretBatchDTO is a data transfer object that represents the result of a multi-key lookup.
+ * It contains the secrets that were found and the reason each remaining key could not be retrieved.
+ *
+ * @param secrets the secrets found, indexed by the requested key
+ * @param errors  the error description of every requested key that was not retrieved, indexed by key
+ */
+@Builder
+public record SecretBatchDTO(Map<String, SecretDTO> secrets, Map<String, String> errors) {
+}
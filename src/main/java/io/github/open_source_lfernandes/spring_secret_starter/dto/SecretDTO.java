@@ -5,11 +5,25 @@ import lombok.Builder;
 
 /**
  * SecretDTO is a data transfer object that represents a secret.
- * It contains the origin, key, and value of the secret.
+ * It contains the origin, key, value and, when the provider reports it, the version of the secret.
  *
  * <p>The {@code value} field represents the secret's value in JSON format.
  * This ensures that complex objects can be serialized and stored as a string.
+ *
+ * <p>The {@code version} field identifies the version of the value in the provider, such as the
+ * version ID of an AWS secret. It is null when the provider does not report versions.
  */
 @Builder
-public record SecretDTO(Origin origin, String key, String value) {
+public record SecretDTO(Origin origin, String key, String value, String version) {
+
+    /**
+     * Constructs a SecretDTO whose provider does not report versions.
+     *
+     * @param origin the origin of the secret
+     * @param key    the key of the secret
+     * @param value  the value of the secret
+     */
+    public SecretDTO(Origin origin, String key, String value) {
+        this(origin, key, value, null);
+    }
 }
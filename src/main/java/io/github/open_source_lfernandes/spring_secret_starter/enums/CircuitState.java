@@ -0,0 +1,19 @@
+package io.github.open_source_lfernandes.spring_secret_starter.enums;
+
+/**
+ * The CircuitState enum represents the state of the circuit breaker guarding a provider.
+ */
+public enum CircuitState {
+    /**
+     * CLOSED lets every call reach the provider while its outcomes are recorded.
+     */
+    CLOSED,
+    /**
+     * OPEN rejects every call without reaching the provider until the open duration elapsed.
+     */
+    OPEN,
+    /**
+     * HALF_OPEN lets a single probe reach the provider, whose outcome closes or opens the breaker again.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,16 @@
+package io.github.open_source_lfernandes.spring_secret_starter.enums;
+
+/**
+ * The LookupStrategy enum represents how a secret is looked up when any provider can serve it.
+ */
+public enum LookupStrategy {
+    /**
+     * SEQUENTIAL queries the providers one after the other, in order, until one finds the secret.
+     */
+    SEQUENTIAL,
+    /**
+     * HEDGED starts the next provider after a delay, or as soon as the previous one misses,
+     * and returns the first secret found while the remaining lookups are cancelled.
+     */
+    HEDGED
+}
@@ -0,0 +1,16 @@
+package io.github.open_source_lfernandes.spring_secret_starter.enums;
+
+/**
+ * The SecretStorage enum represents how the values of cached secrets are held in memory.
+ */
+public enum SecretStorage {
+    /**
+     * HEAP keeps each cached secret as the String value returned by the provider.
+     */
+    HEAP,
+    /**
+     * OFF_HEAP keeps the value of each cached secret in a direct buffer, out of the heap,
+     * and zeroes the buffer as soon as the secret is evicted.
+     */
+    OFF_HEAP
+}
@@ -0,0 +1,52 @@
+package io.github.open_source_lfernandes.spring_secret_starter.events;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * SecretRotatedEvent is published when a background refresh finds a new value for a cached secret.
+ * <br>
+ * The source of the event is the provider that refreshed the secret.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretRotatedEvent extends ApplicationEvent {
+
+    /**
+     * The origin of the provider holding the secret.
+     */
+    Origin origin;
+    /**
+     * The key of the secret.
+     */
+    String key;
+    /**
+     * The secret cached before the refresh.
+     */
+    SecretDTO previous;
+    /**
+     * The secret returned by the refresh.
+     */
+    SecretDTO current;
+
+    /**
+     * Constructs a SecretRotatedEvent.
+     *
+     * @param source   the provider that refreshed the secret
+     * @param origin   the origin of the provider holding the secret
+     * @param key      the key of the secret
+     * @param previous the secret cached before the refresh
+     * @param current  the secret returned by the refresh
+     */
+    public SecretRotatedEvent(Object source, Origin origin, String key, SecretDTO previous, SecretDTO current) {
+        super(source);
+        this.origin = origin;
+        this.key = key;
+        this.previous = previous;
+        this.current = current;
+    }
+}
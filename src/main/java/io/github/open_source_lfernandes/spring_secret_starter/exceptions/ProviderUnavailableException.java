@@ -0,0 +1,23 @@
+package io.github.open_source_lfernandes.spring_secret_starter.exceptions;
+
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+
+/**
+ * ProviderUnavailableException is thrown when a call is rejected without reaching a provider,
+ * because the circuit breaker guarding it is open.
+ * <br>
+ * Rejections are expected while a provider is down and happen on every call, so the exception
+ * does not capture a stack trace.
+ */
+public class ProviderUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a ProviderUnavailableException for the specified provider.
+     *
+     * @param origin the origin of the provider that rejected the call
+     */
+    public ProviderUnavailableException(Origin origin) {
+        super(String.format("%s: origin=%s", Messages.PROVIDER_UNAVAILABLE.getDescription(), origin), null, false, false);
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.open_source_lfernandes.spring_secret_starter.exceptions;
+
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+
+/**
+ * RateLimitExceededException is thrown when a call is rejected without reaching a provider,
+ * because the rate limiter guarding it had no permit available within the maximum wait.
+ * <br>
+ * Rejections happen in bursts while a provider is called more often than allowed, so the exception
+ * does not capture a stack trace.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Constructs a RateLimitExceededException for the specified provider.
+     *
+     * @param origin the origin of the provider that rejected the call
+     */
+    public RateLimitExceededException(Origin origin) {
+        super(String.format("%s: origin=%s", Messages.RATE_LIMIT_EXCEEDED.getDescription(), origin), null, false, false);
+    }
+}
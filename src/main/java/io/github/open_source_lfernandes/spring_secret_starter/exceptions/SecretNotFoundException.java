@@ -5,6 +5,9 @@ package io.github.open_source_lfernandes.spring_secret_starter.exceptions;
  * with the specified key is not found in the secrets provider.
  * It extends Exception and provides a constructor to set the key
  * that was not found.
+ * <br>
+ * A missing secret is an expected outcome of a lookup, so the exception does not capture
+ * a stack trace, keeping misses as cheap as hits.
  */
 public class SecretNotFoundException extends Exception {
 
@@ -17,6 +20,6 @@ public class SecretNotFoundException extends Exception {
     public SecretNotFoundException(
         String key
     ) {
-        super(String.format("key=%s informed not found", key));
+        super(String.format("key=%s informed not found", key), null, false, false);
     }
 }
@@ -38,7 +38,15 @@ public enum Messages {
     /**
      * Error message for when the origin requested is not provided.
      */
-    ORIGIN_REQUESTED_NOT_PROVIDED("Origin requested not provided");
+    ORIGIN_REQUESTED_NOT_PROVIDED("Origin requested not provided"),
+    /**
+     * Error message for when a provider is skipped because its circuit breaker is open.
+     */
+    PROVIDER_UNAVAILABLE("Provider unavailable, circuit breaker is open"),
+    /**
+     * Error message for when a call is rejected because no permit of the rate limiter was available in time.
+     */
+    RATE_LIMIT_EXCEEDED("Rate limit exceeded, no permit available within the maximum wait");
 
     private final String description;
 
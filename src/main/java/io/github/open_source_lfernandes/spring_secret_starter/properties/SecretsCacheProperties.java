@@ -0,0 +1,115 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import io.github.open_source_lfernandes.spring_secret_starter.enums.SecretStorage;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsCacheProperties is a class that holds the properties for configuring
+ * the in-memory cache placed in front of every secrets provider.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsCacheProperties {
+
+    /**
+     * Default time-to-live of a cached secret.
+     */
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    /**
+     * Default maximum number of secrets cached per provider.
+     */
+    private static final long DEFAULT_MAX_SIZE = 1_000L;
+
+    /**
+     * Default time-to-live of a key remembered as not found.
+     */
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    /**
+     * Default time a secret keeps being served past its TTL while its refresh fails.
+     */
+    private static final Duration DEFAULT_MAX_STALE = Duration.ofMinutes(10);
+
+    /**
+     * Default fraction of the TTL, before expiry, within which a secret is refreshed ahead.
+     */
+    private static final int DEFAULT_REFRESH_WINDOW_DIVISOR = 10;
+
+    /**
+     * Default storage of the values of cached secrets.
+     */
+    private static final SecretStorage DEFAULT_STORAGE = SecretStorage.HEAP;
+
+    /**
+     * Indicates whether the cache is enabled.
+     */
+    Boolean enabled;
+    /**
+     * How long a secret is kept in the cache after being loaded.
+     */
+    Duration ttl;
+    /**
+     * The maximum number of secrets cached per provider.
+     */
+    Long maxSize;
+    /**
+     * The maximum total weight, in characters of key and value, cached per provider.
+     * Values stored off the heap are weighed in bytes.
+     * When set, eviction is based on weight instead of the entry count.
+     */
+    Long maxWeight;
+    /**
+     * How long a key not found by a provider is remembered as missing, zero to disable negative caching.
+     */
+    Duration negativeTtl;
+    /**
+     * Whether cached secrets are refreshed in the background before they expire.
+     */
+    Boolean refreshAhead;
+    /**
+     * The window before the TTL expires within which a secret is refreshed, at a random point to spread refreshes.
+     */
+    Duration refreshWindow;
+    /**
+     * How long past its TTL a secret keeps being served while its refresh is in flight or failing.
+     */
+    Duration maxStale;
+    /**
+     * How the values of cached secrets are held in memory, on the heap or in zeroed-on-eviction direct buffers.
+     */
+    SecretStorage storage;
+
+    /**
+     * Constructor to initialize SecretsCacheProperties with the specified parameters.
+     *
+     * @param enabled   whether the cache is enabled
+     * @param ttl       how long a secret is kept in the cache after being loaded
+     * @param maxSize   the maximum number of secrets cached per provider
+     * @param maxWeight the maximum total weight cached per provider
+     * @param negativeTtl how long a key not found by a provider is remembered as missing
+     * @param refreshAhead  whether cached secrets are refreshed in the background before they expire
+     * @param refreshWindow the window before the TTL expires within which a secret is refreshed
+     * @param maxStale      how long past its TTL a secret keeps being served while its refresh fails
+     * @param storage       how the values of cached secrets are held in memory
+     */
+    public SecretsCacheProperties(Boolean enabled, Duration ttl, Long maxSize, Long maxWeight, Duration negativeTtl,
+                                  Boolean refreshAhead, Duration refreshWindow, Duration maxStale,
+                                  SecretStorage storage) {
+        this.enabled = Boolean.TRUE.equals(enabled) ? Boolean.TRUE : Boolean.FALSE;
+        this.ttl = nonNull(ttl) ? ttl : DEFAULT_TTL;
+        this.maxSize = nonNull(maxSize) ? maxSize : DEFAULT_MAX_SIZE;
+        this.maxWeight = maxWeight;
+        this.negativeTtl = nonNull(negativeTtl) ? negativeTtl : DEFAULT_NEGATIVE_TTL;
+        this.refreshAhead = Boolean.TRUE.equals(refreshAhead);
+        this.refreshWindow = nonNull(refreshWindow) ? refreshWindow : this.ttl.dividedBy(DEFAULT_REFRESH_WINDOW_DIVISOR);
+        this.maxStale = nonNull(maxStale) ? maxStale : DEFAULT_MAX_STALE;
+        this.storage = nonNull(storage) ? storage : DEFAULT_STORAGE;
+    }
+}
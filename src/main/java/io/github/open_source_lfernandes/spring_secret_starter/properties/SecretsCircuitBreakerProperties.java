@@ -0,0 +1,91 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsCircuitBreakerProperties is a class that holds the properties for configuring
+ * the circuit breaker guarding each provider.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsCircuitBreakerProperties {
+
+    /**
+     * Default number of most recent calls whose outcomes are considered.
+     */
+    private static final int DEFAULT_WINDOW_SIZE = 20;
+
+    /**
+     * Default number of calls recorded before the failure rate is evaluated.
+     */
+    private static final int DEFAULT_MINIMUM_CALLS = 10;
+
+    /**
+     * Default percentage of failed or slow calls opening the breaker.
+     */
+    private static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+
+    /**
+     * Default duration above which a call is counted as slow.
+     */
+    private static final Duration DEFAULT_SLOW_CALL_DURATION = Duration.ofSeconds(2);
+
+    /**
+     * Default duration the breaker stays open before a probe is let through.
+     */
+    private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    /**
+     * Indicates whether each provider is guarded by a circuit breaker.
+     */
+    Boolean enabled;
+    /**
+     * The number of most recent calls whose outcomes are considered.
+     */
+    Integer windowSize;
+    /**
+     * The number of calls recorded before the failure rate is evaluated.
+     */
+    Integer minimumCalls;
+    /**
+     * The percentage of failed or slow calls, among the recorded ones, opening the breaker.
+     */
+    Integer failureRateThreshold;
+    /**
+     * The duration above which a successful call is counted as a failure.
+     */
+    Duration slowCallDuration;
+    /**
+     * The duration the breaker stays open before a single probe is let through.
+     */
+    Duration openDuration;
+
+    /**
+     * Constructor to initialize SecretsCircuitBreakerProperties with the specified parameters.
+     *
+     * @param enabled              whether each provider is guarded by a circuit breaker
+     * @param windowSize           the number of most recent calls whose outcomes are considered
+     * @param minimumCalls         the number of calls recorded before the failure rate is evaluated
+     * @param failureRateThreshold the percentage of failed or slow calls opening the breaker
+     * @param slowCallDuration     the duration above which a call is counted as a failure
+     * @param openDuration         the duration the breaker stays open before a probe is let through
+     */
+    public SecretsCircuitBreakerProperties(Boolean enabled, Integer windowSize, Integer minimumCalls,
+                                           Integer failureRateThreshold, Duration slowCallDuration,
+                                           Duration openDuration) {
+        this.enabled = Boolean.TRUE.equals(enabled);
+        this.windowSize = nonNull(windowSize) && windowSize > 0 ? windowSize : DEFAULT_WINDOW_SIZE;
+        this.minimumCalls = nonNull(minimumCalls) && minimumCalls > 0
+                ? Math.min(minimumCalls, this.windowSize) : Math.min(DEFAULT_MINIMUM_CALLS, this.windowSize);
+        this.failureRateThreshold = nonNull(failureRateThreshold) && failureRateThreshold > 0 && failureRateThreshold <= 100
+                ? failureRateThreshold : DEFAULT_FAILURE_RATE_THRESHOLD;
+        this.slowCallDuration = nonNull(slowCallDuration) ? slowCallDuration : DEFAULT_SLOW_CALL_DURATION;
+        this.openDuration = nonNull(openDuration) ? openDuration : DEFAULT_OPEN_DURATION;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsInjectionProperties is a class that holds the properties for configuring
+ * how secrets are injected into fields annotated with SecretValue.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsInjectionProperties {
+
+    /**
+     * Indicates whether the keys of every annotated field are fetched in batch
+     * before the first bean is initialized.
+     */
+    Boolean prefetch;
+    /**
+     * Indicates whether the annotated fields are injected again when a background refresh
+     * finds a rotated secret.
+     */
+    Boolean hotReload;
+    /**
+     * The total time the annotated fields may spend resolving secrets while the application context starts.
+     * A zero budget does not limit it.
+     */
+    Duration startupBudget;
+    /**
+     * Indicates whether the secrets resolved for the annotated fields are kept in memory, so beans created
+     * later, such as prototype or scoped beans, are injected without calling the providers again.
+     * Disabled by default, as a memoized secret is only released when a background refresh finds it rotated,
+     * and is otherwise kept until the application context is closed.
+     */
+    Boolean memoize;
+
+    /**
+     * Constructor to initialize SecretsInjectionProperties with the specified parameters.
+     *
+     * @param prefetch  whether the annotated keys are fetched in batch before the first bean is initialized
+     * @param hotReload whether the annotated fields are injected again when their secret is rotated
+     * @param startupBudget the total time resolving secrets may take during startup, zero for no limit
+     * @param memoize   whether the resolved secrets are kept in memory for the beans created later
+     */
+    public SecretsInjectionProperties(Boolean prefetch, Boolean hotReload, Duration startupBudget, Boolean memoize) {
+        this.prefetch = Boolean.FALSE.equals(prefetch) ? Boolean.FALSE : Boolean.TRUE;
+        this.hotReload = Boolean.FALSE.equals(hotReload) ? Boolean.FALSE : Boolean.TRUE;
+        this.startupBudget = nonNull(startupBudget) && !startupBudget.isNegative() ? startupBudget : Duration.ZERO;
+        this.memoize = Boolean.TRUE.equals(memoize);
+    }
+}
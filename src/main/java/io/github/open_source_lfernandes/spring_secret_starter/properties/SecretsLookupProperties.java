@@ -0,0 +1,73 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import io.github.open_source_lfernandes.spring_secret_starter.enums.LookupStrategy;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsLookupProperties is a class that holds the properties for configuring
+ * how the SecretsManagerService queries its providers.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsLookupProperties {
+
+    /**
+     * Default deadline of a lookup across all providers.
+     */
+    private static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(10);
+
+    /**
+     * Default maximum number of provider calls running concurrently when virtual threads are not available.
+     */
+    private static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    /**
+     * Default delay after which the next provider is queried by a hedged lookup.
+     */
+    private static final Duration DEFAULT_HEDGE_DELAY = Duration.ofMillis(100);
+
+    /**
+     * The deadline of a lookup across all providers.
+     */
+    Duration deadline;
+    /**
+     * The maximum number of provider calls running concurrently when virtual threads are not available.
+     */
+    Integer maxConcurrency;
+    /**
+     * How a secret is looked up when any provider can serve it.
+     */
+    LookupStrategy strategy;
+    /**
+     * The delay after which a hedged lookup queries the next provider, zero to query all providers right away.
+     */
+    Duration hedgeDelay;
+    /**
+     * Whether concurrent lookups of the same key in a provider are coalesced into a single call.
+     */
+    Boolean singleFlight;
+
+    /**
+     * Constructor to initialize SecretsLookupProperties with the specified parameters.
+     *
+     * @param deadline       the deadline of a lookup across all providers
+     * @param maxConcurrency the maximum number of provider calls running concurrently
+     * @param strategy       how a secret is looked up when any provider can serve it
+     * @param hedgeDelay     the delay after which a hedged lookup queries the next provider
+     * @param singleFlight   whether concurrent lookups of the same key in a provider are coalesced
+     */
+    public SecretsLookupProperties(Duration deadline, Integer maxConcurrency, LookupStrategy strategy,
+                                   Duration hedgeDelay, Boolean singleFlight) {
+        this.deadline = nonNull(deadline) ? deadline : DEFAULT_DEADLINE;
+        this.maxConcurrency = nonNull(maxConcurrency) && maxConcurrency > 0 ? maxConcurrency : DEFAULT_MAX_CONCURRENCY;
+        this.strategy = nonNull(strategy) ? strategy : LookupStrategy.SEQUENTIAL;
+        this.hedgeDelay = nonNull(hedgeDelay) ? hedgeDelay : DEFAULT_HEDGE_DELAY;
+        this.singleFlight = !Boolean.FALSE.equals(singleFlight);
+    }
+}
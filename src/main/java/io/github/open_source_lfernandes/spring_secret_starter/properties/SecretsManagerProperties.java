@@ -4,6 +4,8 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 
+import static java.util.Objects.nonNull;
+
 /**
  * SecretsManagerProperties is a class that holds the properties for configuring
  * the AWS Secrets Manager. It extends AbstractProperties to include common fields
@@ -21,6 +23,14 @@ public class SecretsManagerProperties extends AbstractProperties {
      * The endpoint URL for the Secrets Manager.
      */
     String endpoint;
+    /**
+     * Whether asynchronous lookups use the non-blocking SecretsManagerAsyncClient.
+     */
+    Boolean async;
+    /**
+     * The timeouts of the Secrets Manager clients.
+     */
+    SecretsTimeoutProperties timeout;
 
     /**
      * Constructor to initialize SecretsManagerProperties with the specified parameters.
@@ -29,10 +39,15 @@ public class SecretsManagerProperties extends AbstractProperties {
      * @param order    the order of this property in relation to others
      * @param region   the AWS region where the Secrets Manager is located
      * @param endpoint the endpoint URL for the Secrets Manager
+     * @param async    whether asynchronous lookups use the non-blocking SecretsManagerAsyncClient
+     * @param timeout  the timeouts of the Secrets Manager clients
      */
-    public SecretsManagerProperties(Boolean enabled, Integer order, String region, String endpoint) {
+    public SecretsManagerProperties(Boolean enabled, Integer order, String region, String endpoint, Boolean async,
+                                    SecretsTimeoutProperties timeout) {
         super(enabled, order);
         this.region = region;
         this.endpoint = endpoint;
+        this.async = Boolean.TRUE.equals(async);
+        this.timeout = nonNull(timeout) ? timeout : new SecretsTimeoutProperties(null, null, null);
     }
 }
@@ -0,0 +1,28 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * SecretsObservationProperties is a class that holds the properties for configuring
+ * the Micrometer observations of the secret lookups.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsObservationProperties {
+
+    /**
+     * Indicates whether the key of the secret is added to the observations as a high cardinality tag.
+     */
+    Boolean includeKey;
+
+    /**
+     * Constructor to initialize SecretsObservationProperties with the specified parameters.
+     *
+     * @param includeKey whether the key of the secret is added to the observations, true by default
+     */
+    public SecretsObservationProperties(Boolean includeKey) {
+        this.includeKey = !Boolean.FALSE.equals(includeKey);
+    }
+}
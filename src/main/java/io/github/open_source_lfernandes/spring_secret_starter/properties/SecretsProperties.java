@@ -1,16 +1,34 @@
 package io.github.open_source_lfernandes.spring_secret_starter.properties;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
 
 /**
  * SecretsProperties is a record that holds the properties for configuring
  * the secrets management system.
- * It contains fields for AWS configuration.
+ * It contains fields for AWS, Vault, cache, injection, lookup, circuit breaker, rate limit, retry
+ * and observation configuration.
+ * <br>
+ * The deadline of a lookup is only checked between the providers of a sequential lookup, so a provider call
+ * already started runs until its own timeouts. Binding fails when the worst-case duration of a call to an
+ * enabled provider, every retry included, exceeds the deadline.
  */
 @ConfigurationProperties(prefix = "spring.secrets")
 public record SecretsProperties(
         AWS aws,
-        SecretsVaultProperties vault
+        SecretsVaultProperties vault,
+        @DefaultValue SecretsCacheProperties cache,
+        @DefaultValue SecretsInjectionProperties injection,
+        @DefaultValue SecretsLookupProperties lookup,
+        @DefaultValue SecretsCircuitBreakerProperties circuitBreaker,
+        @DefaultValue SecretsRateLimitProperties rateLimit,
+        @DefaultValue SecretsRetryProperties retry,
+        @DefaultValue SecretsObservationProperties observation,
+        @DefaultValue SecretsSnapshotProperties snapshot
 ) {
     /**
      * AWS is a record that holds the properties for configuring
@@ -18,4 +36,45 @@ public record SecretsProperties(
      * It contains fields for enabling/disabling the manager and its properties.
      */
     public record AWS (SecretsManagerProperties secretsManager){}
+
+    /**
+     * Validates that a call to each enabled provider fits within the deadline of a lookup.
+     *
+     * @throws IllegalArgumentException if a call to an enabled provider may outlast the deadline
+     */
+    public SecretsProperties {
+        if (nonNull(lookup) && nonNull(retry)) {
+            if (nonNull(aws) && nonNull(aws.secretsManager()) && aws.secretsManager().getEnabled()) {
+                requireWithinDeadline("spring.secrets.aws.secrets-manager", aws.secretsManager().getTimeout().getCall(),
+                        lookup, retry);
+            }
+            if (nonNull(vault) && vault.getEnabled()) {
+                // a stale snapshot checked for its version reads the metadata, then the data
+                Duration read = vault.getTimeout().getConnect().plus(vault.getTimeout().getRead());
+                requireWithinDeadline("spring.secrets.vault", vault.getVersionCheck() ? read.multipliedBy(2) : read,
+                        lookup, retry);
+            }
+        }
+    }
+
+    /**
+     * Checks that every attempt of a provider call, and the delays between them, fit within the deadline of a lookup.
+     *
+     * @param prefix the prefix of the properties of the provider
+     * @param call   the longest duration of a single attempt of the call
+     * @param lookup the properties holding the deadline
+     * @param retry  the properties of the retries
+     * @throws IllegalArgumentException if the call may outlast the deadline
+     */
+    private static void requireWithinDeadline(String prefix, Duration call, SecretsLookupProperties lookup,
+                                              SecretsRetryProperties retry) {
+        int attempts = retry.getEnabled() ? retry.getMaxAttempts() : 1;
+        Duration budget = call.multipliedBy(attempts).plus(retry.getMaxDelay().multipliedBy(attempts - 1L));
+        if (budget.compareTo(lookup.getDeadline()) > 0) {
+            throw new IllegalArgumentException(String.format("A call to %s may take up to %s (%d attempt(s) of up to %s, "
+                            + "plus the retry delays), which exceeds spring.secrets.lookup.deadline of %s: lower its "
+                            + "timeouts, spring.secrets.retry.max-attempts or spring.secrets.retry.max-delay, "
+                            + "or raise the deadline", prefix, budget, attempts, call, lookup.getDeadline()));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsRateLimitProperties is a class that holds the properties for configuring
+ * the token bucket limiting the rate of the calls made to each provider.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsRateLimitProperties {
+
+    /**
+     * Default number of calls allowed per second.
+     */
+    private static final double DEFAULT_PERMITS_PER_SECOND = 50.0;
+
+    /**
+     * Default duration a call waits for a permit before it is rejected.
+     */
+    private static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(1);
+
+    /**
+     * Indicates whether the calls made to each provider are rate limited.
+     */
+    Boolean enabled;
+    /**
+     * The number of calls allowed per second, once the burst is used up.
+     */
+    Double permitsPerSecond;
+    /**
+     * The number of calls allowed at once after an idle period.
+     */
+    Integer burst;
+    /**
+     * The duration a call waits for a permit before it is rejected.
+     */
+    Duration maxWait;
+
+    /**
+     * Constructor to initialize SecretsRateLimitProperties with the specified parameters.
+     * The burst defaults to the number of calls allowed per second.
+     *
+     * @param enabled          whether the calls made to each provider are rate limited
+     * @param permitsPerSecond the number of calls allowed per second
+     * @param burst            the number of calls allowed at once after an idle period
+     * @param maxWait          the duration a call waits for a permit before it is rejected
+     */
+    public SecretsRateLimitProperties(Boolean enabled, Double permitsPerSecond, Integer burst, Duration maxWait) {
+        this.enabled = Boolean.TRUE.equals(enabled);
+        this.permitsPerSecond = nonNull(permitsPerSecond) && permitsPerSecond > 0
+                ? permitsPerSecond : DEFAULT_PERMITS_PER_SECOND;
+        this.burst = nonNull(burst) && burst > 0
+                ? burst : (int) Math.max(1, Math.ceil(this.permitsPerSecond));
+        this.maxWait = nonNull(maxWait) && !maxWait.isNegative() ? maxWait : DEFAULT_MAX_WAIT;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsRetryProperties is a class that holds the properties for configuring
+ * the retries of the provider calls that were throttled or failed with a server error.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsRetryProperties {
+
+    /**
+     * Default number of attempts of a call, including the first one.
+     */
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    /**
+     * Default minimum delay between two attempts.
+     */
+    private static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(100);
+
+    /**
+     * Default maximum delay between two attempts.
+     */
+    private static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(5);
+
+    /**
+     * Indicates whether throttled calls and calls failing with a server error are retried.
+     */
+    Boolean enabled;
+    /**
+     * The number of attempts of a call, including the first one.
+     */
+    Integer maxAttempts;
+    /**
+     * The minimum delay between two attempts.
+     */
+    Duration baseDelay;
+    /**
+     * The maximum delay between two attempts.
+     */
+    Duration maxDelay;
+
+    /**
+     * Constructor to initialize SecretsRetryProperties with the specified parameters.
+     *
+     * @param enabled     whether throttled calls and calls failing with a server error are retried
+     * @param maxAttempts the number of attempts of a call, including the first one
+     * @param baseDelay   the minimum delay between two attempts
+     * @param maxDelay    the maximum delay between two attempts
+     */
+    public SecretsRetryProperties(Boolean enabled, Integer maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.enabled = Boolean.TRUE.equals(enabled);
+        this.maxAttempts = nonNull(maxAttempts) && maxAttempts > 0 ? maxAttempts : DEFAULT_MAX_ATTEMPTS;
+        this.baseDelay = nonNull(baseDelay) && !baseDelay.isNegative() && !baseDelay.isZero() ? baseDelay : DEFAULT_BASE_DELAY;
+        this.maxDelay = nonNull(maxDelay) && maxDelay.compareTo(this.baseDelay) >= 0
+                ? maxDelay : DEFAULT_MAX_DELAY.compareTo(this.baseDelay) >= 0 ? DEFAULT_MAX_DELAY : this.baseDelay;
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsSnapshotProperties is a class that holds the properties for configuring
+ * the encrypted snapshot of the resolved secrets kept on disk as a last-known-good fallback.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsSnapshotProperties {
+
+    /**
+     * Default name of the snapshot file, created in the temporary directory.
+     */
+    private static final String DEFAULT_FILE_NAME = "spring-secrets.snapshot";
+
+    /**
+     * Default name of the environment variable holding the encryption key.
+     */
+    private static final String DEFAULT_KEY_ENV = "SPRING_SECRETS_SNAPSHOT_KEY";
+
+    /**
+     * Default age after which a snapshot is no longer loaded.
+     */
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofDays(7);
+
+    /**
+     * Default delay between a change of the secrets and the write of the snapshot.
+     */
+    private static final Duration DEFAULT_WRITE_DELAY = Duration.ofSeconds(5);
+
+    /**
+     * Indicates whether the resolved secrets are kept in an encrypted snapshot on disk.
+     */
+    Boolean enabled;
+    /**
+     * The path of the snapshot file.
+     */
+    Path path;
+    /**
+     * The name of the environment variable holding the base64 encoded AES key of the snapshot.
+     */
+    String keyEnv;
+    /**
+     * The age after which a snapshot is no longer loaded at startup.
+     */
+    Duration maxAge;
+    /**
+     * The delay between a change of the secrets and the write of the snapshot, so changes are written together.
+     */
+    Duration writeDelay;
+    /**
+     * Indicates whether the first lookup of each key is served from the snapshot while the provider
+     * is called in the background, instead of waiting for the provider.
+     */
+    Boolean warmStart;
+
+    /**
+     * Constructor to initialize SecretsSnapshotProperties with the specified parameters.
+     *
+     * @param enabled    whether the resolved secrets are kept in an encrypted snapshot on disk
+     * @param path       the path of the snapshot file
+     * @param keyEnv     the name of the environment variable holding the AES key of the snapshot
+     * @param maxAge     the age after which a snapshot is no longer loaded
+     * @param writeDelay the delay between a change of the secrets and the write of the snapshot
+     * @param warmStart  whether the first lookup of each key is served from the snapshot
+     */
+    public SecretsSnapshotProperties(Boolean enabled, Path path, String keyEnv, Duration maxAge, Duration writeDelay,
+                                     Boolean warmStart) {
+        this.enabled = Boolean.TRUE.equals(enabled);
+        this.path = nonNull(path) ? path : Path.of(System.getProperty("java.io.tmpdir"), DEFAULT_FILE_NAME);
+        this.keyEnv = nonNull(keyEnv) && !keyEnv.isBlank() ? keyEnv : DEFAULT_KEY_ENV;
+        this.maxAge = nonNull(maxAge) && !maxAge.isNegative() && !maxAge.isZero() ? maxAge : DEFAULT_MAX_AGE;
+        this.writeDelay = nonNull(writeDelay) && !writeDelay.isNegative() ? writeDelay : DEFAULT_WRITE_DELAY;
+        this.warmStart = Boolean.TRUE.equals(warmStart);
+    }
+}
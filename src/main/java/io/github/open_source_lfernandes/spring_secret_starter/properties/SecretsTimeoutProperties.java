@@ -0,0 +1,65 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsTimeoutProperties is a class that holds the timeouts of the client
+ * a provider uses to reach its secrets backend. The defaults keep a whole call within
+ * the default deadline of a lookup, so a provider times out before the lookup gives up on it.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsTimeoutProperties {
+
+    /**
+     * Default timeout to establish a connection.
+     */
+    private static final Duration DEFAULT_CONNECT = Duration.ofSeconds(2);
+
+    /**
+     * Default timeout waiting for data on an established connection.
+     */
+    private static final Duration DEFAULT_READ = Duration.ofSeconds(3);
+
+    /**
+     * Default timeout of a whole call, including retries.
+     */
+    private static final Duration DEFAULT_CALL = Duration.ofSeconds(8);
+
+    /**
+     * The timeout to establish a connection.
+     */
+    Duration connect;
+    /**
+     * The timeout waiting for data on an established connection.
+     */
+    Duration read;
+    /**
+     * The timeout of a whole call, including retries.
+     */
+    Duration call;
+    /**
+     * Whether the timeout of a whole call was configured rather than defaulted.
+     */
+    boolean callConfigured;
+
+    /**
+     * Constructor to initialize SecretsTimeoutProperties with the specified parameters.
+     *
+     * @param connect the timeout to establish a connection
+     * @param read    the timeout waiting for data on an established connection
+     * @param call    the timeout of a whole call, including retries
+     */
+    public SecretsTimeoutProperties(Duration connect, Duration read, Duration call) {
+        this.connect = nonNull(connect) ? connect : DEFAULT_CONNECT;
+        this.read = nonNull(read) ? read : DEFAULT_READ;
+        this.call = nonNull(call) ? call : DEFAULT_CALL;
+        this.callConfigured = nonNull(call);
+    }
+}
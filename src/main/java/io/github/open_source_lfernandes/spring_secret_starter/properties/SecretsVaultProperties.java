@@ -4,6 +4,10 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 
+import java.time.Duration;
+
+import static java.util.Objects.nonNull;
+
 /**
  * SecretsVaultProperties is a class that holds the properties for configuring
  * the Secrets Vault. It extends AbstractProperties to include common fields
@@ -13,6 +17,11 @@ import lombok.experimental.FieldDefaults;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class SecretsVaultProperties extends AbstractProperties {
 
+    /**
+     * Default interval after which the snapshot of the secrets path is refreshed.
+     */
+    private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
     /**
      * The URI of the Secrets Vault.
      */
@@ -25,6 +34,25 @@ public class SecretsVaultProperties extends AbstractProperties {
      * The token used for authentication with the Secrets Vault.
      */
     String token;
+    /**
+     * The interval after which the snapshot of the secrets path is read again from Vault.
+     * A zero interval reads the path on every lookup.
+     */
+    Duration refreshInterval;
+    /**
+     * Whether asynchronous lookups read Vault with a non-blocking ReactiveVaultTemplate.
+     */
+    Boolean async;
+    /**
+     * Whether a stale snapshot of a KV v2 path reads the metadata of the path first,
+     * reading the data again only when its current version changed.
+     */
+    Boolean versionCheck;
+    /**
+     * The timeouts of the Vault clients. Vault clients apply the connect and read timeouts only,
+     * so a call timeout is rejected.
+     */
+    SecretsTimeoutProperties timeout;
 
     /**
      * Constructor to initialize SecretsVaultProperties with the specified parameters.
@@ -34,11 +62,26 @@ public class SecretsVaultProperties extends AbstractProperties {
      * @param uri     the URI of the Secrets Vault
      * @param path    the path in the Secrets Vault where secrets are stored
      * @param token   the token used for authentication with the Secrets Vault
+     * @param refreshInterval the interval after which the snapshot of the secrets path is refreshed
+     * @param async   whether asynchronous lookups use a non-blocking ReactiveVaultTemplate
+     * @param versionCheck whether a stale snapshot reads the data again only when its KV v2 version changed
+     * @param timeout the timeouts of the Vault clients
+     * @throws IllegalArgumentException if a call timeout is configured, as Vault clients cannot apply it
      */
-    public SecretsVaultProperties(Boolean enabled, Integer order, String uri, String path, String token) {
+    public SecretsVaultProperties(Boolean enabled, Integer order, String uri, String path, String token,
+                                  Duration refreshInterval, Boolean async, Boolean versionCheck,
+                                  SecretsTimeoutProperties timeout) {
         super(enabled, order);
         this.uri = uri;
         this.path = path;
         this.token = token;
+        this.refreshInterval = nonNull(refreshInterval) ? refreshInterval : DEFAULT_REFRESH_INTERVAL;
+        this.async = Boolean.TRUE.equals(async);
+        this.versionCheck = Boolean.TRUE.equals(versionCheck);
+        if (nonNull(timeout) && timeout.isCallConfigured()) {
+            throw new IllegalArgumentException("spring.secrets.vault.timeout.call is not supported: the Vault clients "
+                    + "apply timeout.connect and timeout.read only, use spring.secrets.lookup.deadline to bound a lookup");
+        }
+        this.timeout = nonNull(timeout) ? timeout : new SecretsTimeoutProperties(null, null, null);
     }
 }
@@ -1,41 +1,140 @@
 package io.github.open_source_lfernandes.spring_secret_starter.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.LookupStrategy;
 import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.OriginRequestedNotProvidedException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.ProviderUnavailableException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.RateLimitExceededException;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
-import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotCastTypeException;
 import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsLookupProperties;
 import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.CachingSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.DelegatingSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.HedgedLookup;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.LogThrottle;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretDecoder;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsObservations;
 import lombok.AccessLevel;
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * SecretsManagerService is responsible for managing secrets from different providers.
  * It allows retrieving secrets by key and origin.
+ * Every lookup is wrapped in a {@value SecretsObservations#SERVICE} observation.
  */
 @Slf4j
-@RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class SecretsManagerService {
 
+    /**
+     * Limits the log statements of failing provider lookups to one per second.
+     */
+    private static final LogThrottle FAILURE_LOG = new LogThrottle(Duration.ofSeconds(1));
+
     /**
      * The list of secrets providers.
      */
     List<AbstractSecretsProvider> services;
 
-    ObjectMapper objectMapper;
+    /**
+     * The decoder converting secret values to typed instances.
+     */
+    SecretDecoder decoder;
+
+    /**
+     * The executor running the provider calls of lookups that query several providers concurrently.
+     */
+    Executor executor;
+
+    /**
+     * The properties configuring how providers are queried.
+     */
+    SecretsLookupProperties lookup;
+
+    /**
+     * The hedged lookup used by getFromAnyProvider when the HEDGED strategy is configured.
+     */
+    HedgedLookup hedgedLookup;
+
+    /**
+     * The observations the operations are wrapped in.
+     */
+    @Getter
+    SecretsObservations observations;
+
+    /**
+     * Constructs a SecretsManagerService using the shared lookup executor and the default lookup properties.
+     *
+     * @param services     the providers, sorted by order
+     * @param objectMapper the ObjectMapper used to convert secret values
+     */
+    public SecretsManagerService(List<AbstractSecretsProvider> services, ObjectMapper objectMapper) {
+        this(services, objectMapper, SecretsExecutors.sharedLookupExecutor(),
+                new SecretsLookupProperties(null, null, null, null, null));
+    }
+
+    /**
+     * Constructs a SecretsManagerService with the specified executor and lookup properties.
+     *
+     * @param services     the providers, sorted by order
+     * @param objectMapper the ObjectMapper used to convert secret values
+     * @param executor     the executor running concurrent provider calls
+     * @param lookup       the properties configuring how providers are queried
+     */
+    public SecretsManagerService(List<AbstractSecretsProvider> services, ObjectMapper objectMapper,
+                                 Executor executor, SecretsLookupProperties lookup) {
+        this(services, objectMapper, executor, lookup, SecretsObservations.noop());
+    }
+
+    /**
+     * Constructs a SecretsManagerService with the specified executor, lookup properties and observations.
+     *
+     * @param services     the providers, sorted by order
+     * @param objectMapper the ObjectMapper used to convert secret values
+     * @param executor     the executor running concurrent provider calls
+     * @param lookup       the properties configuring how providers are queried
+     * @param observations the observations the operations are wrapped in
+     */
+    public SecretsManagerService(List<AbstractSecretsProvider> services, ObjectMapper objectMapper,
+                                 Executor executor, SecretsLookupProperties lookup, SecretsObservations observations) {
+        this.services = services;
+        this.decoder = new SecretDecoder(objectMapper);
+        this.executor = executor;
+        this.lookup = lookup;
+        this.hedgedLookup = new HedgedLookup(executor, lookup.getHedgeDelay(), lookup.getDeadline());
+        this.observations = observations;
+    }
 
     /**
      * Retrieves a secret by its key from all available providers.
+     * Providers are queried concurrently and the secrets are returned in provider order.
+     * A provider that fails, is rejected by a saturated executor or does not answer before the deadline is left
+     * out of the result, and the thread of a provider still running at the deadline is interrupted.
      *
      * @param key the key of the secret to retrieve
      * @return a list of SecretDTO objects containing the secrets
@@ -43,16 +142,26 @@ public class SecretsManagerService {
     public List<SecretDTO> get(String key) {
         Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
 
-        return services.stream()
-                .map(service -> service.get(key))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
+        return observations.observe(SecretsObservations.SERVICE, "get", Origin.ANY, key, () -> {
+            if (services.size() == 1) {
+                return lookupIsolated(services.get(0), key).stream().toList();
+            }
+            List<CompletableFuture<Optional<SecretDTO>>> lookups = services.stream()
+                    .map(service -> SecretsExecutors.supplyAsync(() -> lookupIsolated(service, key), executor))
+                    .toList();
+            awaitAll(lookups, key);
+            return lookups.stream()
+                    .map(SecretsManagerService::completedOrEmpty)
+                    .flatMap(Optional::stream)
+                    .toList();
+        });
     }
 
     /**
      * Retrieves a secret by its key from any available provider.
      * If the secret is found, it returns the first one found.
+     * With the HEDGED strategy, the next provider is queried when the previous one is slow or misses.
+     * Otherwise, no further provider is queried once the deadline has passed.
      *
      * @param key the key of the secret to retrieve
      * @return an Optional containing the SecretDTO object if found, or empty if not found
@@ -60,20 +169,24 @@ public class SecretsManagerService {
     public Optional<SecretDTO> getFromAnyProvider(String key) {
         Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
 
-        for (AbstractSecretsProvider service : services) {
-            try {
-                Optional<SecretDTO> secret = service.get(key);
+        return observations.observe(SecretsObservations.SERVICE, "getFromAnyProvider", Origin.ANY, key, () -> {
+            if (isHedged()) {
+                return hedgedLookup.firstSuccess(services, service -> lookupIsolated(service, key));
+            }
+            long deadlineAt = System.nanoTime() + lookup.getDeadline().toNanos();
+            for (AbstractSecretsProvider service : services) {
+                if (isDeadlineExceeded(deadlineAt, key)) {
+                    break;
+                }
+                // a failing provider is skipped, moving on to the next one
+                Optional<SecretDTO> secret = lookupIsolated(service, key);
                 if (secret.isPresent()) {
                     return secret;
                 }
-            } catch (Exception exception) {
-                log.warn("Failed to retrieve secret with key '{}' from provider '{}': {}",
-                        key, service.getOrigin(), exception.getMessage(), exception);
-                // skip to the next provider if an exception occurs
             }
-        }
 
-        return Optional.empty();
+            return Optional.empty();
+        });
     }
 
     /**
@@ -87,10 +200,110 @@ public class SecretsManagerService {
         Objects.requireNonNull(origin, Messages.ORIGIN_CANNOT_BE_BULL.getDescription());
         Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
 
-        return services.stream()
+        return observations.observe(SecretsObservations.SERVICE, "get", origin, key, () -> services.stream()
+                .filter(service -> service.getOrigin().equals(origin))
+                .findFirst()
+                .flatMap(service -> service.get(key)));
+    }
+
+    /**
+     * Retrieves the value of a secret by its key and origin as bytes held out of the heap.
+     * The caller owns the returned bytes and should destroy them once used, for example in a
+     * try-with-resources statement. When the cache stores secrets off the heap, the value is
+     * copied from the cache without creating a String.
+     *
+     * @param origin the origin of the secret
+     * @param key    the key of the secret to retrieve
+     * @return an Optional containing the bytes of the secret value if found, or empty if not found
+     */
+    public Optional<SecretBytes> getBytes(Origin origin, String key) {
+        Objects.requireNonNull(origin, Messages.ORIGIN_CANNOT_BE_BULL.getDescription());
+        Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
+
+        return observations.observe(SecretsObservations.SERVICE, "getBytes", origin, key, () -> services.stream()
+                .filter(service -> service.getOrigin().equals(origin))
+                .findFirst()
+                .flatMap(service -> service.getBytes(key)));
+    }
+
+    /**
+     * Retrieves the value of a secret by its key from any available provider as bytes held out of the heap.
+     * Providers are queried one after the other, even with the HEDGED strategy, so no bytes are left to
+     * destroy by a lookup that lost the race. No further provider is queried once the deadline has passed.
+     *
+     * @param key the key of the secret to retrieve
+     * @return an Optional containing the bytes of the secret value if found, or empty if not found
+     */
+    public Optional<SecretBytes> getBytesFromAnyProvider(String key) {
+        Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
+
+        return observations.observe(SecretsObservations.SERVICE, "getBytesFromAnyProvider", Origin.ANY, key, () -> {
+            long deadlineAt = System.nanoTime() + lookup.getDeadline().toNanos();
+            for (AbstractSecretsProvider service : services) {
+                if (isDeadlineExceeded(deadlineAt, key)) {
+                    break;
+                }
+                Optional<SecretBytes> bytes = lookupBytesIsolated(service, key);
+                if (bytes.isPresent()) {
+                    return bytes;
+                }
+            }
+            return Optional.empty();
+        });
+    }
+
+    /**
+     * Retrieves several secrets by their keys from the provider of the specified origin,
+     * using a single batched lookup when the provider supports it.
+     *
+     * @param origin the origin of the secrets
+     * @param keys   the keys of the secrets to retrieve
+     * @return the secrets found and the error description of each key that could not be retrieved
+     */
+    public SecretBatchDTO getAll(Origin origin, Collection<String> keys) {
+        Objects.requireNonNull(origin, Messages.ORIGIN_CANNOT_BE_BULL.getDescription());
+        Objects.requireNonNull(keys, Messages.KEY_CANNOT_BE_NULL.getDescription());
+
+        return observations.observe(SecretsObservations.SERVICE, "getAll", origin, null, () -> services.stream()
                 .filter(service -> service.getOrigin().equals(origin))
                 .findFirst()
-                .flatMap(service -> service.get(key));
+                .map(service -> service.getAll(keys))
+                .orElseThrow(() -> new OriginRequestedNotProvidedException(Messages.ORIGIN_REQUESTED_NOT_PROVIDED.getDescription())));
+    }
+
+    /**
+     * Retrieves several secrets by their keys from any available provider.
+     * Providers are queried in order with a batched lookup, each one only for the keys
+     * that were not found by the previous providers.
+     *
+     * @param keys the keys of the secrets to retrieve
+     * @return the secrets found and the error description of each key that could not be retrieved
+     */
+    public SecretBatchDTO getAllFromAnyProvider(Collection<String> keys) {
+        Objects.requireNonNull(keys, Messages.KEY_CANNOT_BE_NULL.getDescription());
+
+        return observations.observe(SecretsObservations.SERVICE, "getAllFromAnyProvider", Origin.ANY, null, () -> {
+            Map<String, SecretDTO> secrets = new LinkedHashMap<>();
+            Map<String, String> errors = new LinkedHashMap<>();
+            Set<String> remaining = new LinkedHashSet<>(keys);
+            for (AbstractSecretsProvider service : services) {
+                if (remaining.isEmpty()) {
+                    break;
+                }
+                try {
+                    SecretBatchDTO batch = service.getAll(remaining);
+                    secrets.putAll(batch.secrets());
+                    errors.putAll(batch.errors());
+                    remaining.removeAll(batch.secrets().keySet());
+                } catch (Exception exception) {
+                    log.warn("Failed to retrieve secrets with keys '{}' from provider '{}': {}",
+                            remaining, service.getOrigin(), exception.getMessage());
+                    remaining.forEach(key -> errors.put(key, exception.getMessage()));
+                }
+            }
+            errors.keySet().removeAll(secrets.keySet());
+            return new SecretBatchDTO(secrets, errors);
+        });
     }
 
     /**
@@ -121,13 +334,15 @@ public class SecretsManagerService {
         Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
         Objects.requireNonNull(type, Messages.TYPE_CANNOT_BE_NULL.getDescription());
 
-        for (AbstractSecretsProvider service : services) {
-            if (service.getOrigin().equals(origin)) {
-                return service.get(key, type);
+        return observations.observe(SecretsObservations.SERVICE, "get", origin, key, () -> {
+            for (AbstractSecretsProvider service : services) {
+                if (service.getOrigin().equals(origin)) {
+                    return service.get(key, type);
+                }
             }
-        }
 
-        throw new OriginRequestedNotProvidedException(Messages.ORIGIN_REQUESTED_NOT_PROVIDED.getDescription());
+            throw new OriginRequestedNotProvidedException(Messages.ORIGIN_REQUESTED_NOT_PROVIDED.getDescription());
+        });
     }
 
     /**
@@ -137,38 +352,346 @@ public class SecretsManagerService {
      * @param type the class type to convert the secret value to
      * @param <T>  the type of the secret value
      * @return the secret value converted to the specified type
-     * @throws SecretNotFoundException if the secret is not found in any provider
+     * @throws SecretNotFoundException if the secret is not found in any provider before the deadline
      */
     public <T> T getFromAnyProvider(String key, Class<T> type) throws SecretNotFoundException {
         Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
 
-        for (AbstractSecretsProvider service : services) {
-            try {
-                return service.get(key, type);
-            } catch (Exception exception) {
-                log.warn("Failed to retrieve secret with key '{}' from provider '{}': {}",
-                        key, service.getOrigin(), exception.getMessage(), exception);
-                // skip to the next provider if an exception occurs
+        return observations.observe(SecretsObservations.SERVICE, "getFromAnyProvider", Origin.ANY, key, () -> {
+            if (isHedged()) {
+                return hedgedLookup.firstSuccess(services, service -> lookupIsolated(service, key, type))
+                        .orElseThrow(() -> new SecretNotFoundException(key));
+            }
+            long deadlineAt = System.nanoTime() + lookup.getDeadline().toNanos();
+            for (AbstractSecretsProvider service : services) {
+                if (isDeadlineExceeded(deadlineAt, key)) {
+                    break;
+                }
+                // a failing provider is skipped, moving on to the next one
+                Optional<T> value = lookupIsolated(service, key, type);
+                if (value.isPresent()) {
+                    return value.get();
+                }
+            }
+
+            throw new SecretNotFoundException(key);
+        });
+    }
+
+    /**
+     * Retrieves a secret by its key from all available providers without blocking the caller.
+     * A provider that fails or does not answer before the deadline is left out of the result.
+     *
+     * @param key the key of the secret to retrieve
+     * @return a future completed with the secrets, in provider order
+     */
+    public CompletableFuture<List<SecretDTO>> getAsync(String key) {
+        Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
+
+        return observations.observeAsync(SecretsObservations.SERVICE, "getAsync", Origin.ANY, key, () -> {
+            List<CompletableFuture<Optional<SecretDTO>>> lookups = services.stream()
+                    .map(service -> lookupIsolatedAsync(service, key)
+                            .completeOnTimeout(Optional.empty(), lookup.getDeadline().toNanos(), TimeUnit.NANOSECONDS))
+                    .toList();
+            return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new))
+                    .thenApply(ignored -> lookups.stream()
+                            .map(CompletableFuture::join)
+                            .flatMap(Optional::stream)
+                            .toList());
+        });
+    }
+
+    /**
+     * Retrieves a secret by its key and origin from the specified provider without blocking the caller.
+     * The returned future completes exceptionally with an OriginRequestedNotProvidedException
+     * if no provider of the origin is available.
+     *
+     * @param origin the origin of the secret
+     * @param key    the key of the secret to retrieve
+     * @return a future completed with the SecretDTO if found, or empty if not found
+     */
+    public CompletableFuture<Optional<SecretDTO>> getAsync(Origin origin, String key) {
+        Objects.requireNonNull(origin, Messages.ORIGIN_CANNOT_BE_BULL.getDescription());
+        Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
+
+        return observations.observeAsync(SecretsObservations.SERVICE, "getAsync", origin, key, () -> services.stream()
+                .filter(service -> service.getOrigin().equals(origin))
+                .findFirst()
+                .map(service -> service.getAsync(key))
+                .orElseGet(() -> CompletableFuture.failedFuture(
+                        new OriginRequestedNotProvidedException(Messages.ORIGIN_REQUESTED_NOT_PROVIDED.getDescription()))));
+    }
+
+    /**
+     * Retrieves a secret by its key from any available provider without blocking the caller.
+     * Providers are queried in order, each one only if the previous ones did not find the secret.
+     * The future completes empty if the secret is not found before the deadline.
+     *
+     * @param key the key of the secret to retrieve
+     * @return a future completed with the first SecretDTO found, or empty if not found
+     */
+    public CompletableFuture<Optional<SecretDTO>> getFromAnyProviderAsync(String key) {
+        Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
+
+        return observations.observeAsync(SecretsObservations.SERVICE, "getFromAnyProviderAsync", Origin.ANY, key, () -> {
+            CompletableFuture<Optional<SecretDTO>> result = CompletableFuture.completedFuture(Optional.empty());
+            for (AbstractSecretsProvider service : services) {
+                result = result.thenCompose(secret -> secret.isPresent()
+                        ? CompletableFuture.completedFuture(secret)
+                        : lookupIsolatedAsync(service, key));
             }
+            return result.completeOnTimeout(Optional.empty(), lookup.getDeadline().toNanos(), TimeUnit.NANOSECONDS);
+        });
+    }
+
+    /**
+     * Retrieves a secret by its key from any available provider without blocking the caller,
+     * converting the value to the specified type. The returned future completes exceptionally
+     * with a SecretNotFoundException if the secret is not found in any provider.
+     *
+     * @param key  the key of the secret to retrieve
+     * @param type the class type to convert the secret value to
+     * @param <T>  the type of the secret value
+     * @return a future completed with the secret value converted to the specified type
+     */
+    public <T> CompletableFuture<T> getFromAnyProviderAsync(String key, Class<T> type) {
+        Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
+        Objects.requireNonNull(type, Messages.TYPE_CANNOT_BE_NULL.getDescription());
+
+        return observations.observeAsync(SecretsObservations.SERVICE, "getFromAnyProviderAsync", Origin.ANY, key, () -> {
+            CompletableFuture<Optional<T>> result = CompletableFuture.completedFuture(Optional.empty());
+            for (AbstractSecretsProvider service : services) {
+                result = result.thenCompose(value -> value.isPresent()
+                        ? CompletableFuture.completedFuture(value)
+                        : lookupIsolatedAsync(service, key, type));
+            }
+            return result
+                    .completeOnTimeout(Optional.empty(), lookup.getDeadline().toNanos(), TimeUnit.NANOSECONDS)
+                    .thenApply(value -> value.orElseThrow(() -> new CompletionException(new SecretNotFoundException(key))));
+        });
+    }
+
+    /**
+     * Keeps the secret of a key refreshed in the background by the caches of the providers of an origin,
+     * or of every provider with origin ANY, even while it is not read.
+     *
+     * @param origin the origin of the secret
+     * @param key    the key of the secret
+     */
+    public void retain(Origin origin, String key) {
+        Objects.requireNonNull(origin, Messages.ORIGIN_CANNOT_BE_BULL.getDescription());
+        Objects.requireNonNull(key, Messages.KEY_CANNOT_BE_NULL.getDescription());
+
+        services.stream()
+                .filter(service -> Origin.ANY == origin || service.getOrigin().equals(origin))
+                .map(service -> DelegatingSecretsProvider.find(service, CachingSecretsProvider.class))
+                .filter(Objects::nonNull)
+                .forEach(cache -> cache.retain(key));
+    }
+
+    /**
+     * Looks up a secret in a single provider, turning any failure into an empty result.
+     *
+     * @param service the provider to query
+     * @param key     the key of the secret to retrieve
+     * @return an Optional containing the SecretDTO if found, or empty if not found or the provider failed
+     */
+    private Optional<SecretDTO> lookupIsolated(AbstractSecretsProvider service, String key) {
+        try {
+            return service.get(key);
+        } catch (Exception exception) {
+            logFailure(service, key, exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Looks up a secret in a single provider and converts it to the specified type,
+     * turning any failure into an empty result.
+     *
+     * @param service the provider to query
+     * @param key     the key of the secret to retrieve
+     * @param type    the class type to convert the secret value to
+     * @param <T>     the type of the secret value
+     * @return an Optional containing the converted secret if found, or empty if not found or the provider failed
+     */
+    private <T> Optional<T> lookupIsolated(AbstractSecretsProvider service, String key, Class<T> type) {
+        try {
+            return Optional.ofNullable(service.get(key, type));
+        } catch (Exception exception) {
+            logFailure(service, key, exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Looks up the bytes of a secret in a single provider, turning any failure into an empty result.
+     *
+     * @param service the provider to query
+     * @param key     the key of the secret to retrieve
+     * @return an Optional containing the bytes of the secret value if found, or empty if not found or the provider failed
+     */
+    private Optional<SecretBytes> lookupBytesIsolated(AbstractSecretsProvider service, String key) {
+        try {
+            return service.getBytes(key);
+        } catch (Exception exception) {
+            logFailure(service, key, exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Logs the failure of a provider lookup, rate limited so a failing provider does not flood the logs.
+     * A secret not found and a provider skipped by its open circuit breaker or its rate limiter
+     * are expected outcomes and are only logged at debug level.
+     *
+     * @param service   the provider queried
+     * @param key       the key of the secret being retrieved
+     * @param exception the failure of the lookup
+     */
+    private static void logFailure(AbstractSecretsProvider service, String key, Throwable exception) {
+        if (exception instanceof SecretNotFoundException) {
+            log.debug("stage=secret-not-found, key={}, origin={}", key, service.getOrigin());
+        } else if (exception instanceof ProviderUnavailableException) {
+            log.debug("stage=provider-skipped, key={}, origin={}", key, service.getOrigin());
+        } else if (exception instanceof RateLimitExceededException) {
+            log.debug("stage=provider-rate-limited, key={}, origin={}", key, service.getOrigin());
+        } else if (FAILURE_LOG.tryAcquire()) {
+            log.warn("Failed to retrieve secret with key '{}' from provider '{}': {} (suppressed={})",
+                    key, service.getOrigin(), exception.getMessage(), FAILURE_LOG.drainSuppressed());
+        }
+    }
+
+    /**
+     * Looks up a secret in a single provider without blocking, turning any failure into an empty result.
+     *
+     * @param service the provider to query
+     * @param key     the key of the secret to retrieve
+     * @return a future completed with the SecretDTO if found, or empty if not found or the provider failed
+     */
+    private CompletableFuture<Optional<SecretDTO>> lookupIsolatedAsync(AbstractSecretsProvider service, String key) {
+        return isolate(service, key, () -> service.getAsync(key));
+    }
+
+    /**
+     * Looks up a secret in a single provider without blocking and converts it to the specified type,
+     * turning any failure into an empty result.
+     *
+     * @param service the provider to query
+     * @param key     the key of the secret to retrieve
+     * @param type    the class type to convert the secret value to
+     * @param <T>     the type of the secret value
+     * @return a future completed with the converted secret if found, or empty if not found or the provider failed
+     */
+    private <T> CompletableFuture<Optional<T>> lookupIsolatedAsync(AbstractSecretsProvider service, String key,
+                                                                   Class<T> type) {
+        return isolate(service, key, () -> service.getAsync(key, type).thenApply(Optional::ofNullable));
+    }
+
+    /**
+     * Turns a failure of an asynchronous provider lookup, thrown or completed exceptionally, into an empty result.
+     *
+     * @param service the provider queried
+     * @param key     the key of the secret being retrieved
+     * @param call    the call starting the provider lookup
+     * @param <R>     the type of the lookup result
+     * @return a future completed with the result of the lookup, or empty if it failed
+     */
+    private <R> CompletableFuture<Optional<R>> isolate(AbstractSecretsProvider service, String key,
+                                                       Supplier<CompletableFuture<Optional<R>>> call) {
+        CompletableFuture<Optional<R>> started;
+        try {
+            started = call.get();
+        } catch (Exception exception) {
+            started = CompletableFuture.failedFuture(exception);
+        }
+        return started.exceptionally(error -> {
+            logFailure(service, key, error instanceof CompletionException ? error.getCause() : error);
+            return Optional.empty();
+        });
+    }
+
+    /**
+     * Checks whether lookups from any provider use the HEDGED strategy with more than one provider.
+     *
+     * @return true if lookups are hedged
+     */
+    private boolean isHedged() {
+        return LookupStrategy.HEDGED == lookup.getStrategy() && services.size() > 1;
+    }
+
+    /**
+     * Checks whether the deadline of a sequential lookup has passed, in which case the remaining providers are skipped.
+     * A provider call already started is bounded by the timeouts of its client.
+     *
+     * @param deadlineAt the {@link System#nanoTime()} at which the lookup expires
+     * @param key        the key being looked up
+     * @return true if the deadline has passed
+     */
+    private boolean isDeadlineExceeded(long deadlineAt, String key) {
+        if (System.nanoTime() - deadlineAt < 0) {
+            return false;
         }
+        log.warn("Deadline of {} exceeded while retrieving secret with key '{}'", lookup.getDeadline(), key);
+        return true;
+    }
 
-        throw new SecretNotFoundException(key);
+    /**
+     * Waits for the lookups to complete until the deadline.
+     *
+     * @param lookups the provider lookups in flight
+     * @param key     the key being looked up
+     */
+    private void awaitAll(List<CompletableFuture<Optional<SecretDTO>>> lookups, String key) {
+        try {
+            CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new))
+                    .get(lookup.getDeadline().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            log.warn("Deadline of {} exceeded while retrieving secret with key '{}'", lookup.getDeadline(), key);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            log.warn("Failed to retrieve secret with key '{}': {}", key, exception.getMessage());
+        }
     }
 
     /**
-     * Converts the secret value to the specified type using the ObjectMapper.
+     * Returns the result of a lookup that completed normally, cancelling it otherwise. Cancelling interrupts the
+     * thread running the provider call, which only stops early if the client of the provider honours interrupts.
+     *
+     * @param lookup the provider lookup
+     * @return the result of the lookup, or empty if it did not complete normally
+     */
+    private static Optional<SecretDTO> completedOrEmpty(CompletableFuture<Optional<SecretDTO>> lookup) {
+        if (lookup.isDone() && !lookup.isCompletedExceptionally()) {
+            return lookup.join();
+        }
+        lookup.cancel(true);
+        return Optional.empty();
+    }
+
+    /**
+     * Converts the secret value to the specified type.
      *
      * @param value the secret value to convert
      * @param type  the class type to convert the secret value to
      * @param <T>   the type of the secret value
      * @return the secret value converted to the specified type
      */
-    private <T> T convertJsonStringToTypeInstance(String value, Class<T> type) {
-        try {
-            return objectMapper.readValue(value, type);
-        } catch (Exception exception) {
-            log.error("Error parsing secret value from JSON: {}", exception.getMessage(), exception);
-            throw new CannotCastTypeException(exception);
-        }
+    public <T> T convertJsonStringToTypeInstance(String value, Class<T> type) {
+        return decoder.decode(value, type);
+    }
+
+    /**
+     * Converts the value of a secret to the specified type, reusing the instances of immutable types
+     * decoded before for the same version of the secret.
+     *
+     * @param secret the secret whose value to convert
+     * @param type   the class type to convert the secret value to
+     * @param <T>    the type of the secret value
+     * @return the secret value converted to the specified type
+     */
+    public <T> T convertSecretToTypeInstance(SecretDTO secret, Class<T> type) {
+        return decoder.decode(secret, type);
     }
 }
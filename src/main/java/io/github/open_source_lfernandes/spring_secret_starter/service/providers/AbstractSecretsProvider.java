@@ -1,26 +1,30 @@
 package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
-import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotCastTypeException;
 import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretDecoder;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * SecretsProvider is an abstract class that defines the contract for retrieving secrets
  * from different providers. It provides methods to get the origin of the secrets and
  * to retrieve a secret by its key.
  */
-@Slf4j
 @Getter
-@RequiredArgsConstructor
 public abstract class AbstractSecretsProvider {
 
     /**
@@ -33,6 +37,34 @@ public abstract class AbstractSecretsProvider {
      */
     protected final Integer order;
 
+    /**
+     * The decoder converting secret values to typed instances.
+     */
+    private final SecretDecoder decoder;
+
+    /**
+     * Constructs an AbstractSecretsProvider with the specified ObjectMapper and order.
+     *
+     * @param objectMapper the ObjectMapper used for serializing and deserializing secret data
+     * @param order        the order of the provider, used to determine the precedence of secret retrieval
+     */
+    public AbstractSecretsProvider(ObjectMapper objectMapper, Integer order) {
+        this(new SecretDecoder(objectMapper), order);
+    }
+
+    /**
+     * Constructs an AbstractSecretsProvider sharing the specified decoder, so its decoded instances
+     * are reused, for example by a decorator and the provider it wraps.
+     *
+     * @param decoder the decoder converting secret values to typed instances
+     * @param order   the order of the provider, used to determine the precedence of secret retrieval
+     */
+    protected AbstractSecretsProvider(SecretDecoder decoder, Integer order) {
+        this.objectMapper = decoder.getObjectMapper();
+        this.order = order;
+        this.decoder = decoder;
+    }
+
     /**
      * Retrieves the origin of the secrets provided by this provider.
      *
@@ -59,6 +91,82 @@ public abstract class AbstractSecretsProvider {
      */
     public abstract <T> T get(String key, Class<T> type) throws SecretNotFoundException;
 
+    /**
+     * Retrieves the value of a secret by its key as bytes held out of the heap, owned by the caller.
+     * The default implementation copies the value of the secret retrieved; providers keeping the
+     * value out of the heap should override it and copy the bytes instead.
+     *
+     * @param key the key of the secret to retrieve
+     * @return an Optional containing the bytes of the secret value if found, or empty if not found
+     */
+    public Optional<SecretBytes> getBytes(String key) {
+        return get(key).map(secret -> SecretBytes.of(secret.value()));
+    }
+
+    /**
+     * Retrieves a secret by its key without blocking the caller.
+     * The default implementation runs the blocking lookup on the shared lookup executor;
+     * providers backed by a non-blocking client should override it.
+     *
+     * @param key the key of the secret to retrieve
+     * @return a future completed with the SecretDTO if found, or empty if not found
+     */
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        return SecretsExecutors.supplyAsync(() -> get(key), SecretsExecutors.sharedLookupExecutor());
+    }
+
+    /**
+     * Retrieves the value of a secret by its key without blocking the caller and converts it to the specified type.
+     * The returned future completes exceptionally with a SecretNotFoundException if the secret is not found.
+     *
+     * @param key  the key of the secret to retrieve
+     * @param type the Class type to convert the secret value to
+     * @param <T>  the type of the secret value
+     * @return a future completed with the value of the secret converted to the specified type
+     */
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return getAsync(key).thenApply(secret -> secret
+                .map(found -> convertSecretToTypeInstance(found, type))
+                .orElseThrow(() -> new CompletionException(new SecretNotFoundException(key))));
+    }
+
+    /**
+     * Fetches a cached secret again for a background refresh.
+     * The default implementation retrieves the secret again; providers able to tell whether the
+     * version of the secret changed without downloading its value should override it and return
+     * the previous secret when it did not.
+     *
+     * @param key      the key of the secret to refresh
+     * @param previous the secret currently cached
+     * @return a future completed with the current SecretDTO, or empty if it no longer exists
+     */
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        return getAsync(key);
+    }
+
+    /**
+     * Retrieves several secrets by their keys.
+     * The default implementation looks up each key individually; providers able to fetch
+     * several secrets in a single call should override it.
+     *
+     * @param keys the keys of the secrets to retrieve
+     * @return the secrets found and the error description of each key that could not be retrieved
+     */
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        Map<String, SecretDTO> secrets = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            try {
+                get(key).ifPresentOrElse(
+                        secret -> secrets.put(key, secret),
+                        () -> errors.put(key, Messages.SECRET_NOT_FOUND.getDescription()));
+            } catch (Exception exception) {
+                errors.put(key, exception.getMessage());
+            }
+        }
+        return new SecretBatchDTO(secrets, errors);
+    }
+
     /**
      * Converts a secret value to the specified type.
      *
@@ -66,13 +174,23 @@ public abstract class AbstractSecretsProvider {
      * @param type  the Class type to convert the secret value to
      * @param <T>   the type of the secret value
      * @return the value of the secret converted to the specified type
+     * @see SecretDecoder
      */
     protected <T> T convertJsonStringToTypeInstance(String value, Class<T> type) {
-        try {
-            return getObjectMapper().readValue(value, type);
-        } catch (JsonProcessingException e) {
-            log.error("Error parsing secret value from JSON: {}", e.getMessage(), e);
-            throw new CannotCastTypeException(e);
-        }
+        return decoder.decode(value, type);
+    }
+
+    /**
+     * Converts the value of a secret to the specified type.
+     * Instances of immutable types decoded from the same version of the secret are reused.
+     *
+     * @param secret the secret whose value to convert
+     * @param type   the Class type to convert the secret value to
+     * @param <T>    the type of the secret value
+     * @return the value of the secret converted to the specified type
+     * @see SecretDecoder
+     */
+    protected <T> T convertSecretToTypeInstance(SecretDTO secret, Class<T> type) {
+        return decoder.decode(secret, type);
     }
 }
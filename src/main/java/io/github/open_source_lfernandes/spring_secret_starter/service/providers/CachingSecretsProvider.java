@@ -0,0 +1,685 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.SecretStorage;
+import io.github.open_source_lfernandes.spring_secret_starter.events.SecretRotatedEvent;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsCacheProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.LogThrottle;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * CachingSecretsProvider is a decorator that keeps the secrets returned by another
+ * {@link AbstractSecretsProvider} in an in-memory cache.
+ * <br>
+ * Entries expire after the configured TTL and are evicted either by entry count or,
+ * when a maximum weight is configured, by the size of the secret values.
+ * Cache hits return the same immutable {@link SecretDTO} instance that was loaded.
+ * <br>
+ * With the {@link SecretStorage#OFF_HEAP} storage, the value of each cached secret is kept as {@link SecretBytes}
+ * instead, out of the heap, and zeroed as soon as the entry is evicted, expires or is replaced. Cache hits then
+ * return a new SecretDTO decoded from the bytes, which the caller should not retain, while {@link #getBytes(String)}
+ * copies the bytes without ever creating a String.
+ * <br>
+ * Keys the delegate did not find are remembered as missing for their own, usually shorter, TTL,
+ * so repeated lookups of a key held by another provider do not reach this one on every call.
+ * <br>
+ * When refresh-ahead is enabled, each secret is fetched again in the background at a random point
+ * of the refresh window before its TTL expires. Callers keep being served the last good secret while
+ * the refresh is in flight or failing, up to the max-stale bound past the TTL, so they never wait
+ * for the provider once the secret was loaded. A refresh returning a different value publishes a
+ * {@link SecretRotatedEvent}, so the consumers of the secret can pick up the new value.
+ * <br>
+ * Only the secrets read since they were loaded or last refreshed, and the keys {@link #retain(String) retained},
+ * are refreshed; the others expire at the end of their TTL. A refresh completing after its entry was invalidated,
+ * evicted or loaded again is discarded.
+ */
+@Slf4j
+public class CachingSecretsProvider extends DelegatingSecretsProvider {
+
+    /**
+     * Limits the log statements of failed background refreshes to one per second.
+     */
+    private static final LogThrottle REFRESH_FAILURE_LOG = new LogThrottle(Duration.ofSeconds(1));
+
+    /**
+     * The cache holding the secrets found by the delegate, indexed by key.
+     */
+    private final Cache<String, CachedSecret> cache;
+
+    /**
+     * The keys the delegate did not find, or null when negative caching is disabled.
+     */
+    private final Cache<String, Boolean> misses;
+
+    /**
+     * The cache configuration properties.
+     */
+    private final SecretsCacheProperties properties;
+
+    /**
+     * The scheduler of the background refreshes, or null when refresh-ahead is disabled.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The next background refresh of each cached secret.
+     */
+    private final ConcurrentMap<String, ScheduledFuture<?>> refreshes = new ConcurrentHashMap<>();
+
+    /**
+     * The keys refreshed in the background even while they are not read.
+     */
+    private final Set<String> retained = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The publisher of the rotation events, or null when rotations are not published.
+     */
+    private final ApplicationEventPublisher publisher;
+
+    /**
+     * Constructs a CachingSecretsProvider around the specified provider.
+     * When refresh-ahead is enabled, refreshes are scheduled on the shared refresh scheduler.
+     *
+     * @param delegate   the provider whose secrets are cached
+     * @param properties the cache configuration properties
+     */
+    public CachingSecretsProvider(AbstractSecretsProvider delegate, SecretsCacheProperties properties) {
+        this(delegate, properties, properties.getRefreshAhead() ? SecretsExecutors.sharedRefreshScheduler() : null);
+    }
+
+    /**
+     * Constructs a CachingSecretsProvider around the specified provider, scheduling the background
+     * refreshes on the specified scheduler when refresh-ahead is enabled.
+     *
+     * @param delegate   the provider whose secrets are cached
+     * @param properties the cache configuration properties
+     * @param scheduler  the scheduler of the background refreshes, may be null when refresh-ahead is disabled
+     */
+    public CachingSecretsProvider(AbstractSecretsProvider delegate, SecretsCacheProperties properties,
+                                  ScheduledExecutorService scheduler) {
+        this(delegate, properties, scheduler, null);
+    }
+
+    /**
+     * Constructs a CachingSecretsProvider around the specified provider, scheduling the background
+     * refreshes on the specified scheduler and publishing a {@link SecretRotatedEvent} whenever
+     * a refresh returns a new value.
+     *
+     * @param delegate   the provider whose secrets are cached
+     * @param properties the cache configuration properties
+     * @param scheduler  the scheduler of the background refreshes, may be null when refresh-ahead is disabled
+     * @param publisher  the publisher of the rotation events, may be null
+     */
+    public CachingSecretsProvider(AbstractSecretsProvider delegate, SecretsCacheProperties properties,
+                                  ScheduledExecutorService scheduler, ApplicationEventPublisher publisher) {
+        super(delegate);
+        this.publisher = publisher;
+        this.properties = properties;
+        this.scheduler = properties.getRefreshAhead() ? scheduler : null;
+        this.cache = buildCache(properties, nonNull(this.scheduler));
+        this.misses = buildMissCache(properties);
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        Optional<SecretDTO> cached = lookupCached(key);
+        if (nonNull(cached)) {
+            return cached;
+        }
+        return record(key, getDelegate().get(key));
+    }
+
+    /**
+     * Copies the bytes of a cached secret, loading the secret from the delegate on a cache miss.
+     *
+     * @param key the key of the secret to retrieve
+     * @return an Optional containing the bytes of the secret value if found, or empty if not found
+     */
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        CachedSecret cached = cache.getIfPresent(key);
+        SecretBytes bytes = nonNull(cached) ? cached.read().copyBytes() : null;
+        if (nonNull(bytes)) {
+            return Optional.of(bytes);
+        }
+        return get(key).map(secret -> SecretBytes.of(secret.value()));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        Optional<SecretDTO> secret = get(key);
+        if (secret.isPresent()) {
+            return convertSecretToTypeInstance(secret.get(), type);
+        }
+        if (isKnownMissing(key)) {
+            throw new SecretNotFoundException(key);
+        }
+        // providers are free to resolve typed secrets differently, so fall back to the delegate
+        return getDelegate().get(key, type);
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        Optional<SecretDTO> cached = lookupCached(key);
+        if (nonNull(cached)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return getDelegate().getAsync(key).thenApply(secret -> record(key, secret));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return getAsync(key).thenCompose(secret -> {
+            if (secret.isPresent()) {
+                return CompletableFuture.completedFuture(convertSecretToTypeInstance(secret.get(), type));
+            }
+            if (isKnownMissing(key)) {
+                return CompletableFuture.failedFuture(new SecretNotFoundException(key));
+            }
+            // providers are free to resolve typed secrets differently, so fall back to the delegate
+            return getDelegate().getAsync(key, type);
+        });
+    }
+
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        Map<String, SecretDTO> secrets = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : new LinkedHashSet<>(keys)) {
+            Optional<SecretDTO> cached = lookupCached(key);
+            if (isNull(cached)) {
+                missing.add(key);
+            } else if (cached.isPresent()) {
+                secrets.put(key, cached.get());
+            } else {
+                errors.put(key, Messages.SECRET_NOT_FOUND.getDescription());
+            }
+        }
+        if (missing.isEmpty()) {
+            return new SecretBatchDTO(secrets, errors);
+        }
+        SecretBatchDTO loaded = getDelegate().getAll(missing);
+        loaded.secrets().forEach((key, secret) -> record(key, Optional.of(secret)));
+        loaded.errors().forEach((key, error) -> {
+            if (Messages.SECRET_NOT_FOUND.getDescription().equals(error)) {
+                record(key, Optional.empty());
+            }
+        });
+        secrets.putAll(loaded.secrets());
+        errors.putAll(loaded.errors());
+        return new SecretBatchDTO(secrets, errors);
+    }
+
+    /**
+     * Removes the secret with the specified key from the cache.
+     *
+     * @param key the key of the secret to evict
+     */
+    public void invalidate(String key) {
+        cache.invalidate(key);
+        if (nonNull(misses)) {
+            misses.invalidate(key);
+        }
+    }
+
+    /**
+     * Removes every secret from the cache.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (nonNull(misses)) {
+            misses.invalidateAll();
+        }
+    }
+
+    /**
+     * Keeps the secret of a key refreshed in the background even while it is not read, such as
+     * a secret injected into fields that are injected again when it is rotated.
+     * Has no effect unless refresh-ahead is enabled.
+     *
+     * @param key the key of the secret
+     */
+    public void retain(String key) {
+        retained.add(key);
+    }
+
+    /**
+     * Checks whether a lookup of the key would be answered from the cache, either with the secret
+     * or because the key is remembered as missing. The check does not count as an access of the entry.
+     *
+     * @param key the key of the secret
+     * @return true if the key is cached
+     */
+    public boolean isCached(String key) {
+        return cache.asMap().containsKey(key) || (nonNull(misses) && misses.asMap().containsKey(key));
+    }
+
+    /**
+     * Returns the bytes held by the cache for a secret stored off the heap, without copying them.
+     *
+     * @param key the key of the secret
+     * @return the cached bytes, or null if the key is not cached or its value is stored on the heap
+     */
+    SecretBytes cachedBytes(String key) {
+        CachedSecret cached = cache.asMap().get(key);
+        return nonNull(cached) ? cached.bytes : null;
+    }
+
+    /**
+     * Returns the approximate number of secrets currently cached.
+     *
+     * @return the number of cached entries
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the cached result of a key: the secret if it was found, empty if it is remembered as missing,
+     * or null if the delegate must be queried.
+     *
+     * @param key the key of the secret
+     * @return the cached result, or null if the key is not cached or its bytes were just zeroed by an eviction
+     */
+    private Optional<SecretDTO> lookupCached(String key) {
+        CachedSecret cached = cache.getIfPresent(key);
+        SecretDTO secret = nonNull(cached) ? cached.read().secret() : null;
+        if (nonNull(secret)) {
+            return Optional.of(secret);
+        }
+        return isKnownMissing(key) ? Optional.empty() : null;
+    }
+
+    /**
+     * Checks whether the key is remembered as not found by the delegate.
+     *
+     * @param key the key of the secret
+     * @return true if the key is remembered as missing
+     */
+    private boolean isKnownMissing(String key) {
+        return nonNull(misses) && nonNull(misses.getIfPresent(key));
+    }
+
+    /**
+     * Caches the result of a lookup of the delegate, remembering the key as missing when it was not found.
+     *
+     * @param key    the key of the secret
+     * @param secret the result of the lookup
+     * @return the result of the lookup
+     */
+    private Optional<SecretDTO> record(String key, Optional<SecretDTO> secret) {
+        if (secret.isPresent()) {
+            cache.put(key, new CachedSecret(secret.get(), properties.getStorage()));
+            scheduleRefresh(key, nextRefreshDelay());
+        } else if (nonNull(misses)) {
+            misses.put(key, Boolean.TRUE);
+        }
+        return secret;
+    }
+
+    /**
+     * Schedules the background refresh of a cached secret, replacing the one already scheduled.
+     *
+     * @param key   the key of the secret
+     * @param delay the delay before the refresh
+     */
+    private void scheduleRefresh(String key, Duration delay) {
+        schedule(key, () -> refresh(key), delay);
+    }
+
+    /**
+     * Schedules the removal of a cached secret no longer refreshed at the end of its TTL,
+     * replacing the refresh already scheduled. The entry is kept if it was loaded again in the meantime.
+     *
+     * @param key    the key of the secret
+     * @param cached the cached secret to remove
+     */
+    private void scheduleExpiry(String key, CachedSecret cached) {
+        long remaining = cached.loadedAt() + properties.getTtl().toNanos() - System.nanoTime();
+        schedule(key, () -> {
+            refreshes.remove(key);
+            cache.asMap().remove(key, cached);
+        }, Duration.ofNanos(Math.max(remaining, 0L)));
+    }
+
+    /**
+     * Schedules a task on a cached secret, replacing the one already scheduled.
+     *
+     * @param key   the key of the secret
+     * @param task  the task to run
+     * @param delay the delay before the task
+     */
+    private void schedule(String key, Runnable task, Duration delay) {
+        if (isNull(scheduler)) {
+            return;
+        }
+        try {
+            ScheduledFuture<?> next = scheduler.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+            ScheduledFuture<?> previous = refreshes.put(key, next);
+            if (nonNull(previous)) {
+                previous.cancel(false);
+            }
+        } catch (RejectedExecutionException exception) {
+            log.debug("stage=secret-refresh-not-scheduled, key={}", key);
+        }
+    }
+
+    /**
+     * Fetches a cached secret again from the delegate without blocking the scheduler, letting it skip
+     * the download when the version of the secret did not change. A secret neither read since it was
+     * loaded nor retained is left to expire instead. The result replaces the cached secret only if
+     * the entry was not removed or loaded again during the refresh. A secret no longer found is removed;
+     * on failure the cached secret is kept and the refresh is retried.
+     *
+     * @param key the key of the secret
+     */
+    private void refresh(String key) {
+        CachedSecret cached = cache.asMap().get(key);
+        SecretDTO previous = nonNull(cached) ? cached.secret() : null;
+        if (isNull(previous)) {
+            refreshes.remove(key);
+            return;
+        }
+        if (!cached.wasRead() && !retained.contains(key)) {
+            log.debug("stage=secret-refresh-skipped, key={}", key);
+            scheduleExpiry(key, cached);
+            return;
+        }
+        CompletableFuture<Optional<SecretDTO>> lookup;
+        try {
+            lookup = getDelegate().refreshAsync(key, previous);
+        } catch (RuntimeException exception) {
+            lookup = CompletableFuture.failedFuture(exception);
+        }
+        lookup.whenComplete((secret, error) -> {
+            if (cache.asMap().get(key) != cached) {
+                log.debug("stage=secret-refresh-discarded, key={}", key);
+            } else if (nonNull(error)) {
+                if (REFRESH_FAILURE_LOG.tryAcquire()) {
+                    log.warn("stage=secret-refresh-failed, key={}, error={}, suppressed={}",
+                            key, error.getMessage(), REFRESH_FAILURE_LOG.drainSuppressed());
+                }
+                scheduleRefresh(key, properties.getRefreshWindow());
+            } else if (secret.isPresent()) {
+                if (cache.asMap().replace(key, cached, new CachedSecret(secret.get(), properties.getStorage()))) {
+                    scheduleRefresh(key, nextRefreshDelay());
+                    publishIfRotated(key, previous, secret.get());
+                }
+            } else if (cache.asMap().remove(key, cached)) {
+                record(key, secret);
+            }
+        });
+    }
+
+    /**
+     * Publishes a {@link SecretRotatedEvent} when the refreshed value differs from the cached one.
+     * A failing listener is logged and does not affect the cache.
+     *
+     * @param key      the key of the secret
+     * @param previous the secret cached before the refresh
+     * @param current  the secret returned by the refresh
+     */
+    private void publishIfRotated(String key, SecretDTO previous, SecretDTO current) {
+        if (isNull(publisher) || Objects.equals(previous.value(), current.value())) {
+            return;
+        }
+        try {
+            publisher.publishEvent(new SecretRotatedEvent(this, getOrigin(), key, previous, current));
+            log.info("stage=secret-rotated, origin={}, key={}", getOrigin(), key);
+        } catch (RuntimeException exception) {
+            log.warn("stage=secret-rotation-not-published, key={}, error={}", key, exception.getMessage());
+        }
+    }
+
+    /**
+     * Returns the delay before the next refresh of a secret just loaded: a random point of the
+     * refresh window before the TTL expires, and never earlier than half the TTL.
+     *
+     * @return the delay before the refresh
+     */
+    private Duration nextRefreshDelay() {
+        long ttl = properties.getTtl().toNanos();
+        long window = properties.getRefreshWindow().toNanos();
+        long ahead = window > 0 ? ThreadLocalRandom.current().nextLong(window) : 0L;
+        return Duration.ofNanos(Math.max(ttl - ahead, ttl / 2));
+    }
+
+    /**
+     * Cancels the scheduled background refresh of a secret.
+     *
+     * @param key the key of the secret
+     */
+    private void cancelRefresh(String key) {
+        ScheduledFuture<?> scheduled = refreshes.remove(key);
+        if (nonNull(scheduled)) {
+            scheduled.cancel(false);
+        }
+    }
+
+    /**
+     * Builds the cache of keys not found, or returns null when negative caching is disabled.
+     *
+     * @param properties the cache configuration properties
+     * @return the cache of keys not found, or null
+     */
+    private static Cache<String, Boolean> buildMissCache(SecretsCacheProperties properties) {
+        if (properties.getNegativeTtl().isZero() || properties.getNegativeTtl().isNegative()) {
+            return null;
+        }
+        return CacheBuilder.newBuilder()
+                .expireAfterWrite(properties.getNegativeTtl())
+                .maximumSize(properties.getMaxSize())
+                .build();
+    }
+
+    /**
+     * Builds the cache according to the configuration properties.
+     * A maximum weight takes precedence over the maximum entry count. When secrets are refreshed
+     * in the background, entries are kept up to max-stale past their TTL and their scheduled
+     * refresh is cancelled once they are removed. The bytes of a secret stored off the heap are zeroed
+     * once its entry is removed for any reason, including being replaced.
+     *
+     * @param properties   the cache configuration properties
+     * @param refreshAhead whether secrets are refreshed in the background
+     * @return the configured cache
+     */
+    private Cache<String, CachedSecret> buildCache(SecretsCacheProperties properties, boolean refreshAhead) {
+        var builder = CacheBuilder.newBuilder()
+                .expireAfterWrite(refreshAhead ? properties.getTtl().plus(properties.getMaxStale()) : properties.getTtl())
+                .<String, CachedSecret>removalListener(notification -> {
+                    if (notification.getCause() != RemovalCause.REPLACED) {
+                        cancelRefresh(notification.getKey());
+                    }
+                    if (nonNull(notification.getValue())) {
+                        notification.getValue().release();
+                    }
+                });
+        if (nonNull(properties.getMaxWeight())) {
+            return builder
+                    .maximumWeight(properties.getMaxWeight())
+                    .<String, CachedSecret>weigher((key, secret) -> weigh(key, secret))
+                    .build();
+        }
+        return builder
+                .maximumSize(properties.getMaxSize())
+                .build();
+    }
+
+    /**
+     * Weighs a cache entry by the length of its key and secret value, in bytes when the value is stored off the heap.
+     *
+     * @param key    the key of the secret
+     * @param secret the cached secret
+     * @return the weight of the entry
+     */
+    private static int weigh(String key, CachedSecret secret) {
+        return key.length() + secret.valueLength();
+    }
+
+    /**
+     * CachedSecret is an entry of the cache. On the heap, it holds the secret as loaded. Off the heap, it holds
+     * the secret without its value, which is kept as bytes until the entry is released.
+     * <br>
+     * Only this entry is kept off the heap. The SecretDTO the delegate returned, and the copy recorded by the
+     * encrypted snapshot when it is enabled, still hold the value as a String.
+     */
+    private static final class CachedSecret {
+
+        /**
+         * The secret as loaded, or without its value when the value is stored off the heap.
+         */
+        private final SecretDTO secret;
+
+        /**
+         * The bytes of the value stored off the heap, or null when it is stored on the heap.
+         */
+        private final SecretBytes bytes;
+
+        /**
+         * The {@link System#nanoTime()} at which the secret was loaded.
+         */
+        private final long loadedAt = System.nanoTime();
+
+        /**
+         * Whether the secret was read from the cache since it was loaded.
+         */
+        private volatile boolean read;
+
+        /**
+         * Constructs the entry of a secret loaded by the delegate.
+         *
+         * @param secret  the secret loaded
+         * @param storage how the value of the secret is held in memory
+         */
+        CachedSecret(SecretDTO secret, SecretStorage storage) {
+            if (storage == SecretStorage.OFF_HEAP && nonNull(secret.value())) {
+                this.secret = new SecretDTO(secret.origin(), secret.key(), null, secret.version());
+                this.bytes = SecretBytes.of(secret.value());
+            } else {
+                this.secret = secret;
+                this.bytes = null;
+            }
+        }
+
+        /**
+         * Marks the secret as read, so it is refreshed before it expires.
+         *
+         * @return this entry
+         */
+        CachedSecret read() {
+            if (!read) {
+                read = true;
+            }
+            return this;
+        }
+
+        /**
+         * Checks whether the secret was read from the cache since it was loaded.
+         *
+         * @return true if the secret was read
+         */
+        boolean wasRead() {
+            return read;
+        }
+
+        /**
+         * Returns the {@link System#nanoTime()} at which the secret was loaded.
+         *
+         * @return the load time of the secret
+         */
+        long loadedAt() {
+            return loadedAt;
+        }
+
+        /**
+         * Returns the cached secret, decoding its value when it is stored off the heap.
+         *
+         * @return the cached secret, or null if its bytes were zeroed by a concurrent removal
+         */
+        SecretDTO secret() {
+            if (isNull(bytes)) {
+                return secret;
+            }
+            try {
+                char[] chars = bytes.toCharArray();
+                try {
+                    return new SecretDTO(secret.origin(), secret.key(), new String(chars), secret.version());
+                } finally {
+                    Arrays.fill(chars, '\0');
+                }
+            } catch (IllegalStateException destroyed) {
+                return null;
+            }
+        }
+
+        /**
+         * Copies the value of the cached secret into bytes owned by the caller.
+         *
+         * @return the bytes of the value, or null if they were zeroed by a concurrent removal
+         */
+        SecretBytes copyBytes() {
+            if (isNull(bytes)) {
+                return nonNull(secret.value()) ? SecretBytes.of(secret.value()) : null;
+            }
+            try {
+                return bytes.copy();
+            } catch (IllegalStateException destroyed) {
+                return null;
+            }
+        }
+
+        /**
+         * Returns the length of the value, in characters on the heap and in bytes off the heap.
+         *
+         * @return the length of the value
+         */
+        int valueLength() {
+            if (isNull(bytes)) {
+                return nonNull(secret.value()) ? secret.value().length() : 0;
+            }
+            return bytes.length();
+        }
+
+        /**
+         * Zeroes the bytes of the value stored off the heap, once the entry was removed from the cache.
+         */
+        void release() {
+            if (nonNull(bytes)) {
+                bytes.destroy();
+            }
+        }
+    }
+}
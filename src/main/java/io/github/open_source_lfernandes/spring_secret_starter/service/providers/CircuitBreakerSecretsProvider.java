@@ -0,0 +1,219 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.CircuitState;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotCastTypeException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.ProviderUnavailableException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.RateLimitExceededException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsCircuitBreakerProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.CircuitBreaker;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * CircuitBreakerSecretsProvider is a decorator that guards the wrapped {@link AbstractSecretsProvider}
+ * with a {@link CircuitBreaker}.
+ * <br>
+ * Calls failing or slower than the configured thresholds open the breaker; while it is open, calls fail
+ * right away with a {@link ProviderUnavailableException} instead of waiting for the provider to time out,
+ * so lookups from any provider fall through to the next one immediately. A secret not found or a value
+ * that cannot be converted is an answer of the provider and counts as a success. A call rejected by the local
+ * rate limiter never reached the provider, so it counts neither as a success nor as a failure.
+ */
+@Slf4j
+public class CircuitBreakerSecretsProvider extends DelegatingSecretsProvider {
+
+    /**
+     * The breaker deciding whether calls reach the delegate.
+     */
+    private final CircuitBreaker breaker;
+
+    /**
+     * Constructs a CircuitBreakerSecretsProvider around the specified provider.
+     *
+     * @param delegate   the provider guarded by the breaker
+     * @param properties the circuit breaker configuration properties
+     */
+    public CircuitBreakerSecretsProvider(AbstractSecretsProvider delegate, SecretsCircuitBreakerProperties properties) {
+        super(delegate);
+        this.breaker = new CircuitBreaker(properties);
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        return guard(() -> getDelegate().get(key));
+    }
+
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        return guard(() -> getDelegate().getBytes(key));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        long permit = acquire();
+        long start = System.nanoTime();
+        try {
+            T value = getDelegate().get(key, type);
+            breaker.onSuccess(permit, System.nanoTime() - start);
+            return value;
+        } catch (SecretNotFoundException | CannotCastTypeException exception) {
+            breaker.onSuccess(permit, System.nanoTime() - start);
+            throw exception;
+        } catch (RateLimitExceededException exception) {
+            breaker.release(permit);
+            throw exception;
+        } catch (RuntimeException exception) {
+            onFailure(permit, exception);
+            throw exception;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        return guardAsync(() -> getDelegate().getAsync(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return guardAsync(() -> getDelegate().getAsync(key, type));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        return guardAsync(() -> getDelegate().refreshAsync(key, previous));
+    }
+
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        return guard(() -> getDelegate().getAll(keys));
+    }
+
+    /**
+     * Returns the current state of the breaker.
+     *
+     * @return the current state
+     */
+    public CircuitState getState() {
+        return breaker.getState();
+    }
+
+    /**
+     * Returns the number of calls rejected without reaching the delegate.
+     *
+     * @return the number of rejected calls
+     */
+    public long getRejectedCount() {
+        return breaker.getRejectedCount();
+    }
+
+    /**
+     * Returns the number of times the breaker opened.
+     *
+     * @return the number of openings
+     */
+    public long getOpenedCount() {
+        return breaker.getOpenedCount();
+    }
+
+    /**
+     * Runs a blocking call through the breaker, recording its outcome.
+     *
+     * @param call the call to the delegate
+     * @param <R>  the type of the result
+     * @return the result of the call
+     * @throws ProviderUnavailableException if the breaker rejected the call
+     */
+    private <R> R guard(Supplier<R> call) {
+        long permit = acquire();
+        long start = System.nanoTime();
+        try {
+            R result = call.get();
+            breaker.onSuccess(permit, System.nanoTime() - start);
+            return result;
+        } catch (CannotCastTypeException exception) {
+            breaker.onSuccess(permit, System.nanoTime() - start);
+            throw exception;
+        } catch (RateLimitExceededException exception) {
+            breaker.release(permit);
+            throw exception;
+        } catch (RuntimeException exception) {
+            onFailure(permit, exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Runs an asynchronous call through the breaker, recording its outcome once it completes.
+     * A rejected call returns a future failed with a {@link ProviderUnavailableException}.
+     *
+     * @param call the call to the delegate
+     * @param <R>  the type of the result
+     * @return the future of the call
+     */
+    private <R> CompletableFuture<R> guardAsync(Supplier<CompletableFuture<R>> call) {
+        long permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            return CompletableFuture.failedFuture(new ProviderUnavailableException(getOrigin()));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<R> started;
+        try {
+            started = call.get();
+        } catch (RateLimitExceededException exception) {
+            breaker.release(permit);
+            return CompletableFuture.failedFuture(exception);
+        } catch (RuntimeException exception) {
+            onFailure(permit, exception);
+            return CompletableFuture.failedFuture(exception);
+        }
+        return started.whenComplete((result, error) -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (isNull(cause) || cause instanceof SecretNotFoundException || cause instanceof CannotCastTypeException) {
+                breaker.onSuccess(permit, System.nanoTime() - start);
+            } else if (cause instanceof RateLimitExceededException) {
+                breaker.release(permit);
+            } else {
+                onFailure(permit, cause);
+            }
+        });
+    }
+
+    /**
+     * Lets the call through the breaker or rejects it.
+     *
+     * @return the permit of the call
+     * @throws ProviderUnavailableException if the breaker rejected the call
+     */
+    private long acquire() {
+        long permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            throw new ProviderUnavailableException(getOrigin());
+        }
+        return permit;
+    }
+
+    /**
+     * Records a failed call, logging when it opened the breaker.
+     *
+     * @param permit the permit of the call
+     * @param error  the failure of the call
+     */
+    private void onFailure(long permit, Throwable error) {
+        long openedBefore = breaker.getOpenedCount();
+        breaker.onFailure(permit);
+        if (breaker.getOpenedCount() > openedBefore) {
+            log.warn("stage=circuit-breaker-opened, origin={}, error={}", getOrigin(), error.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * DelegatingSecretsProvider is a base class for decorators around an {@link AbstractSecretsProvider}.
+ * Every operation is forwarded to the wrapped provider, so subclasses only override the
+ * operations they need to enhance. The origin and order of the wrapped provider are preserved,
+ * and the decoder of typed secrets is shared with it. As {@link #getBytes(String)} is forwarded as well,
+ * a subclass guarding {@link #get(String)} should guard it too.
+ */
+@Getter
+public abstract class DelegatingSecretsProvider extends AbstractSecretsProvider {
+
+    /**
+     * The provider wrapped by this decorator.
+     */
+    private final AbstractSecretsProvider delegate;
+
+    /**
+     * Constructs a DelegatingSecretsProvider around the specified provider.
+     *
+     * @param delegate the provider to which operations are delegated
+     */
+    protected DelegatingSecretsProvider(AbstractSecretsProvider delegate) {
+        super(Objects.requireNonNull(delegate, "Delegate provider cannot be null").getDecoder(), delegate.getOrder());
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Origin getOrigin() {
+        return delegate.getOrigin();
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        return delegate.getBytes(key);
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        return delegate.getAsync(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return delegate.getAsync(key, type);
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        return delegate.refreshAsync(key, previous);
+    }
+
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        return delegate.getAll(keys);
+    }
+
+    /**
+     * Finds the decorator of the specified type in a chain of decorators.
+     *
+     * @param provider the outermost provider of the chain
+     * @param type     the type of the decorator to find
+     * @param <D>      the type of the decorator
+     * @return the outermost decorator of the type, or null if the chain has none
+     */
+    public static <D extends AbstractSecretsProvider> D find(AbstractSecretsProvider provider, Class<D> type) {
+        for (AbstractSecretsProvider current = provider; nonNull(current);
+             current = current instanceof DelegatingSecretsProvider delegating ? delegating.getDelegate() : null) {
+            if (type.isInstance(current)) {
+                return type.cast(current);
+            }
+        }
+        return null;
+    }
+}
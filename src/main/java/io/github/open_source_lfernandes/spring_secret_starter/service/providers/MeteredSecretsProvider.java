@@ -0,0 +1,271 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * MeteredSecretsProvider is a decorator that records every call made to the wrapped {@link AbstractSecretsProvider}
+ * in Micrometer.
+ * <br>
+ * Each call is timed by the {@value #CALLS} timer, with a histogram, tagged by origin, operation and outcome:
+ * {@code hit} when the secret was found, {@code cache-hit} when it was served by the {@link CachingSecretsProvider}
+ * of the provider, {@code miss} when it was not found and {@code error} when the call failed. A lookup from any
+ * provider that falls through a provider shows up as a miss of that provider. The number of calls in progress
+ * is published by the {@value #IN_FLIGHT} gauge.
+ */
+public class MeteredSecretsProvider extends DelegatingSecretsProvider {
+
+    /**
+     * The name of the timer of the provider calls.
+     */
+    public static final String CALLS = "secrets.provider.calls";
+
+    /**
+     * The name of the gauge of the provider calls in progress.
+     */
+    public static final String IN_FLIGHT = "secrets.provider.in-flight";
+
+    /**
+     * The outcome of a call that found the secret.
+     */
+    static final String HIT = "hit";
+
+    /**
+     * The outcome of a call served by the cache.
+     */
+    static final String CACHE_HIT = "cache-hit";
+
+    /**
+     * The outcome of a call that did not find the secret.
+     */
+    static final String MISS = "miss";
+
+    /**
+     * The outcome of a failed call.
+     */
+    static final String ERROR = "error";
+
+    /**
+     * The registry the meters are registered in.
+     */
+    private final MeterRegistry registry;
+
+    /**
+     * The cache of the wrapped provider, if any, telling the calls it served.
+     */
+    private final CachingSecretsProvider cache;
+
+    /**
+     * The timers of the calls, indexed by operation and outcome.
+     */
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * The number of calls in progress.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructs a MeteredSecretsProvider around the specified provider.
+     *
+     * @param delegate the provider whose calls are recorded
+     * @param registry the registry the meters are registered in
+     */
+    public MeteredSecretsProvider(AbstractSecretsProvider delegate, MeterRegistry registry) {
+        super(delegate);
+        this.registry = registry;
+        this.cache = find(delegate, CachingSecretsProvider.class);
+        Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                .description("Calls to the secrets provider in progress")
+                .tag("origin", getOrigin().name())
+                .register(registry);
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        String cachedOutcome = cachedOutcome(key);
+        long start = begin();
+        String outcome = ERROR;
+        try {
+            Optional<SecretDTO> secret = getDelegate().get(key);
+            outcome = secret.isPresent() ? hitOutcome(cachedOutcome) : MISS;
+            return secret;
+        } finally {
+            end("get", outcome, start);
+        }
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        String cachedOutcome = cachedOutcome(key);
+        long start = begin();
+        String outcome = ERROR;
+        try {
+            T value = getDelegate().get(key, type);
+            outcome = hitOutcome(cachedOutcome);
+            return value;
+        } catch (SecretNotFoundException exception) {
+            outcome = MISS;
+            throw exception;
+        } finally {
+            end("get-typed", outcome, start);
+        }
+    }
+
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        String cachedOutcome = cachedOutcome(key);
+        long start = begin();
+        String outcome = ERROR;
+        try {
+            Optional<SecretBytes> bytes = getDelegate().getBytes(key);
+            outcome = bytes.isPresent() ? hitOutcome(cachedOutcome) : MISS;
+            return bytes;
+        } finally {
+            end("get-bytes", outcome, start);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        return record("get-async", cachedOutcome(key), () -> getDelegate().getAsync(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return record("get-typed-async", cachedOutcome(key), () -> getDelegate().getAsync(key, type));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        return record("refresh", null, () -> getDelegate().refreshAsync(key, previous));
+    }
+
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        long start = begin();
+        String outcome = ERROR;
+        try {
+            SecretBatchDTO batch = getDelegate().getAll(keys);
+            outcome = batch.errors().isEmpty() ? HIT : MISS;
+            return batch;
+        } finally {
+            end("get-all", outcome, start);
+        }
+    }
+
+    /**
+     * Returns the number of calls in progress.
+     *
+     * @return the number of calls in progress
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Records an asynchronous call once its future completes.
+     *
+     * @param operation     the name of the operation
+     * @param cachedOutcome the outcome of a found secret, {@code cache-hit} if it was cached
+     * @param call          the call to the delegate
+     * @param <R>           the type of the result
+     * @return the future of the call
+     */
+    private <R> CompletableFuture<R> record(String operation, String cachedOutcome,
+                                            Supplier<CompletableFuture<R>> call) {
+        long start = begin();
+        CompletableFuture<R> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException exception) {
+            end(operation, ERROR, start);
+            throw exception;
+        }
+        return started.whenComplete((result, error) -> end(operation, outcome(result, error, cachedOutcome), start));
+    }
+
+    /**
+     * Determines the outcome of a completed asynchronous call.
+     *
+     * @param result        the result of the call
+     * @param error         the failure of the call
+     * @param cachedOutcome the outcome of a found secret, {@code cache-hit} if it was cached
+     * @return the outcome of the call
+     */
+    private static String outcome(Object result, Throwable error, String cachedOutcome) {
+        if (nonNull(error)) {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            return cause instanceof SecretNotFoundException ? MISS : ERROR;
+        }
+        if (result instanceof Optional<?> secret && secret.isEmpty()) {
+            return MISS;
+        }
+        return hitOutcome(cachedOutcome);
+    }
+
+    /**
+     * Returns the outcome of a found secret.
+     *
+     * @param cachedOutcome {@code cache-hit} if the secret was cached, null otherwise
+     * @return the outcome of a found secret
+     */
+    private static String hitOutcome(String cachedOutcome) {
+        return isNull(cachedOutcome) ? HIT : cachedOutcome;
+    }
+
+    /**
+     * Checks, before a call, whether it will be served by the cache.
+     *
+     * @param key the key of the secret
+     * @return {@code cache-hit} if the key is cached, null otherwise
+     */
+    private String cachedOutcome(String key) {
+        return nonNull(cache) && cache.isCached(key) ? CACHE_HIT : null;
+    }
+
+    /**
+     * Starts recording a call.
+     *
+     * @return the {@link System#nanoTime()} at which the call started
+     */
+    private long begin() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Stops recording a call.
+     *
+     * @param operation the name of the operation
+     * @param outcome   the outcome of the call
+     * @param start     the {@link System#nanoTime()} at which the call started
+     */
+    private void end(String operation, String outcome, long start) {
+        inFlight.decrementAndGet();
+        timers.computeIfAbsent(operation + ':' + outcome, ignored -> Timer.builder(CALLS)
+                        .description("Calls to the secrets provider")
+                        .tags("origin", getOrigin().name(), "operation", operation, "outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsObservations;
+import io.micrometer.observation.Observation;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * ObservedSecretsProvider is a decorator that wraps every call made to the wrapped {@link AbstractSecretsProvider}
+ * in a {@value SecretsObservations#PROVIDER} observation.
+ * <br>
+ * Besides the tags of {@link SecretsObservations}, each observation is tagged with {@code cached}, telling
+ * whether the {@link CachingSecretsProvider} of the provider held the key when the call was made.
+ */
+public class ObservedSecretsProvider extends DelegatingSecretsProvider {
+
+    /**
+     * The observations the calls are wrapped in.
+     */
+    private final SecretsObservations observations;
+
+    /**
+     * The cache of the wrapped provider, if any, telling the calls it served.
+     */
+    private final CachingSecretsProvider cache;
+
+    /**
+     * Constructs an ObservedSecretsProvider around the specified provider.
+     *
+     * @param delegate     the provider whose calls are observed
+     * @param observations the observations the calls are wrapped in
+     */
+    public ObservedSecretsProvider(AbstractSecretsProvider delegate, SecretsObservations observations) {
+        super(delegate);
+        this.observations = observations;
+        this.cache = find(delegate, CachingSecretsProvider.class);
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        return observations.observe(create("get", key), () -> getDelegate().get(key));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        return observations.observe(create("get-typed", key), () -> getDelegate().get(key, type));
+    }
+
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        return observations.observe(create("get-bytes", key), () -> getDelegate().getBytes(key));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        return observations.observeAsync(create("get-async", key), () -> getDelegate().getAsync(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return observations.observeAsync(create("get-typed-async", key), () -> getDelegate().getAsync(key, type));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        return observations.observeAsync(create("refresh", key), () -> getDelegate().refreshAsync(key, previous));
+    }
+
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        return observations.observe(create("get-all", null), () -> getDelegate().getAll(keys));
+    }
+
+    /**
+     * Creates the observation of a call, tagged with whether the key was cached.
+     *
+     * @param operation the name of the operation
+     * @param key       the key of the secret, null for a lookup of several keys
+     * @return the observation, not started yet
+     */
+    private Observation create(String operation, String key) {
+        boolean cached = nonNull(key) && nonNull(cache) && cache.isCached(key);
+        return observations.create(SecretsObservations.PROVIDER, operation, getOrigin(), key)
+                .lowCardinalityKeyValue("cached", String.valueOf(cached));
+    }
+}
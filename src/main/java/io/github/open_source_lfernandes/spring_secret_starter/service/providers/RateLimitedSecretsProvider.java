@@ -0,0 +1,177 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.RateLimitExceededException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsRateLimitProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.TokenBucket;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * RateLimitedSecretsProvider is a decorator that limits the rate of the calls made to the wrapped
+ * {@link AbstractSecretsProvider} with a {@link TokenBucket}.
+ * <br>
+ * Calls beyond the burst wait for their permit, blocking calls by sleeping and asynchronous calls by being
+ * started later, so the provider is not pushed into throttling its clients. A call that would wait longer
+ * than the maximum wait fails right away with a {@link RateLimitExceededException}.
+ */
+public class RateLimitedSecretsProvider extends DelegatingSecretsProvider {
+
+    /**
+     * The bucket of permits of the calls made to the delegate.
+     */
+    private final TokenBucket bucket;
+
+    /**
+     * The maximum duration a call waits for a permit, in nanoseconds.
+     */
+    private final long maxWaitNanos;
+
+    /**
+     * The number of calls that waited for a permit.
+     */
+    private final LongAdder throttled = new LongAdder();
+
+    /**
+     * The number of calls rejected because no permit was available in time.
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs a RateLimitedSecretsProvider around the specified provider.
+     *
+     * @param delegate   the provider whose calls are rate limited
+     * @param properties the rate limit configuration properties
+     */
+    public RateLimitedSecretsProvider(AbstractSecretsProvider delegate, SecretsRateLimitProperties properties) {
+        super(delegate);
+        this.bucket = new TokenBucket(properties);
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        acquire();
+        return getDelegate().get(key);
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        acquire();
+        return getDelegate().get(key, type);
+    }
+
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        acquire();
+        return getDelegate().getBytes(key);
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        return acquireAsync(() -> getDelegate().getAsync(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return acquireAsync(() -> getDelegate().getAsync(key, type));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        return acquireAsync(() -> getDelegate().refreshAsync(key, previous));
+    }
+
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        acquire();
+        return getDelegate().getAll(keys);
+    }
+
+    /**
+     * Returns the number of calls that waited for a permit.
+     *
+     * @return the number of throttled calls
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Returns the number of calls rejected because no permit was available within the maximum wait.
+     *
+     * @return the number of rejected calls
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Takes a permit, sleeping until it is available.
+     *
+     * @throws RateLimitExceededException if no permit is available within the maximum wait,
+     *                                    or the thread was interrupted while waiting
+     */
+    private void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos == 0L) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException(getOrigin());
+        }
+    }
+
+    /**
+     * Takes a permit, starting the call once it is available.
+     * A rejected call returns a future failed with a {@link RateLimitExceededException}.
+     *
+     * @param call the call to the delegate
+     * @param <R>  the type of the result
+     * @return the future of the call
+     */
+    private <R> CompletableFuture<R> acquireAsync(Supplier<CompletableFuture<R>> call) {
+        long waitNanos;
+        try {
+            waitNanos = reserve();
+        } catch (RateLimitExceededException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        if (waitNanos == 0L) {
+            return call.get();
+        }
+        // the delayed task only starts the call, and a rejection by the lookup executor would be lost in the timer
+        Executor delayed = CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS);
+        return CompletableFuture.supplyAsync(call, delayed).thenCompose(started -> started);
+    }
+
+    /**
+     * Reserves a permit, counting the calls throttled and rejected.
+     *
+     * @return the duration to wait for the permit, in nanoseconds
+     * @throws RateLimitExceededException if no permit is available within the maximum wait
+     */
+    private long reserve() {
+        long waitNanos = bucket.reserve(maxWaitNanos);
+        if (waitNanos < 0L) {
+            rejected.increment();
+            throw new RateLimitExceededException(getOrigin());
+        }
+        if (waitNanos > 0L) {
+            throttled.increment();
+        }
+        return waitNanos;
+    }
+}
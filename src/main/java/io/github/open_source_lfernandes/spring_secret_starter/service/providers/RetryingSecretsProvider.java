@@ -0,0 +1,306 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsRetryProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.DecorrelatedJitterBackoff;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClientResponseException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+
+/**
+ * RetryingSecretsProvider is a decorator that retries the calls to the wrapped {@link AbstractSecretsProvider}
+ * that were throttled or failed with a server error.
+ * <br>
+ * A call is retried when the provider answered with a throttling error or a 5xx status, as reported by the
+ * AWS SDK or by the HTTP client of Vault. Any other failure, including a secret not found, is an answer of the
+ * provider and is returned right away. The delays between the attempts follow a {@link DecorrelatedJitterBackoff};
+ * blocking calls sleep through them, asynchronous calls schedule the next attempt instead.
+ */
+@Slf4j
+public class RetryingSecretsProvider extends DelegatingSecretsProvider {
+
+    /**
+     * The HTTP status of a throttled call.
+     */
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    /**
+     * The lowest HTTP status of a server error.
+     */
+    private static final int SERVER_ERROR = 500;
+
+    /**
+     * The number of attempts of a call, including the first one.
+     */
+    private final int maxAttempts;
+
+    /**
+     * The backoff computing the delays between the attempts.
+     */
+    private final DecorrelatedJitterBackoff backoff;
+
+    /**
+     * The number of attempts made after a failed one.
+     */
+    private final LongAdder retried = new LongAdder();
+
+    /**
+     * The number of attempts that failed because the provider throttled them.
+     */
+    private final LongAdder throttled = new LongAdder();
+
+    /**
+     * The number of calls that still failed after the last attempt.
+     */
+    private final LongAdder exhausted = new LongAdder();
+
+    /**
+     * Constructs a RetryingSecretsProvider around the specified provider.
+     *
+     * @param delegate   the provider whose calls are retried
+     * @param properties the retry configuration properties
+     */
+    public RetryingSecretsProvider(AbstractSecretsProvider delegate, SecretsRetryProperties properties) {
+        super(delegate);
+        this.maxAttempts = properties.getMaxAttempts();
+        this.backoff = new DecorrelatedJitterBackoff(properties);
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        return retry(() -> getDelegate().get(key));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        return retry(() -> getDelegate().get(key, type));
+    }
+
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        return retry(() -> getDelegate().getBytes(key));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        return retryAsync(() -> getDelegate().getAsync(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return retryAsync(() -> getDelegate().getAsync(key, type));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        return retryAsync(() -> getDelegate().refreshAsync(key, previous));
+    }
+
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        return retry(() -> getDelegate().getAll(keys));
+    }
+
+    /**
+     * Returns the number of attempts made after a failed one.
+     *
+     * @return the number of retries
+     */
+    public long getRetriedCount() {
+        return retried.sum();
+    }
+
+    /**
+     * Returns the number of attempts that failed because the provider throttled them.
+     *
+     * @return the number of throttled attempts
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Returns the number of calls that still failed with a retryable error after the last attempt.
+     *
+     * @return the number of exhausted calls
+     */
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    /**
+     * Runs a blocking call, sleeping between the attempts.
+     *
+     * @param call the call to the delegate
+     * @param <R>  the type of the result
+     * @param <E>  the type of the checked exception of the call
+     * @return the result of the call
+     * @throws E if the call failed with a checked exception
+     */
+    private <R, E extends Exception> R retry(Call<R, E> call) throws E {
+        long delayNanos = backoff.getBaseNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (RuntimeException exception) {
+                if (!shouldRetry(exception, attempt)) {
+                    throw exception;
+                }
+                delayNanos = backoff.next(delayNanos);
+                onRetry(exception, attempt, delayNanos);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw exception;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs an asynchronous call, scheduling each new attempt after its delay.
+     *
+     * @param call the call to the delegate
+     * @param <R>  the type of the result
+     * @return the future of the call
+     */
+    private <R> CompletableFuture<R> retryAsync(Supplier<CompletableFuture<R>> call) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        attemptAsync(call, 1, backoff.getBaseNanos(), result);
+        return result;
+    }
+
+    /**
+     * Makes an attempt of an asynchronous call, completing the result or scheduling the next attempt.
+     *
+     * @param call          the call to the delegate
+     * @param attempt       the number of the attempt, starting at 1
+     * @param previousNanos the delay before this attempt, or the base delay for the first one
+     * @param result        the future completed with the outcome of the call
+     * @param <R>           the type of the result
+     */
+    private <R> void attemptAsync(Supplier<CompletableFuture<R>> call, int attempt, long previousNanos,
+                                  CompletableFuture<R> result) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<R> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException exception) {
+            started = CompletableFuture.failedFuture(exception);
+        }
+        started.whenComplete((value, error) -> {
+            if (isNull(error)) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (!shouldRetry(cause, attempt)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            long delayNanos = backoff.next(previousNanos);
+            onRetry(cause, attempt, delayNanos);
+            // starting the next attempt never blocks, so it runs on the common pool rather than the lookup executor
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+                    .execute(() -> attemptAsync(call, attempt + 1, delayNanos, result));
+        });
+    }
+
+    /**
+     * Decides whether a failed attempt is retried, counting the throttled attempts and the exhausted calls.
+     *
+     * @param error   the failure of the attempt
+     * @param attempt the number of the attempt, starting at 1
+     * @return true if another attempt is made
+     */
+    private boolean shouldRetry(Throwable error, int attempt) {
+        if (!isRetryable(error)) {
+            return false;
+        }
+        if (isThrottling(error)) {
+            throttled.increment();
+        }
+        if (attempt >= maxAttempts) {
+            exhausted.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records and logs a retry.
+     *
+     * @param error      the failure of the attempt being retried
+     * @param attempt    the number of the failed attempt
+     * @param delayNanos the delay before the next attempt, in nanoseconds
+     */
+    private void onRetry(Throwable error, int attempt, long delayNanos) {
+        retried.increment();
+        log.debug("stage=provider-call-retried, origin={}, attempt={}, delayMs={}, error={}",
+                getOrigin(), attempt, TimeUnit.NANOSECONDS.toMillis(delayNanos), error.getMessage());
+    }
+
+    /**
+     * Checks whether a failure is a throttling error or a server error of the provider.
+     *
+     * @param error the failure to check
+     * @return true if the call may succeed when attempted again
+     */
+    static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SdkServiceException exception) {
+                return exception.isThrottlingException() || exception.statusCode() >= SERVER_ERROR;
+            }
+            if (cause instanceof RestClientResponseException exception) {
+                int status = exception.getStatusCode().value();
+                return status == TOO_MANY_REQUESTS || status >= SERVER_ERROR;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a failure is a throttling error of the provider.
+     *
+     * @param error the failure to check
+     * @return true if the provider throttled the call
+     */
+    static boolean isThrottling(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SdkServiceException exception) {
+                return exception.isThrottlingException();
+            }
+            if (cause instanceof RestClientResponseException exception) {
+                return exception.getStatusCode().value() == TOO_MANY_REQUESTS;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Call is a call to the delegate that may throw a checked exception.
+     *
+     * @param <R> the type of the result
+     * @param <E> the type of the checked exception
+     */
+    @FunctionalInterface
+    private interface Call<R, E extends Exception> {
+        R call() throws E;
+    }
+}
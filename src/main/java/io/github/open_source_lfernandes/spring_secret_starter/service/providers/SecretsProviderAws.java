@@ -1,30 +1,82 @@
 package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
 import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.LogThrottle;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors;
 import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.APIErrorType;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
 import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.secretsmanager.model.SecretValueEntry;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * SecretsProviderAws is an implementation of the SecretsProvider interface
  * that retrieves secrets from AWS Secrets Manager.
+ * <br>
+ * Every secret carries the version ID it was read with. Background refreshes first call
+ * DescribeSecret, which returns metadata only, and download the value again only when the
+ * version labelled AWSCURRENT is no longer the cached one.
  */
 @Slf4j
 public class SecretsProviderAws extends AbstractSecretsProvider {
 
+    /**
+     * The maximum number of secret identifiers accepted by a single BatchGetSecretValue call.
+     */
+    private static final int BATCH_SIZE = 20;
+
+    /**
+     * The error code returned by AWS Secrets Manager when a secret does not exist.
+     */
+    private static final String RESOURCE_NOT_FOUND = "ResourceNotFoundException";
+
+    /**
+     * The staging label of the current version of a secret.
+     */
+    private static final String CURRENT_STAGE = "AWSCURRENT";
+
+    /**
+     * Limits the log statements of secrets not found to one per second.
+     */
+    private static final LogThrottle NOT_FOUND_LOG = new LogThrottle(Duration.ofSeconds(1));
+
     /**
      * The AWS Secrets Manager client.
      */
     private final SecretsManagerClient client;
 
+    /**
+     * The non-blocking AWS Secrets Manager client, or null when asynchronous lookups run on the lookup executor.
+     */
+    private final SecretsManagerAsyncClient asyncClient;
+
     /**
      * Constructs a SecretsProviderAws with the specified order and AWS Secrets Manager client.
      *
@@ -33,8 +85,22 @@ public class SecretsProviderAws extends AbstractSecretsProvider {
      * @param client       the AWS Secrets Manager client for interacting with AWS Secrets Manager
      */
     public SecretsProviderAws(ObjectMapper objectMapper, Integer order, SecretsManagerClient client) {
+        this(objectMapper, order, client, null);
+    }
+
+    /**
+     * Constructs a SecretsProviderAws with the specified order and AWS Secrets Manager clients.
+     *
+     * @param objectMapper the ObjectMapper for JSON serialization/deserialization
+     * @param order        the order of the provider, used to determine the precedence of secret retrieval
+     * @param client       the AWS Secrets Manager client for interacting with AWS Secrets Manager
+     * @param asyncClient  the non-blocking AWS Secrets Manager client backing asynchronous lookups, may be null
+     */
+    public SecretsProviderAws(ObjectMapper objectMapper, Integer order, SecretsManagerClient client,
+                              SecretsManagerAsyncClient asyncClient) {
         super(objectMapper, order);
         this.client = client;
+        this.asyncClient = asyncClient;
     }
 
     @Override
@@ -56,6 +122,7 @@ public class SecretsProviderAws extends AbstractSecretsProvider {
                             .origin(getOrigin())
                             .key(key)
                             .value(response.secretString())
+                            .version(response.versionId())
                             .build()
             );
         } catch (ResourceNotFoundException exception) {
@@ -78,15 +145,203 @@ public class SecretsProviderAws extends AbstractSecretsProvider {
             logError(key);
             throw new SecretNotFoundException(Messages.SECRET_NOT_FOUND.getDescription());
         }
-        return convertJsonStringToTypeInstance(response.secretString(), type);
+        return convertSecretToTypeInstance(SecretDTO.builder()
+                .origin(Origin.AWS)
+                .key(key)
+                .value(response.secretString())
+                .version(response.versionId())
+                .build(), type);
+    }
+
+    /**
+     * Retrieves a secret with the non-blocking AWS Secrets Manager client when it is configured,
+     * so no thread is held while the request is in flight.
+     *
+     * @param key the key of the secret to retrieve
+     * @return a future completed with the SecretDTO if found, or empty if not found
+     */
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        if (isNull(asyncClient)) {
+            return super.getAsync(key);
+        }
+        var request = GetSecretValueRequest.builder()
+                .secretId(key)
+                .build();
+
+        return asyncClient.getSecretValue(request).handle((response, error) -> {
+            if (isNull(error)) {
+                return Optional.of(SecretDTO.builder()
+                        .origin(getOrigin())
+                        .key(key)
+                        .value(response.secretString())
+                        .version(response.versionId())
+                        .build());
+            }
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof ResourceNotFoundException) {
+                logError(key);
+                return Optional.empty();
+            }
+            throw error instanceof CompletionException completionException
+                    ? completionException : new CompletionException(cause);
+        });
+    }
+
+    /**
+     * Refreshes a cached secret, downloading its value only when the AWSCURRENT version changed.
+     * When the version cannot be described, the secret is retrieved again.
+     *
+     * @param key      the key of the secret to refresh
+     * @param previous the secret currently cached
+     * @return a future completed with the current SecretDTO, or empty if it no longer exists
+     */
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        if (isNull(previous.version())) {
+            return getAsync(key);
+        }
+        return describeCurrentVersion(key).thenCompose(currentVersion -> previous.version().equals(currentVersion)
+                ? CompletableFuture.completedFuture(Optional.of(previous))
+                : getAsync(key));
+    }
+
+    /**
+     * Describes a secret and returns the ID of its AWSCURRENT version, without downloading its value.
+     *
+     * @param key the key of the secret
+     * @return a future completed with the current version ID, or null if it could not be described
+     */
+    private CompletableFuture<String> describeCurrentVersion(String key) {
+        var request = DescribeSecretRequest.builder()
+                .secretId(key)
+                .build();
+
+        CompletableFuture<DescribeSecretResponse> response;
+        try {
+            response = nonNull(asyncClient)
+                    ? asyncClient.describeSecret(request)
+                    : SecretsExecutors.supplyAsync(() -> client.describeSecret(request),
+                            SecretsExecutors.sharedLookupExecutor());
+        } catch (RuntimeException exception) {
+            response = CompletableFuture.failedFuture(exception);
+        }
+        return response.handle((described, error) -> {
+            if (nonNull(error)) {
+                log.debug("stage=describe-secret-failed-in-aws, key={}, error={}", key, error.getMessage());
+                return null;
+            }
+            return findCurrentVersion(described);
+        });
+    }
+
+    /**
+     * Finds the ID of the version labelled AWSCURRENT.
+     *
+     * @param response the response of DescribeSecret
+     * @return the current version ID, or null if no version is labelled AWSCURRENT
+     */
+    private static String findCurrentVersion(DescribeSecretResponse response) {
+        return response.versionIdsToStages().entrySet().stream()
+                .filter(entry -> entry.getValue().contains(CURRENT_STAGE))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Retrieves several secrets using BatchGetSecretValue, in chunks of up to 20 identifiers per call.
+     * A chunk that fails as a whole reports the failure for each of its keys, unless AWS throttled the call or
+     * failed with a server error: that failure is thrown, so the call can be retried by a
+     * {@link RetryingSecretsProvider} and counted by the circuit breaker.
+     *
+     * @param keys the keys of the secrets to retrieve
+     * @return the secrets found and the error description of each key that could not be retrieved
+     */
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        List<String> secretIds = List.copyOf(new LinkedHashSet<>(keys));
+        Map<String, SecretDTO> secrets = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (List<String> chunk : Lists.partition(secretIds, BATCH_SIZE)) {
+            try {
+                fetchChunk(chunk, secrets, errors);
+            } catch (SdkException exception) {
+                if (RetryingSecretsProvider.isRetryable(exception)) {
+                    log.debug("stage=batch-get-secrets-retryable-in-aws, keys={}, error={}", chunk, exception.getMessage());
+                    throw exception;
+                }
+                log.error("stage=batch-get-secrets-failed-in-aws, keys={}, error={}", chunk, exception.getMessage());
+                chunk.forEach(key -> errors.putIfAbsent(key, exception.getMessage()));
+            }
+        }
+        secretIds.stream()
+                .filter(key -> !secrets.containsKey(key) && !errors.containsKey(key))
+                .forEach(key -> errors.put(key, Messages.SECRET_NOT_FOUND.getDescription()));
+        return new SecretBatchDTO(secrets, errors);
+    }
+
+    /**
+     * Fetches a chunk of secrets, following the pagination token until every result was read.
+     *
+     * @param chunk   the secret identifiers to fetch
+     * @param secrets the map collecting the secrets found
+     * @param errors  the map collecting the per-key errors
+     */
+    private void fetchChunk(List<String> chunk, Map<String, SecretDTO> secrets, Map<String, String> errors) {
+        String nextToken = null;
+        do {
+            var request = BatchGetSecretValueRequest.builder()
+                    .secretIdList(chunk)
+                    .nextToken(nextToken)
+                    .build();
+
+            BatchGetSecretValueResponse response = client.batchGetSecretValue(request);
+
+            for (SecretValueEntry entry : response.secretValues()) {
+                String key = resolveRequestedKey(chunk, entry);
+                secrets.put(key, SecretDTO.builder()
+                        .origin(getOrigin())
+                        .key(key)
+                        .value(entry.secretString())
+                        .version(entry.versionId())
+                        .build());
+            }
+            for (APIErrorType error : response.errors()) {
+                if (RESOURCE_NOT_FOUND.equals(error.errorCode())) {
+                    logError(error.secretId());
+                    errors.put(error.secretId(), Messages.SECRET_NOT_FOUND.getDescription());
+                } else {
+                    errors.put(error.secretId(), error.errorCode() + ": " + error.message());
+                }
+            }
+            nextToken = response.nextToken();
+        } while (nonNull(nextToken));
+    }
+
+    /**
+     * Maps a batch entry back to the identifier it was requested with, which can be either its name or its ARN.
+     *
+     * @param chunk the secret identifiers requested
+     * @param entry the secret returned by AWS Secrets Manager
+     * @return the requested key of the secret
+     */
+    private static String resolveRequestedKey(List<String> chunk, SecretValueEntry entry) {
+        if (nonNull(entry.arn()) && chunk.contains(entry.arn())) {
+            return entry.arn();
+        }
+        return entry.name();
     }
 
     /**
      * Logs an error message indicating that a secret with the specified key was not found in AWS Secrets Manager.
+     * The message is rate limited, reporting how many were suppressed since the previous one.
      *
      * @param key the key of the secret that was not found
      */
     private void logError(String key) {
-        log.error("stage=secret-not-found-in-aws, key={}", key);
+        if (NOT_FOUND_LOG.tryAcquire()) {
+            log.error("stage=secret-not-found-in-aws, key={}, suppressed={}", key, NOT_FOUND_LOG.drainSuppressed());
+        }
     }
 }
@@ -0,0 +1,20 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+/**
+ * SecretsProviderDecorator wraps each provider once the decorators enabled by the configuration
+ * properties were applied, so integrations such as metrics can observe every call made to it.
+ * <br>
+ * Decorator beans are applied in their {@link org.springframework.core.annotation.Order order},
+ * the last one being the outermost.
+ */
+@FunctionalInterface
+public interface SecretsProviderDecorator {
+
+    /**
+     * Wraps a provider.
+     *
+     * @param provider the provider, already wrapped by the decorators enabled by the configuration properties
+     * @return the decorated provider, or the provider itself
+     */
+    AbstractSecretsProvider decorate(AbstractSecretsProvider provider);
+}
@@ -6,19 +6,41 @@ import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotCastTypeException;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
 import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.LogThrottle;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.vault.core.ReactiveVaultTemplate;
 import org.springframework.vault.core.VaultTemplate;
 import org.springframework.vault.support.VaultResponse;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 
 /**
  * SecretsProviderVault is an implementation of the SecretsProvider interface
  * that retrieves secrets from HashCorp Vault.
+ * <br>
+ * Every key is served from a snapshot of the data stored under the configured path,
+ * so a single read of the KV document serves all keys. The snapshot is read again once
+ * the refresh interval has elapsed; only one caller performs the read while the others
+ * keep being served from the previous snapshot until it is atomically replaced.
+ * <br>
+ * When a ReactiveVaultTemplate is configured, asynchronous lookups read the path without
+ * blocking a thread and share the same snapshot.
+ * <br>
+ * With version check enabled on a KV v2 path, a stale snapshot is refreshed by reading the
+ * metadata of the path first; the data is read again only when its {@code current_version}
+ * differs from the version of the snapshot, otherwise the snapshot is kept for another interval.
  */
 @Slf4j
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -35,18 +57,74 @@ public class SecretsProviderVault extends AbstractSecretsProvider {
      */
     private static final String DEFAULT_KEY_RESPONSE = "data";
 
+    /**
+     * The segment of a KV v2 path reading the data of the secret.
+     */
+    private static final String DATA_SEGMENT = "/data/";
+
+    /**
+     * The segment of a KV v2 path reading the metadata of the secret.
+     */
+    private static final String METADATA_SEGMENT = "/metadata/";
+
+    /**
+     * Key of the response metadata holding the version of the data read.
+     */
+    private static final String METADATA_KEY_RESPONSE = "metadata";
+
+    /**
+     * Key of the version in the response metadata.
+     */
+    private static final String VERSION_KEY_RESPONSE = "version";
+
+    /**
+     * Key of the latest version in the response of the metadata endpoint.
+     */
+    private static final String CURRENT_VERSION_KEY_RESPONSE = "current_version";
+
+    /**
+     * Limits the log statements of paths without data to one per second.
+     */
+    private static final LogThrottle NOT_FOUND_LOG = new LogThrottle(Duration.ofSeconds(1));
+
     /**
      * The VaultTemplate for interacting with Vault.
      */
     final VaultTemplate vaultTemplate;
 
+    /**
+     * The non-blocking template backing asynchronous lookups, or null when they run on the lookup executor.
+     */
+    final ReactiveVaultTemplate reactiveVaultTemplate;
+
+    /**
+     * The interval after which the snapshot of the path is read again from Vault.
+     */
+    final Duration refreshInterval;
+
+    /**
+     * Whether a stale snapshot checks the version in the KV v2 metadata before reading the data again.
+     */
+    final boolean versionCheck;
+
+    /**
+     * The latest snapshot of the data stored under the path.
+     */
+    final AtomicReference<PathSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Whether a caller is currently refreshing the snapshot.
+     */
+    final AtomicBoolean refreshing = new AtomicBoolean();
+
     /**
      * The path in Vault where secrets are stored.
      */
-    String path;
+    volatile String path;
 
     /**
      * Constructs a SecretsProviderVault with the specified order, VaultTemplate, and path.
+     * The path is read from Vault on every lookup.
      *
      * @param objectMapper  the ObjectMapper for JSON serialization/deserialization
      * @param order         the order of the provider, used to determine the precedence of secret retrieval
@@ -54,9 +132,59 @@ public class SecretsProviderVault extends AbstractSecretsProvider {
      * @param path          the path in Vault where secrets are stored
      */
     public SecretsProviderVault(ObjectMapper objectMapper, Integer order, VaultTemplate vaultTemplate, String path) {
+        this(objectMapper, order, vaultTemplate, path, Duration.ZERO);
+    }
+
+    /**
+     * Constructs a SecretsProviderVault with the specified order, VaultTemplate, path and snapshot refresh interval.
+     *
+     * @param objectMapper    the ObjectMapper for JSON serialization/deserialization
+     * @param order           the order of the provider, used to determine the precedence of secret retrieval
+     * @param vaultTemplate   the VaultTemplate for interacting with Vault
+     * @param path            the path in Vault where secrets are stored
+     * @param refreshInterval the interval after which the snapshot of the path is refreshed, zero to disable it
+     */
+    public SecretsProviderVault(ObjectMapper objectMapper, Integer order, VaultTemplate vaultTemplate, String path,
+                                Duration refreshInterval) {
+        this(objectMapper, order, vaultTemplate, null, path, refreshInterval);
+    }
+
+    /**
+     * Constructs a SecretsProviderVault with the specified order, templates, path and snapshot refresh interval.
+     *
+     * @param objectMapper          the ObjectMapper for JSON serialization/deserialization
+     * @param order                 the order of the provider, used to determine the precedence of secret retrieval
+     * @param vaultTemplate         the VaultTemplate for interacting with Vault
+     * @param reactiveVaultTemplate the non-blocking template backing asynchronous lookups, may be null
+     * @param path                  the path in Vault where secrets are stored
+     * @param refreshInterval       the interval after which the snapshot of the path is refreshed, zero to disable it
+     */
+    public SecretsProviderVault(ObjectMapper objectMapper, Integer order, VaultTemplate vaultTemplate,
+                                ReactiveVaultTemplate reactiveVaultTemplate, String path, Duration refreshInterval) {
+        this(objectMapper, order, vaultTemplate, reactiveVaultTemplate, path, refreshInterval, false);
+    }
+
+    /**
+     * Constructs a SecretsProviderVault with the specified order, templates, path, snapshot refresh interval
+     * and version check.
+     *
+     * @param objectMapper          the ObjectMapper for JSON serialization/deserialization
+     * @param order                 the order of the provider, used to determine the precedence of secret retrieval
+     * @param vaultTemplate         the VaultTemplate for interacting with Vault
+     * @param reactiveVaultTemplate the non-blocking template backing asynchronous lookups, may be null
+     * @param path                  the path in Vault where secrets are stored
+     * @param refreshInterval       the interval after which the snapshot of the path is refreshed, zero to disable it
+     * @param versionCheck          whether a stale snapshot reads the data again only when its KV v2 version changed
+     */
+    public SecretsProviderVault(ObjectMapper objectMapper, Integer order, VaultTemplate vaultTemplate,
+                                ReactiveVaultTemplate reactiveVaultTemplate, String path, Duration refreshInterval,
+                                boolean versionCheck) {
         super(objectMapper, order);
         this.vaultTemplate = vaultTemplate;
+        this.reactiveVaultTemplate = reactiveVaultTemplate;
         this.path = path;
+        this.refreshInterval = refreshInterval;
+        this.versionCheck = versionCheck;
     }
 
     @Override
@@ -66,24 +194,27 @@ public class SecretsProviderVault extends AbstractSecretsProvider {
 
     @Override
     public Optional<SecretDTO> get(String key) {
-        final VaultResponse response = vaultTemplate.read(path);
-        Map<String, Object> mapDataKeySecret = readMapDataKeySecret(response);
+        return findSecret(readPathData(), key);
+    }
 
-        if (mapDataKeySecret.containsKey(key)) {
-            return Optional.of(
-                    SecretDTO.builder()
-                            .key(key)
-                            .value(mapDataKeySecret.get(key).toString())
-                            .build()
-            );
+    /**
+     * Retrieves a secret with the ReactiveVaultTemplate when it is configured, so no thread
+     * is held while the path is read. A fresh snapshot is served without reading Vault.
+     *
+     * @param key the key of the secret to retrieve
+     * @return a future completed with the SecretDTO if found, or empty if not found
+     */
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        if (isNull(reactiveVaultTemplate)) {
+            return super.getAsync(key);
         }
-        return Optional.empty();
+        return readPathDataAsync().thenApply(data -> findSecret(data, key));
     }
 
     @Override
     public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
-        final VaultResponse response = vaultTemplate.read(path);
-        Map<String, Object> mapDataKeySecret = readMapDataKeySecret(response);
+        Map<String, Object> mapDataKeySecret = readPathData();
         if (mapDataKeySecret.containsKey(key)) {
             String value = mapDataKeySecret.get(key).toString();
             try {
@@ -96,6 +227,230 @@ public class SecretsProviderVault extends AbstractSecretsProvider {
         throw new SecretNotFoundException(Messages.SECRET_NOT_FOUND.getDescription());
     }
 
+    /**
+     * Forces the snapshot of the path to be read again from Vault on the next lookup.
+     */
+    public void refresh() {
+        snapshot.set(null);
+    }
+
+    /**
+     * Returns the data stored under the current path, served from the snapshot when it is still fresh.
+     * When the snapshot is stale, only the caller that wins the refresh reads Vault again;
+     * concurrent callers are served from the previous snapshot meanwhile.
+     *
+     * @return a map containing the secret data
+     */
+    private Map<String, Object> readPathData() {
+        final String currentPath = path;
+        if (refreshInterval.isZero() || refreshInterval.isNegative()) {
+            return readMapDataKeySecret(vaultTemplate.read(currentPath));
+        }
+        PathSnapshot current = snapshot.get();
+        if (isNull(current) || !current.path().equals(currentPath)) {
+            return load(currentPath).data();
+        }
+        if (current.isStale(refreshInterval) && refreshing.compareAndSet(false, true)) {
+            try {
+                return reload(current).data();
+            } catch (RuntimeException exception) {
+                log.warn("stage=vault-snapshot-refresh-failed, path={}, error={}", currentPath, exception.getMessage());
+                return current.data();
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return current.data();
+    }
+
+    /**
+     * Returns the data stored under the current path without blocking, following the same
+     * snapshot rules as {@link #readPathData()}.
+     *
+     * @return a future completed with a map containing the secret data
+     */
+    private CompletableFuture<Map<String, Object>> readPathDataAsync() {
+        final String currentPath = path;
+        if (refreshInterval.isZero() || refreshInterval.isNegative()) {
+            return reactiveVaultTemplate.read(currentPath).toFuture().thenApply(this::readMapDataKeySecret);
+        }
+        PathSnapshot current = snapshot.get();
+        if (isNull(current) || !current.path().equals(currentPath)) {
+            return loadAsync(currentPath).thenApply(PathSnapshot::data);
+        }
+        if (current.isStale(refreshInterval) && refreshing.compareAndSet(false, true)) {
+            return reloadAsync(current)
+                    .handle((loaded, error) -> {
+                        refreshing.set(false);
+                        if (isNull(error)) {
+                            return loaded.data();
+                        }
+                        log.warn("stage=vault-snapshot-refresh-failed, path={}, error={}", currentPath, error.getMessage());
+                        return current.data();
+                    });
+        }
+        return CompletableFuture.completedFuture(current.data());
+    }
+
+    /**
+     * Refreshes a stale snapshot. When the version check applies, the snapshot is renewed without
+     * reading the data if the current version in the metadata of the path is the version of the snapshot.
+     *
+     * @param current the stale snapshot
+     * @return the refreshed snapshot
+     */
+    private PathSnapshot reload(PathSnapshot current) {
+        String metadataPath = metadataPathOf(current);
+        if (isNull(metadataPath)) {
+            return load(current.path());
+        }
+        Long latest;
+        try {
+            latest = readCurrentVersion(vaultTemplate.read(metadataPath));
+        } catch (RuntimeException exception) {
+            log.debug("stage=vault-metadata-read-failed, path={}, error={}", metadataPath, exception.getMessage());
+            latest = null;
+        }
+        return current.version().equals(latest) ? renew(current) : load(current.path());
+    }
+
+    /**
+     * Refreshes a stale snapshot without blocking, following the same rules as {@link #reload(PathSnapshot)}.
+     *
+     * @param current the stale snapshot
+     * @return a future completed with the refreshed snapshot
+     */
+    private CompletableFuture<PathSnapshot> reloadAsync(PathSnapshot current) {
+        String metadataPath = metadataPathOf(current);
+        if (isNull(metadataPath)) {
+            return loadAsync(current.path());
+        }
+        return reactiveVaultTemplate.read(metadataPath).toFuture()
+                .handle((response, error) -> {
+                    if (nonNull(error)) {
+                        log.debug("stage=vault-metadata-read-failed, path={}, error={}", metadataPath, error.getMessage());
+                        return null;
+                    }
+                    return readCurrentVersion(response);
+                })
+                .thenCompose(latest -> current.version().equals(latest)
+                        ? CompletableFuture.completedFuture(renew(current))
+                        : loadAsync(current.path()));
+    }
+
+    /**
+     * Returns the metadata path to check before refreshing a snapshot, or null when the data must be read directly:
+     * the version check is disabled, the path is not a KV v2 data path or the snapshot has no version.
+     *
+     * @param current the stale snapshot
+     * @return the metadata path of the snapshot, or null
+     */
+    private String metadataPathOf(PathSnapshot current) {
+        if (!versionCheck || isNull(current.version())) {
+            return null;
+        }
+        int index = current.path().indexOf(DATA_SEGMENT);
+        if (index < 0) {
+            return null;
+        }
+        return current.path().substring(0, index) + METADATA_SEGMENT + current.path().substring(index + DATA_SEGMENT.length());
+    }
+
+    /**
+     * Keeps the data of a snapshot whose version did not change for another refresh interval.
+     *
+     * @param current the stale snapshot
+     * @return the renewed snapshot
+     */
+    private PathSnapshot renew(PathSnapshot current) {
+        PathSnapshot renewed = new PathSnapshot(current.path(), current.data(), current.version(), System.nanoTime());
+        snapshot.set(renewed);
+        return renewed;
+    }
+
+    /**
+     * Reads the path from Vault without blocking and replaces the snapshot with its data.
+     *
+     * @param currentPath the path to read
+     * @return a future completed with the new snapshot
+     */
+    private CompletableFuture<PathSnapshot> loadAsync(String currentPath) {
+        return reactiveVaultTemplate.read(currentPath).toFuture()
+                .thenApply(response -> store(currentPath, response));
+    }
+
+    /**
+     * Looks up a key in the data stored under the path.
+     *
+     * @param data the secret data stored under the path
+     * @param key  the key of the secret to retrieve
+     * @return an Optional containing the SecretDTO if found, or empty if not found
+     */
+    private static Optional<SecretDTO> findSecret(Map<String, Object> data, String key) {
+        if (data.containsKey(key)) {
+            return Optional.of(
+                    SecretDTO.builder()
+                            .origin(Origin.VAULT)
+                            .key(key)
+                            .value(data.get(key).toString())
+                            .build()
+            );
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads the path from Vault and replaces the snapshot with its data.
+     *
+     * @param currentPath the path to read
+     * @return the new snapshot
+     */
+    private PathSnapshot load(String currentPath) {
+        return store(currentPath, vaultTemplate.read(currentPath));
+    }
+
+    /**
+     * Replaces the snapshot with the data and version of a response read from a path.
+     *
+     * @param currentPath the path read
+     * @param response    the Vault response containing the secret data
+     * @return the new snapshot
+     */
+    private PathSnapshot store(String currentPath, VaultResponse response) {
+        Map<String, Object> data = readMapDataKeySecret(response);
+        PathSnapshot loaded = new PathSnapshot(currentPath, Collections.unmodifiableMap(data), readVersion(response),
+                System.nanoTime());
+        snapshot.set(loaded);
+        return loaded;
+    }
+
+    /**
+     * Reads the KV v2 version of the data from a response of the data endpoint.
+     *
+     * @param response the Vault response containing the secret data
+     * @return the version of the data, or null if the response has none
+     */
+    private static Long readVersion(VaultResponse response) {
+        if (isNull(response) || isNull(response.getData())
+                || !(response.getData().get(METADATA_KEY_RESPONSE) instanceof Map<?, ?> metadata)) {
+            return null;
+        }
+        return metadata.get(VERSION_KEY_RESPONSE) instanceof Number version ? version.longValue() : null;
+    }
+
+    /**
+     * Reads the latest KV v2 version from a response of the metadata endpoint.
+     *
+     * @param response the Vault response containing the metadata of the path
+     * @return the current version, or null if the response has none
+     */
+    private static Long readCurrentVersion(VaultResponse response) {
+        if (isNull(response) || isNull(response.getData())) {
+            return null;
+        }
+        return response.getData().get(CURRENT_VERSION_KEY_RESPONSE) instanceof Number version ? version.longValue() : null;
+    }
+
     /**
      * Reads the map data from the Vault response.
      *
@@ -107,14 +462,18 @@ public class SecretsProviderVault extends AbstractSecretsProvider {
             logError();
             return Map.of();
         }
-        return (Map<String, Object>) response.getData().get(DEFAULT_KEY_RESPONSE);
+        Map<String, Object> data = (Map<String, Object>) response.getData().get(DEFAULT_KEY_RESPONSE);
+        return isNull(data) ? Map.of() : data;
     }
 
     /**
      * Logs an error message indicating that the secret was not found in Vault.
+     * The message is rate limited, reporting how many were suppressed since the previous one.
      */
     void logError() {
-        log.error("stage=secret-not-found-in-vault, path={}", path);
+        if (NOT_FOUND_LOG.tryAcquire()) {
+            log.error("stage=secret-not-found-in-vault, path={}, suppressed={}", path, NOT_FOUND_LOG.drainSuppressed());
+        }
     }
 
     /**
@@ -126,4 +485,25 @@ public class SecretsProviderVault extends AbstractSecretsProvider {
         this.path = DEFAULT_PREFIX_PATH.concat(path);
     }
 
+    /**
+     * PathSnapshot holds the data read from a path, its version and the moment it was read.
+     *
+     * @param path     the path the data was read from
+     * @param data     the secret data stored under the path
+     * @param version  the KV v2 version of the data, or null if the path is not versioned
+     * @param loadedAt the {@link System#nanoTime()} at which the data was read or last found current
+     */
+    record PathSnapshot(String path, Map<String, Object> data, Long version, long loadedAt) {
+
+        /**
+         * Checks whether the snapshot is older than the specified interval.
+         *
+         * @param interval the refresh interval
+         * @return true if the snapshot must be refreshed
+         */
+        boolean isStale(Duration interval) {
+            return System.nanoTime() - loadedAt >= interval.toNanos();
+        }
+    }
+
 }
@@ -0,0 +1,155 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * SingleFlightSecretsProvider is a decorator that coalesces concurrent lookups of the same key
+ * into a single call to the wrapped {@link AbstractSecretsProvider}.
+ * <br>
+ * The first caller of a key performs the lookup while every caller arriving before it completes
+ * waits for and shares its result, including its failure. As each provider is decorated on its own,
+ * lookups are coalesced per origin and key. Once the lookup completes, the next caller starts a new one.
+ */
+public class SingleFlightSecretsProvider extends DelegatingSecretsProvider {
+
+    /**
+     * The lookups currently in flight, indexed by key.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Optional<SecretDTO>>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * The number of lookups forwarded to the delegate.
+     */
+    private final LongAdder delegated = new LongAdder();
+
+    /**
+     * The number of lookups served by a lookup already in flight.
+     */
+    private final LongAdder deduplicated = new LongAdder();
+
+    /**
+     * Constructs a SingleFlightSecretsProvider around the specified provider.
+     *
+     * @param delegate the provider whose lookups are coalesced
+     */
+    public SingleFlightSecretsProvider(AbstractSecretsProvider delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        CompletableFuture<Optional<SecretDTO>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<SecretDTO>> existing = inFlight.putIfAbsent(key, flight);
+        if (nonNull(existing)) {
+            deduplicated.increment();
+            return await(existing);
+        }
+        delegated.increment();
+        try {
+            Optional<SecretDTO> secret = getDelegate().get(key);
+            flight.complete(secret);
+            return secret;
+        } catch (RuntimeException exception) {
+            flight.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        Optional<SecretDTO> secret = get(key);
+        if (secret.isPresent()) {
+            return convertSecretToTypeInstance(secret.get(), type);
+        }
+        // providers are free to resolve typed secrets differently, so fall back to the delegate
+        return getDelegate().get(key, type);
+    }
+
+    /**
+     * Copies the value of the secret shared by the concurrent lookups of the key, as the bytes owned by each
+     * caller cannot be shared.
+     *
+     * @param key the key of the secret to retrieve
+     * @return an Optional containing the bytes of the secret value if found, or empty if not found
+     */
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        return get(key).map(secret -> SecretBytes.of(secret.value()));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        CompletableFuture<Optional<SecretDTO>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<SecretDTO>> existing = inFlight.putIfAbsent(key, flight);
+        if (nonNull(existing)) {
+            deduplicated.increment();
+            // a copy, so a caller cancelling its future does not cancel the lookup shared with the others
+            return existing.copy();
+        }
+        delegated.increment();
+        CompletableFuture<Optional<SecretDTO>> lookup;
+        try {
+            lookup = getDelegate().getAsync(key);
+        } catch (RuntimeException exception) {
+            lookup = CompletableFuture.failedFuture(exception);
+        }
+        lookup.whenComplete((secret, error) -> {
+            inFlight.remove(key, flight);
+            if (isNull(error)) {
+                flight.complete(secret);
+            } else {
+                flight.completeExceptionally(error);
+            }
+        });
+        return flight.copy();
+    }
+
+    /**
+     * Returns the number of lookups forwarded to the delegate.
+     *
+     * @return the number of delegated lookups
+     */
+    public long getDelegatedCount() {
+        return delegated.sum();
+    }
+
+    /**
+     * Returns the number of lookups served by a lookup already in flight instead of calling the delegate.
+     *
+     * @return the number of deduplicated lookups
+     */
+    public long getDeduplicatedCount() {
+        return deduplicated.sum();
+    }
+
+    /**
+     * Waits for a lookup started by another caller, rethrowing its failure unwrapped.
+     *
+     * @param flight the lookup in flight
+     * @return the result of the lookup
+     */
+    private static Optional<SecretDTO> await(CompletableFuture<Optional<SecretDTO>> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.LogThrottle;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretSnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
+
+/**
+ * SnapshotSecretsProvider is a decorator that records the secrets resolved by the wrapped
+ * {@link AbstractSecretsProvider} in a {@link SecretSnapshot} and serves them from it when the provider fails.
+ * <br>
+ * Secrets are recorded under the origin of the provider, whichever origin the provider set in them, so they
+ * are found again by the lookups of the provider. Typed lookups resolve the secret first and decode it, so
+ * they are recorded and served from the snapshot as well.
+ * <br>
+ * A secret the provider no longer holds is removed from the snapshot, while a failed call, a rejection
+ * of the circuit breaker or a throttled call is answered with the last known good secret, if any.
+ * When warm start is enabled, the first lookup of each key held by the snapshot is answered from it right away
+ * while the provider is called in the background to update the snapshot.
+ */
+@Slf4j
+public class SnapshotSecretsProvider extends DelegatingSecretsProvider {
+
+    /**
+     * Limits the log statements of secrets served from the snapshot to one per interval.
+     */
+    private static final LogThrottle FALLBACK_LOG = new LogThrottle(Duration.ofSeconds(10));
+
+    /**
+     * The snapshot the secrets are recorded in.
+     */
+    private final SecretSnapshot snapshot;
+
+    /**
+     * Whether the first lookup of each key is served from the snapshot.
+     */
+    private final boolean warmStart;
+
+    /**
+     * The keys whose first lookup was already made.
+     */
+    private final Set<String> started = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The number of lookups served from the snapshot because the provider failed.
+     */
+    private final LongAdder fallbacks = new LongAdder();
+
+    /**
+     * Constructs a SnapshotSecretsProvider around the specified provider.
+     *
+     * @param delegate  the provider whose secrets are recorded
+     * @param snapshot  the snapshot the secrets are recorded in
+     * @param warmStart whether the first lookup of each key is served from the snapshot
+     */
+    public SnapshotSecretsProvider(AbstractSecretsProvider delegate, SecretSnapshot snapshot, boolean warmStart) {
+        super(delegate);
+        this.snapshot = snapshot;
+        this.warmStart = warmStart;
+    }
+
+    @Override
+    public Optional<SecretDTO> get(String key) {
+        Optional<SecretDTO> warm = warmStart(key);
+        if (warm.isPresent()) {
+            return warm;
+        }
+        try {
+            return record(key, getDelegate().get(key));
+        } catch (RuntimeException exception) {
+            Optional<SecretDTO> secret = fallback(key, exception);
+            if (secret.isEmpty()) {
+                throw exception;
+            }
+            return secret;
+        }
+    }
+
+    /**
+     * Copies the value of the secret resolved by {@link #get(String)}, so the bytes are recorded in the snapshot
+     * and served from it like any other lookup.
+     *
+     * @param key the key of the secret to retrieve
+     * @return an Optional containing the bytes of the secret value if found, or empty if not found
+     */
+    @Override
+    public Optional<SecretBytes> getBytes(String key) {
+        return get(key).map(secret -> SecretBytes.of(secret.value()));
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+        Optional<SecretDTO> secret = get(key);
+        if (secret.isPresent()) {
+            return convertSecretToTypeInstance(secret.get(), type);
+        }
+        // providers are free to resolve typed secrets differently, so fall back to the delegate
+        return getDelegate().get(key, type);
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+        Optional<SecretDTO> warm = warmStart(key);
+        if (warm.isPresent()) {
+            return CompletableFuture.completedFuture(warm);
+        }
+        CompletableFuture<Optional<SecretDTO>> lookup;
+        try {
+            lookup = getDelegate().getAsync(key);
+        } catch (RuntimeException exception) {
+            lookup = CompletableFuture.failedFuture(exception);
+        }
+        return lookup.handle((secret, error) -> {
+            if (isNull(error)) {
+                return record(key, secret);
+            }
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            Optional<SecretDTO> fallback = fallback(key, cause);
+            if (fallback.isEmpty()) {
+                throw new CompletionException(cause);
+            }
+            return fallback;
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String key, Class<T> type) {
+        return getAsync(key).thenApply(secret -> secret
+                .map(found -> convertSecretToTypeInstance(found, type))
+                .orElseThrow(() -> new CompletionException(new SecretNotFoundException(key))));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+        // a failed refresh keeps the cached secret, so the snapshot is only updated
+        return getDelegate().refreshAsync(key, previous).thenApply(secret -> record(key, secret));
+    }
+
+    @Override
+    public SecretBatchDTO getAll(Collection<String> keys) {
+        SecretBatchDTO batch;
+        try {
+            batch = getDelegate().getAll(keys);
+        } catch (RuntimeException exception) {
+            Map<String, String> errors = new LinkedHashMap<>();
+            keys.forEach(key -> errors.put(key, exception.getMessage()));
+            batch = new SecretBatchDTO(Map.of(), errors);
+        }
+        Map<String, SecretDTO> secrets = new LinkedHashMap<>(batch.secrets());
+        Map<String, String> errors = new LinkedHashMap<>();
+        secrets.forEach((key, secret) -> snapshot.put(stamped(key, secret)));
+        batch.errors().forEach((key, error) -> {
+            if (Messages.SECRET_NOT_FOUND.getDescription().equals(error)) {
+                snapshot.remove(getOrigin(), key);
+                errors.put(key, error);
+                return;
+            }
+            snapshot.get(getOrigin(), key).ifPresentOrElse(secret -> {
+                fallbacks.increment();
+                secrets.put(key, secret);
+            }, () -> errors.put(key, error));
+        });
+        return new SecretBatchDTO(secrets, errors);
+    }
+
+    /**
+     * Returns the number of lookups served from the snapshot because the provider failed.
+     *
+     * @return the number of fallbacks
+     */
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * Serves the first lookup of a key from the snapshot when warm start is enabled,
+     * calling the provider in the background to update the snapshot.
+     *
+     * @param key the key of the secret
+     * @return the secret of the snapshot, or empty if the lookup must call the provider
+     */
+    private Optional<SecretDTO> warmStart(String key) {
+        if (!warmStart || !started.add(key)) {
+            return Optional.empty();
+        }
+        Optional<SecretDTO> secret = snapshot.get(getOrigin(), key);
+        if (secret.isPresent()) {
+            getDelegate().getAsync(key).whenComplete((current, error) -> {
+                if (isNull(error)) {
+                    record(key, current);
+                } else {
+                    log.debug("stage=snapshot-warm-start-refresh-failed, origin={}, key={}, error={}",
+                            getOrigin(), key, error.getMessage());
+                }
+            });
+        }
+        return secret;
+    }
+
+    /**
+     * Records the answer of the provider in the snapshot.
+     *
+     * @param key    the key of the secret
+     * @param secret the secret found, or empty if the provider does not hold it
+     * @return the secret
+     */
+    private Optional<SecretDTO> record(String key, Optional<SecretDTO> secret) {
+        secret.ifPresentOrElse(found -> snapshot.put(stamped(key, found)), () -> snapshot.remove(getOrigin(), key));
+        return secret;
+    }
+
+    /**
+     * Returns the secret to record, with the origin of the provider and the key it was looked up with.
+     *
+     * @param key    the key of the secret
+     * @param secret the secret resolved by the provider
+     * @return the secret to record
+     */
+    private SecretDTO stamped(String key, SecretDTO secret) {
+        if (getOrigin() == secret.origin() && key.equals(secret.key())) {
+            return secret;
+        }
+        return new SecretDTO(getOrigin(), key, secret.value(), secret.version());
+    }
+
+    /**
+     * Returns the secret of the snapshot after a failed call to the provider.
+     *
+     * @param key   the key of the secret
+     * @param error the failure of the call
+     * @return the last known good secret, or empty if the snapshot does not hold it
+     */
+    private Optional<SecretDTO> fallback(String key, Throwable error) {
+        Optional<SecretDTO> secret = snapshot.get(getOrigin(), key);
+        if (secret.isPresent()) {
+            fallbacks.increment();
+            if (FALLBACK_LOG.tryAcquire()) {
+                log.warn("stage=snapshot-secret-served, origin={}, key={}, error={}, suppressed={}",
+                        getOrigin(), key, error.getMessage(), FALLBACK_LOG.drainSuppressed());
+            }
+        }
+        return secret;
+    }
+}
@@ -0,0 +1,263 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import io.github.open_source_lfernandes.spring_secret_starter.enums.CircuitState;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsCircuitBreakerProperties;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CircuitBreaker tracks the outcomes of the most recent calls to a provider and decides whether
+ * the next call may reach it.
+ * <br>
+ * While CLOSED, every call is let through. Once the window holds at least the minimum number of calls
+ * and the percentage of failed or slow ones reaches the threshold, the breaker opens and rejects
+ * every call. After the open duration, a single probe is let through: its success closes the breaker
+ * with an empty window, its failure opens it again. A probe that never reports its outcome is replaced
+ * by another one after a further open duration.
+ * <br>
+ * Each call let through holds a permit, the generation of the breaker when it was acquired. The generation
+ * changes whenever the breaker opens, probes or closes, so only the outcome of the current probe decides a
+ * HALF_OPEN breaker, and the outcomes of calls that started before the last transition are ignored.
+ * <pre>
+ * long permit = breaker.tryAcquire();
+ * if (permit == CircuitBreaker.REJECTED) {
+ *     throw new ProviderUnavailableException(origin);
+ * }
+ * long start = System.nanoTime();
+ * try {
+ *     result = call();
+ *     breaker.onSuccess(permit, System.nanoTime() - start);
+ * } catch (RuntimeException exception) {
+ *     breaker.onFailure(permit);
+ *     throw exception;
+ * }
+ * </pre>
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CircuitBreaker {
+
+    /**
+     * The permit returned for a call rejected by the breaker.
+     */
+    public static final long REJECTED = -1L;
+
+    /**
+     * The minimum number of calls recorded before the failure rate is evaluated.
+     */
+    int minimumCalls;
+    /**
+     * The percentage of failed or slow calls opening the breaker.
+     */
+    int failureRateThreshold;
+    /**
+     * The duration above which a successful call is counted as a failure, in nanoseconds.
+     */
+    long slowCallNanos;
+    /**
+     * The duration the breaker stays open before a probe is let through, in nanoseconds.
+     */
+    long openNanos;
+    /**
+     * The outcomes of the most recent calls, true for a failed or slow call, written as a ring.
+     */
+    boolean[] outcomes;
+    /**
+     * The number of calls rejected while the breaker was open or probing.
+     */
+    LongAdder rejected = new LongAdder();
+    /**
+     * The number of times the breaker opened.
+     */
+    LongAdder opened = new LongAdder();
+
+    /**
+     * The current state of the breaker.
+     */
+    @NonFinal
+    volatile CircuitState state = CircuitState.CLOSED;
+    /**
+     * The {@link System#nanoTime()} from which a probe is let through, while OPEN or HALF_OPEN.
+     */
+    @NonFinal
+    long probeAllowedAt;
+    /**
+     * The generation of the breaker, changed on every transition, whose calls have their outcome recorded.
+     */
+    @NonFinal
+    volatile long generation;
+    /**
+     * The index of the next outcome written in the ring.
+     */
+    @NonFinal
+    int next;
+    /**
+     * The number of outcomes recorded in the ring.
+     */
+    @NonFinal
+    int recorded;
+    /**
+     * The number of failed or slow calls recorded in the ring.
+     */
+    @NonFinal
+    int failures;
+
+    /**
+     * Constructs a CircuitBreaker with the specified configuration properties.
+     *
+     * @param properties the circuit breaker configuration properties
+     */
+    public CircuitBreaker(SecretsCircuitBreakerProperties properties) {
+        this.minimumCalls = properties.getMinimumCalls();
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.slowCallNanos = properties.getSlowCallDuration().toNanos();
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.outcomes = new boolean[properties.getWindowSize()];
+    }
+
+    /**
+     * Checks whether a call may reach the provider, counting it as rejected otherwise.
+     * Once the open duration elapsed, the first caller is let through as the probe.
+     *
+     * @return the permit of the call, to report its outcome with, or {@link #REJECTED} if the call may not proceed
+     */
+    public long tryAcquire() {
+        if (state == CircuitState.CLOSED) {
+            // a permit read while the breaker opens belongs to the OPEN generation and is ignored
+            return generation;
+        }
+        synchronized (this) {
+            if (state == CircuitState.CLOSED) {
+                return generation;
+            }
+            long now = System.nanoTime();
+            if (now - probeAllowedAt >= 0) {
+                state = CircuitState.HALF_OPEN;
+                probeAllowedAt = now + openNanos;
+                return ++generation;
+            }
+        }
+        rejected.increment();
+        return REJECTED;
+    }
+
+    /**
+     * Records a call that completed, counting it as a failure when it was slower than the slow call duration.
+     *
+     * @param permit       the permit of the call
+     * @param elapsedNanos the duration of the call, in nanoseconds
+     */
+    public void onSuccess(long permit, long elapsedNanos) {
+        record(permit, elapsedNanos > slowCallNanos);
+    }
+
+    /**
+     * Records a call that failed.
+     *
+     * @param permit the permit of the call
+     */
+    public void onFailure(long permit) {
+        record(permit, true);
+    }
+
+    /**
+     * Releases the permit of a call whose outcome says nothing about the provider, such as a call rejected
+     * by the local rate limiter before reaching it. The call is not recorded; if it was the current probe,
+     * the next call is let through as the probe.
+     *
+     * @param permit the permit of the call
+     */
+    public synchronized void release(long permit) {
+        if (permit == generation && state == CircuitState.HALF_OPEN) {
+            probeAllowedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns the current state of the breaker.
+     *
+     * @return the current state
+     */
+    public CircuitState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the number of calls rejected without reaching the provider.
+     *
+     * @return the number of rejected calls
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of times the breaker opened.
+     *
+     * @return the number of openings
+     */
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+
+    /**
+     * Records the outcome of a call. The outcome of the current probe closes or opens the breaker;
+     * outcomes of calls acquired in another generation, such as calls that started before the breaker
+     * opened or a probe already replaced, are ignored.
+     *
+     * @param permit the permit of the call
+     * @param failed whether the call failed or was slow
+     */
+    private synchronized void record(long permit, boolean failed) {
+        if (permit != generation || state == CircuitState.OPEN) {
+            return;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            if (failed) {
+                open();
+            } else {
+                state = CircuitState.CLOSED;
+                generation++;
+                reset();
+            }
+            return;
+        }
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+        if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+            open();
+        }
+    }
+
+    /**
+     * Opens the breaker until the open duration elapsed.
+     */
+    private void open() {
+        state = CircuitState.OPEN;
+        generation++;
+        probeAllowedAt = System.nanoTime() + openNanos;
+        opened.increment();
+        reset();
+    }
+
+    /**
+     * Clears the recorded outcomes.
+     */
+    private void reset() {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
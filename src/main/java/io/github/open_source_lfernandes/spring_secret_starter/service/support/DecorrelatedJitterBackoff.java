@@ -0,0 +1,67 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsRetryProperties;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DecorrelatedJitterBackoff computes the delays between the attempts of a retried call.
+ * <br>
+ * Each delay is drawn at random between the base delay and three times the previous one,
+ * capped by the maximum delay. The delays grow about exponentially, while the randomness keeps
+ * the clients throttled at the same time from retrying in lockstep.
+ * <pre>
+ * long delay = backoff.getBaseNanos();
+ * while (shouldRetry) {
+ *     delay = backoff.next(delay);
+ *     TimeUnit.NANOSECONDS.sleep(delay);
+ * }
+ * </pre>
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DecorrelatedJitterBackoff {
+
+    /**
+     * The minimum delay, in nanoseconds.
+     */
+    long baseNanos;
+    /**
+     * The maximum delay, in nanoseconds.
+     */
+    long maxNanos;
+
+    /**
+     * Constructs a DecorrelatedJitterBackoff from the retry configuration properties.
+     *
+     * @param properties the retry configuration properties
+     */
+    public DecorrelatedJitterBackoff(SecretsRetryProperties properties) {
+        this.baseNanos = properties.getBaseDelay().toNanos();
+        this.maxNanos = Math.max(baseNanos, properties.getMaxDelay().toNanos());
+    }
+
+    /**
+     * Returns the minimum delay, to be passed as the previous delay before the first retry.
+     *
+     * @return the minimum delay, in nanoseconds
+     */
+    public long getBaseNanos() {
+        return baseNanos;
+    }
+
+    /**
+     * Computes the delay before the next attempt.
+     *
+     * @param previousNanos the previous delay, or the base delay before the first retry, in nanoseconds
+     * @return the delay before the next attempt, in nanoseconds
+     */
+    public long next(long previousNanos) {
+        long upper = Math.min(maxNanos, Math.max(baseNanos, previousNanos) * 3);
+        if (upper <= baseNanos) {
+            return baseNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(baseNanos, upper + 1);
+    }
+}
@@ -0,0 +1,203 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * HedgedLookup queries a list of candidates with overlapping requests and returns the first result found.
+ * <br>
+ * The first candidate is queried right away. Each following candidate is queried once the hedge delay
+ * multiplied by its position has elapsed, or as soon as the previous candidate misses or fails, whichever
+ * comes first. Higher-priority candidates therefore always start first, and a lower-priority candidate
+ * only competes once the higher-priority ones are slow or missed.
+ * <br>
+ * The highest-priority result wins: the result of a candidate is only returned once every higher-priority
+ * candidate missed or failed, so a fast lower-priority candidate never overrides a slower one that finds the
+ * secret in time. When the deadline expires, the highest-priority result found so far is returned. Once the
+ * lookup is decided, the threads running the remaining lookups are interrupted and the ones not yet started are
+ * never started; a provider call only stops early if its client honours interrupts.
+ * <br>
+ * Every lookup, including the first, runs on the executor, so the caller never runs a provider call itself and
+ * the deadline is counted from the start of the lookup. A lookup rejected by a saturated executor counts as a miss.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class HedgedLookup {
+
+    /**
+     * The executor running the lookups.
+     */
+    Executor executor;
+
+    /**
+     * The delay after which the next candidate is queried while the previous ones are still running.
+     */
+    Duration hedgeDelay;
+
+    /**
+     * The deadline of the whole lookup.
+     */
+    Duration deadline;
+
+    /**
+     * Queries the candidates with overlapping requests and returns the result of the highest-priority candidate
+     * finding one.
+     *
+     * @param candidates the candidates, in priority order
+     * @param lookup     the lookup to perform on each candidate; failures are treated as misses
+     * @param <P>        the type of the candidates
+     * @param <R>        the type of the result
+     * @return the highest-priority result found, or empty if no candidate found one before the deadline
+     */
+    public <P, R> Optional<R> firstSuccess(List<P> candidates, Function<P, Optional<R>> lookup) {
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        var attempt = new Attempt<>(candidates, lookup);
+        long deadlineAt = System.nanoTime() + deadline.toNanos();
+        try {
+            attempt.start(0);
+            for (int index = 1; index < candidates.size(); index++) {
+                final int position = index;
+                CompletableFuture.delayedExecutor(hedgeDelay.toNanos() * position, TimeUnit.NANOSECONDS)
+                        .execute(() -> attempt.start(position));
+            }
+            return attempt.winner.get(deadlineAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            log.warn("Deadline of {} exceeded during hedged lookup", deadline);
+            return attempt.bestFound();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException exception) {
+            return Optional.empty();
+        } finally {
+            attempt.cancel();
+        }
+    }
+
+    /**
+     * Attempt holds the state of a single hedged lookup.
+     *
+     * @param <P> the type of the candidates
+     * @param <R> the type of the result
+     */
+    private final class Attempt<P, R> {
+
+        final List<P> candidates;
+        final Function<P, Optional<R>> lookup;
+        final AtomicIntegerArray started;
+        final AtomicReferenceArray<CompletableFuture<Optional<R>>> running;
+        /**
+         * The outcome of each candidate: null while its lookup is pending, empty once it missed or failed.
+         */
+        final AtomicReferenceArray<Optional<R>> outcomes;
+        final CompletableFuture<Optional<R>> winner = new CompletableFuture<>();
+
+        Attempt(List<P> candidates, Function<P, Optional<R>> lookup) {
+            this.candidates = candidates;
+            this.lookup = lookup;
+            this.started = new AtomicIntegerArray(candidates.size());
+            this.running = new AtomicReferenceArray<>(candidates.size());
+            this.outcomes = new AtomicReferenceArray<>(candidates.size());
+        }
+
+        /**
+         * Starts the lookup of the candidate at the specified position, unless it was already started
+         * or the attempt is finished.
+         *
+         * @param position the position of the candidate
+         */
+        void start(int position) {
+            if (position >= candidates.size() || winner.isDone() || !started.compareAndSet(position, 0, 1)) {
+                return;
+            }
+            CompletableFuture<Optional<R>> future = SecretsExecutors.supplyAsync(
+                    () -> lookup.apply(candidates.get(position)), executor);
+            future.whenComplete((result, exception) -> onComplete(position, result, exception));
+            running.set(position, future);
+        }
+
+        /**
+         * Handles the completion of a lookup: a miss starts the next candidate right away,
+         * then the lookup is decided if every higher-priority candidate completed.
+         *
+         * @param position  the position of the candidate
+         * @param result    the result of the lookup
+         * @param exception the failure of the lookup, if any
+         */
+        void onComplete(int position, Optional<R> result, Throwable exception) {
+            if (exception instanceof RejectedExecutionException) {
+                log.debug("stage=hedged-lookup-rejected, position={}", position);
+            }
+            boolean found = exception == null && result.isPresent();
+            outcomes.set(position, found ? result : Optional.empty());
+            if (!found) {
+                start(position + 1);
+            }
+            decide();
+        }
+
+        /**
+         * Completes the winner with the result of the first candidate, in priority order, that found one,
+         * unless a higher-priority candidate is still pending. Completes it empty once every candidate missed.
+         */
+        void decide() {
+            for (int position = 0; position < candidates.size(); position++) {
+                Optional<R> outcome = outcomes.get(position);
+                if (outcome == null) {
+                    return;
+                }
+                if (outcome.isPresent()) {
+                    winner.complete(outcome);
+                    return;
+                }
+            }
+            winner.complete(Optional.empty());
+        }
+
+        /**
+         * Returns the result of the highest-priority candidate that found one so far, skipping the pending ones.
+         *
+         * @return the highest-priority result found, or empty if none was found
+         */
+        Optional<R> bestFound() {
+            for (int position = 0; position < candidates.size(); position++) {
+                Optional<R> outcome = outcomes.get(position);
+                if (outcome != null && outcome.isPresent()) {
+                    return outcome;
+                }
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Cancels the lookups still running, interrupting their threads, and prevents the remaining ones from starting.
+         */
+        void cancel() {
+            winner.complete(Optional.empty());
+            for (int position = 0; position < running.length(); position++) {
+                CompletableFuture<Optional<R>> future = running.get(position);
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LogThrottle limits how often a recurring log statement, such as a secret not being found,
+ * is written. At most one caller per interval is allowed to log; the others are counted as
+ * suppressed, so the allowed statement can report how many were skipped since the previous one.
+ * <pre>
+ * if (MISS_LOG.tryAcquire()) {
+ *     log.warn("stage=secret-not-found, key={}, suppressed={}", key, MISS_LOG.drainSuppressed());
+ * }
+ * </pre>
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LogThrottle {
+
+    /**
+     * The minimum interval between two statements, in nanoseconds.
+     */
+    long intervalNanos;
+    /**
+     * The {@link System#nanoTime()} from which the next statement is allowed.
+     */
+    AtomicLong nextAllowed;
+    /**
+     * The number of statements suppressed since the last allowed one.
+     */
+    LongAdder suppressed = new LongAdder();
+
+    /**
+     * Constructs a LogThrottle allowing one statement per interval.
+     *
+     * @param interval the minimum interval between two statements
+     */
+    public LogThrottle(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.nextAllowed = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Checks whether the caller is allowed to log now, counting the statement as suppressed otherwise.
+     *
+     * @return true if the statement should be logged
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long allowedAt = nextAllowed.get();
+        if (now - allowedAt >= 0 && nextAllowed.compareAndSet(allowedAt, now + intervalNanos)) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    /**
+     * Returns the number of statements suppressed since the last call and resets it.
+     *
+     * @return the number of suppressed statements
+     */
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+import javax.security.auth.Destroyable;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * SecretBytes holds the UTF-8 bytes of a secret value in a direct buffer, out of the heap, so the value
+ * is neither moved nor deduplicated by the garbage collector and does not appear in heap dumps.
+ * <br>
+ * The buffer is zeroed when the instance is destroyed, and by a cleaner if it is collected without being
+ * destroyed. Any access after destruction throws an {@link IllegalStateException}. The arrays returned by
+ * {@link #toByteArray()} and {@link #toCharArray()} are owned by the caller, who should zero them once used.
+ * <pre>
+ * try (SecretBytes certificate = secretsManager.getBytes(Origin.VAULT, "tls-key").orElseThrow()) {
+ *     PrivateKey key = certificate.apply(this::readPrivateKey);
+ * }
+ * </pre>
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public final class SecretBytes implements Destroyable, AutoCloseable {
+
+    /**
+     * The cleaner zeroing the buffers of the instances collected without being destroyed.
+     */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * The direct buffer holding the bytes of the secret.
+     */
+    ByteBuffer buffer;
+    /**
+     * The registration zeroing the buffer, run once either on destruction or on collection.
+     */
+    Cleaner.Cleanable zeroing;
+    /**
+     * Whether the buffer was zeroed.
+     */
+    @NonFinal
+    boolean destroyed;
+
+    /**
+     * Constructs a SecretBytes owning the specified direct buffer.
+     *
+     * @param buffer the direct buffer holding the bytes of the secret
+     */
+    private SecretBytes(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.zeroing = CLEANER.register(this, new Zeroing(buffer));
+    }
+
+    /**
+     * Copies the UTF-8 bytes of a secret value out of the heap. The intermediate bytes are zeroed,
+     * while the String itself cannot be and is left to the caller.
+     *
+     * @param value the secret value
+     * @return the bytes of the secret value
+     */
+    public static SecretBytes of(String value) {
+        byte[] encoded = Objects.requireNonNull(value, "Secret value cannot be null").getBytes(StandardCharsets.UTF_8);
+        try {
+            return copyOf(encoded);
+        } finally {
+            Arrays.fill(encoded, (byte) 0);
+        }
+    }
+
+    /**
+     * Copies bytes out of the heap. The array is not modified, so the caller can zero it afterwards.
+     *
+     * @param bytes the bytes to copy
+     * @return the copied bytes
+     */
+    public static SecretBytes copyOf(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).clear();
+        return new SecretBytes(buffer);
+    }
+
+    /**
+     * Returns the number of bytes of the secret.
+     *
+     * @return the number of bytes
+     */
+    public synchronized int length() {
+        checkNotDestroyed();
+        return buffer.capacity();
+    }
+
+    /**
+     * Copies the bytes into a new SecretBytes, destroyed independently of this one.
+     *
+     * @return the copy of the bytes
+     */
+    public synchronized SecretBytes copy() {
+        checkNotDestroyed();
+        ByteBuffer copy = ByteBuffer.allocateDirect(buffer.capacity());
+        copy.put(buffer.duplicate().clear()).clear();
+        return new SecretBytes(copy);
+    }
+
+    /**
+     * Copies the bytes into a new array owned by the caller.
+     *
+     * @return the bytes of the secret
+     */
+    public synchronized byte[] toByteArray() {
+        checkNotDestroyed();
+        byte[] bytes = new byte[buffer.capacity()];
+        buffer.duplicate().clear().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Decodes the bytes as UTF-8 into a new array owned by the caller. The intermediate characters are zeroed.
+     *
+     * @return the characters of the secret
+     */
+    public synchronized char[] toCharArray() {
+        checkNotDestroyed();
+        CharBuffer decoded = StandardCharsets.UTF_8.decode(buffer.duplicate().clear());
+        try {
+            char[] chars = new char[decoded.remaining()];
+            decoded.get(chars);
+            return chars;
+        } finally {
+            Arrays.fill(decoded.array(), '\0');
+        }
+    }
+
+    /**
+     * Applies a function to a read-only view of the bytes, without copying them.
+     * The view must not be used once the function returned, as the bytes may be zeroed at any time afterwards.
+     *
+     * @param function the function reading the bytes
+     * @param <R>      the type of the result
+     * @return the result of the function
+     */
+    public synchronized <R> R apply(Function<ByteBuffer, R> function) {
+        checkNotDestroyed();
+        return function.apply(buffer.asReadOnlyBuffer().clear());
+    }
+
+    /**
+     * Zeroes the bytes. Destroying an instance again has no effect.
+     */
+    @Override
+    public synchronized void destroy() {
+        destroyed = true;
+        zeroing.clean();
+    }
+
+    @Override
+    public synchronized boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * Zeroes the bytes, so the instance can be used in a try-with-resources statement.
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return destroyed ? "SecretBytes[destroyed]" : "SecretBytes[length=" + buffer.capacity() + "]";
+    }
+
+    /**
+     * Throws if the bytes were already zeroed.
+     */
+    private void checkNotDestroyed() {
+        if (destroyed) {
+            throw new IllegalStateException("Secret bytes were destroyed");
+        }
+    }
+
+    /**
+     * Zeroing overwrites a buffer with zeros. It must not reference the SecretBytes owning the buffer,
+     * otherwise the cleaner would keep it reachable.
+     *
+     * @param buffer the buffer to zero
+     */
+    private record Zeroing(ByteBuffer buffer) implements Runnable {
+
+        @Override
+        public void run() {
+            for (int i = 0; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotCastTypeException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretDecoder converts secret values from JSON to typed instances.
+ * <br>
+ * The {@link ObjectReader} of each type is resolved once and reused. Instances of immutable types,
+ * such as enums, JDK value types and records whose components are all immutable, are memoized per
+ * type, origin, key and version of the secret, so decoding the same secret again only costs a map lookup.
+ * A rotated secret has a new version and is therefore decoded again. Secrets whose provider reports no
+ * version, and instances of other types, including records holding collections or arrays, are decoded
+ * on every call, as the value may have changed or callers may mutate them.
+ * <br>
+ * Primitive types are decoded to their wrapper types. The memo does not hold the secret values,
+ * and is bounded by the total length of the values memoized.
+ */
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretDecoder {
+
+    /**
+     * The maximum total length, in characters, of the secret values whose decoded instances are memoized.
+     */
+    private static final long MAX_DECODED_WEIGHT = 1_048_576L;
+
+    /**
+     * The JDK types whose instances are immutable and can be shared between callers.
+     */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class);
+
+    /**
+     * The ObjectMapper the readers are created from.
+     */
+    @Getter
+    ObjectMapper objectMapper;
+    /**
+     * The reader of each type decoded so far.
+     */
+    ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    /**
+     * Whether the instances of each type decoded so far are immutable.
+     */
+    ConcurrentMap<Class<?>, Boolean> immutableTypes = new ConcurrentHashMap<>();
+    /**
+     * The decoded instances of immutable types, indexed by type, origin, key and version of the secret.
+     */
+    Cache<Decoded, Object> decoded = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_DECODED_WEIGHT)
+            .<Decoded, Object>weigher((key, instance) -> Math.max(1, key.length()))
+            .build();
+
+    /**
+     * Constructs a SecretDecoder using the specified ObjectMapper.
+     *
+     * @param objectMapper the ObjectMapper the readers are created from
+     */
+    public SecretDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Converts a secret value to the specified type. The value carries no version, so it is decoded on every call.
+     *
+     * @param value the secret value to convert
+     * @param type  the Class type to convert the secret value to
+     * @param <T>   the type of the secret value
+     * @return the value of the secret converted to the specified type
+     * @throws CannotCastTypeException if the value cannot be converted to the type
+     */
+    public <T> T decode(String value, Class<T> type) {
+        return read(value, box(type));
+    }
+
+    /**
+     * Converts the value of a secret to the specified type, reusing the instance decoded before
+     * for the same version of the secret when the type is immutable.
+     *
+     * @param secret the secret whose value to convert
+     * @param type   the Class type to convert the secret value to
+     * @param <T>    the type of the secret value
+     * @return the value of the secret converted to the specified type
+     * @throws CannotCastTypeException if the value cannot be converted to the type
+     */
+    public <T> T decode(SecretDTO secret, Class<T> type) {
+        Class<T> boxed = box(type);
+        if (!isVersioned(secret) || !isImmutable(boxed)) {
+            return read(secret.value(), boxed);
+        }
+        var decodedKey = new Decoded(boxed, secret.origin(), secret.key(), secret.version(), secret.value().length());
+        Object cached = decoded.getIfPresent(decodedKey);
+        if (nonNull(cached)) {
+            return boxed.cast(cached);
+        }
+        T instance = read(secret.value(), boxed);
+        if (nonNull(instance)) {
+            decoded.put(decodedKey, instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Removes every memoized instance.
+     */
+    public void clear() {
+        decoded.invalidateAll();
+    }
+
+    /**
+     * Reads a secret value with the reader of the type.
+     *
+     * @param value the secret value to read
+     * @param type  the Class type to read the secret value as
+     * @param <T>   the type of the secret value
+     * @return the value read
+     */
+    private <T> T read(String value, Class<T> type) {
+        try {
+            return readers.computeIfAbsent(type, objectMapper::readerFor).readValue(value);
+        } catch (JsonProcessingException e) {
+            log.error("Error parsing secret value from JSON: {}", e.getMessage(), e);
+            throw new CannotCastTypeException(e);
+        }
+    }
+
+    /**
+     * Resolves the wrapper type of a primitive type, so decoded instances can be cast to it.
+     *
+     * @param type the type to resolve
+     * @param <T>  the type of the secret value
+     * @return the wrapper type if the type is primitive, otherwise the type itself
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> box(Class<T> type) {
+        return (Class<T>) ClassUtils.resolvePrimitiveIfNecessary(type);
+    }
+
+    /**
+     * Checks whether a secret identifies its value, so a decoded instance can be reused for it.
+     *
+     * @param secret the secret to check
+     * @return true if the origin, key, version and value of the secret are known
+     */
+    private static boolean isVersioned(SecretDTO secret) {
+        return nonNull(secret.origin()) && nonNull(secret.key()) && nonNull(secret.version())
+                && nonNull(secret.value());
+    }
+
+    /**
+     * Checks whether instances of the type can be shared between callers.
+     *
+     * @param type the type to check
+     * @return true if the instances of the type are immutable
+     */
+    private boolean isImmutable(Class<?> type) {
+        return immutableTypes.computeIfAbsent(type, checked -> isDeeplyImmutable(checked, new HashSet<>()));
+    }
+
+    /**
+     * Checks whether a type is a primitive, an enum, an immutable JDK type, or a record whose components
+     * are all deeply immutable.
+     *
+     * @param type     the type to check
+     * @param visiting the records being checked, so a record referring to itself is checked once
+     * @return true if the instances of the type are immutable
+     */
+    private static boolean isDeeplyImmutable(Class<?> type, Set<Class<?>> visiting) {
+        if (type.isPrimitive() || type.isEnum() || IMMUTABLE_TYPES.contains(type)) {
+            return true;
+        }
+        if (!type.isRecord()) {
+            return false;
+        }
+        if (!visiting.add(type)) {
+            return true;
+        }
+        for (RecordComponent component : type.getRecordComponents()) {
+            if (!isDeeplyImmutable(component.getType(), visiting)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decoded identifies a memoized instance.
+     *
+     * @param type    the type the value was decoded to
+     * @param origin  the origin of the secret
+     * @param key     the key of the secret
+     * @param version the version of the secret value
+     * @param length  the length of the secret value, weighing the memoized instance
+     */
+    record Decoded(Class<?> type, Origin origin, String key, String version, int length) {
+    }
+}
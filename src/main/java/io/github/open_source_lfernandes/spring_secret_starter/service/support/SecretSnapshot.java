@@ -0,0 +1,332 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsSnapshotProperties;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretSnapshot keeps the last secrets resolved from each provider in a file encrypted with AES-GCM,
+ * so they can be served when a provider is unavailable, including while the application starts.
+ * <br>
+ * The file is memory-mapped and decrypted in a single pass when the snapshot is created. A file that is
+ * missing, older than the maximum age, or cannot be decrypted with the key is ignored and the snapshot starts
+ * empty. Changes are written together after a short delay, to a temporary file readable by its owner only
+ * that then replaces the snapshot atomically, so a crash never leaves a partial snapshot behind.
+ * <br>
+ * The file starts with a magic number and a random nonce, both authenticated with the encrypted content.
+ * Only the file is encrypted: the secrets are held in memory as plaintext {@link SecretDTO}s, on the heap,
+ * even when the cache stores its values off the heap.
+ */
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretSnapshot {
+
+    /**
+     * The magic number and format version at the start of the file.
+     */
+    private static final byte[] MAGIC = {'S', 'S', 'N', 'P', 1};
+
+    /**
+     * The length of the nonce of AES-GCM, in bytes.
+     */
+    private static final int NONCE_LENGTH = 12;
+
+    /**
+     * The length of the authentication tag of AES-GCM, in bits.
+     */
+    private static final int TAG_LENGTH = 128;
+
+    /**
+     * The transformation the snapshot is encrypted with.
+     */
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    /**
+     * The path of the snapshot file.
+     */
+    Path path;
+    /**
+     * The key the snapshot is encrypted with.
+     */
+    SecretKey key;
+    /**
+     * The ObjectMapper serializing the content of the snapshot.
+     */
+    ObjectMapper objectMapper;
+    /**
+     * The delay between a change of the secrets and the write of the snapshot.
+     */
+    Duration writeDelay;
+    /**
+     * The scheduler of the delayed writes.
+     */
+    ScheduledExecutorService scheduler;
+    /**
+     * The source of the nonces.
+     */
+    SecureRandom random = new SecureRandom();
+    /**
+     * The secrets of the snapshot, indexed by origin and key.
+     */
+    ConcurrentMap<Entry, SecretDTO> secrets = new ConcurrentHashMap<>();
+    /**
+     * Whether the secrets changed since the snapshot was last written.
+     */
+    AtomicBoolean dirty = new AtomicBoolean();
+    /**
+     * Whether a write of the snapshot is scheduled.
+     */
+    AtomicBoolean writeScheduled = new AtomicBoolean();
+
+    /**
+     * Constructs a SecretSnapshot and loads the snapshot file, if any.
+     *
+     * @param properties   the snapshot configuration properties
+     * @param key          the key the snapshot is encrypted with
+     * @param objectMapper the ObjectMapper serializing the content of the snapshot
+     * @param scheduler    the scheduler of the delayed writes
+     */
+    public SecretSnapshot(SecretsSnapshotProperties properties, SecretKey key, ObjectMapper objectMapper,
+                          ScheduledExecutorService scheduler) {
+        this.path = properties.getPath();
+        this.key = key;
+        this.objectMapper = objectMapper;
+        this.writeDelay = properties.getWriteDelay();
+        this.scheduler = scheduler;
+        load(properties.getMaxAge());
+    }
+
+    /**
+     * Returns the secret of the snapshot for the specified origin and key.
+     *
+     * @param origin the origin of the provider
+     * @param key    the key of the secret
+     * @return the secret, or empty if the snapshot does not hold it
+     */
+    public Optional<SecretDTO> get(Origin origin, String key) {
+        return Optional.ofNullable(secrets.get(new Entry(origin, key)));
+    }
+
+    /**
+     * Records a secret resolved from a provider, scheduling a write of the snapshot if it changed.
+     *
+     * @param secret the secret resolved
+     */
+    public void put(SecretDTO secret) {
+        SecretDTO previous = secrets.put(new Entry(secret.origin(), secret.key()), secret);
+        if (!Objects.equals(previous, secret)) {
+            changed();
+        }
+    }
+
+    /**
+     * Removes a secret a provider no longer holds, scheduling a write of the snapshot if it was held.
+     *
+     * @param origin the origin of the provider
+     * @param key    the key of the secret
+     */
+    public void remove(Origin origin, String key) {
+        if (nonNull(secrets.remove(new Entry(origin, key)))) {
+            changed();
+        }
+    }
+
+    /**
+     * Returns the number of secrets in the snapshot.
+     *
+     * @return the number of secrets
+     */
+    public int size() {
+        return secrets.size();
+    }
+
+    /**
+     * Writes the snapshot now if the secrets changed since it was last written.
+     * Failures are logged and leave the previous snapshot in place.
+     */
+    public synchronized void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        byte[] content = null;
+        try {
+            content = objectMapper.writeValueAsBytes(new Content(Instant.now().toEpochMilli(), List.copyOf(secrets.values())));
+            write(encrypt(content));
+            log.debug("stage=secrets-snapshot-written, path={}, secrets={}", path, secrets.size());
+        } catch (IOException | GeneralSecurityException exception) {
+            dirty.set(true);
+            log.warn("stage=secrets-snapshot-write-failed, path={}, error={}", path, exception.getMessage());
+        } finally {
+            if (nonNull(content)) {
+                Arrays.fill(content, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Marks the secrets as changed and schedules a write of the snapshot, unless one is already scheduled.
+     */
+    private void changed() {
+        dirty.set(true);
+        if (writeScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                writeScheduled.set(false);
+                flush();
+            }, writeDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Loads the snapshot file in a single read of its memory-mapped content.
+     *
+     * @param maxAge the age after which the snapshot is ignored
+     */
+    private void load(Duration maxAge) {
+        byte[] content = null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            content = decrypt(mapped);
+            Content snapshot = objectMapper.readValue(content, Content.class);
+            Duration age = Duration.between(Instant.ofEpochMilli(snapshot.savedAt()), Instant.now());
+            if (age.compareTo(maxAge) > 0) {
+                log.warn("stage=secrets-snapshot-expired, path={}, age={}, maxAge={}", path, age, maxAge);
+                return;
+            }
+            snapshot.secrets().forEach(secret -> secrets.put(new Entry(secret.origin(), secret.key()), secret));
+            log.info("stage=secrets-snapshot-loaded, path={}, secrets={}, age={}", path, secrets.size(), age);
+        } catch (NoSuchFileException exception) {
+            log.info("stage=secrets-snapshot-not-found, path={}", path);
+        } catch (IOException | GeneralSecurityException | RuntimeException exception) {
+            log.warn("stage=secrets-snapshot-unreadable, path={}, error={}", path, exception.getMessage());
+        } finally {
+            if (nonNull(content)) {
+                Arrays.fill(content, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Decrypts the content of the snapshot file.
+     *
+     * @param file the content of the file
+     * @return the decrypted content
+     */
+    private byte[] decrypt(ByteBuffer file) throws GeneralSecurityException {
+        byte[] magic = new byte[MAGIC.length];
+        byte[] nonce = new byte[NONCE_LENGTH];
+        if (file.remaining() < MAGIC.length + NONCE_LENGTH) {
+            throw new GeneralSecurityException("Truncated snapshot");
+        }
+        file.get(magic).get(nonce);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new GeneralSecurityException("Not a secrets snapshot");
+        }
+        Cipher cipher = cipher(Cipher.DECRYPT_MODE, nonce);
+        ByteBuffer content = ByteBuffer.allocate(cipher.getOutputSize(file.remaining()));
+        cipher.doFinal(file, content);
+        return Arrays.copyOf(content.array(), content.position());
+    }
+
+    /**
+     * Encrypts the content of the snapshot with a new nonce.
+     *
+     * @param content the content to encrypt
+     * @return the content of the file
+     */
+    private byte[] encrypt(byte[] content) throws GeneralSecurityException {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE, nonce);
+        ByteBuffer file = ByteBuffer.allocate(MAGIC.length + NONCE_LENGTH + cipher.getOutputSize(content.length));
+        file.put(MAGIC).put(nonce);
+        cipher.doFinal(ByteBuffer.wrap(content), file);
+        return file.array();
+    }
+
+    /**
+     * Creates a cipher authenticating the header of the file along with its content.
+     *
+     * @param mode  the mode of the cipher
+     * @param nonce the nonce of the file
+     * @return the initialized cipher
+     */
+    private Cipher cipher(int mode, byte[] nonce) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH, nonce));
+        cipher.updateAAD(MAGIC);
+        cipher.updateAAD(nonce);
+        return cipher;
+    }
+
+    /**
+     * Writes the file to a temporary file readable by its owner only, then moves it over the snapshot.
+     *
+     * @param file the content of the file
+     */
+    private void write(byte[] file) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = FileSystems.getDefault().supportedFileAttributeViews().contains("posix")
+                ? Files.createTempFile(directory, path.getFileName().toString(), ".tmp",
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")))
+                : Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, file);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Entry identifies a secret of the snapshot.
+     *
+     * @param origin the origin of the provider
+     * @param key    the key of the secret
+     */
+    record Entry(Origin origin, String key) {
+    }
+
+    /**
+     * Content is the content of the snapshot file once decrypted.
+     *
+     * @param savedAt the time the snapshot was written, in milliseconds since the epoch
+     * @param secrets the secrets of the snapshot
+     */
+    record Content(long savedAt, List<SecretDTO> secrets) {
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import org.springframework.core.env.Environment;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+/**
+ * SecretSnapshotKeyProvider supplies the AES key the {@link SecretSnapshot} is encrypted with.
+ * <br>
+ * By default the key is read from an environment variable. Applications holding the key elsewhere,
+ * such as a data key decrypted with a KMS at startup, can declare a bean of this type instead.
+ */
+@FunctionalInterface
+public interface SecretSnapshotKeyProvider {
+
+    /**
+     * The lengths of the AES keys accepted, in bytes.
+     */
+    Set<Integer> KEY_LENGTHS = Set.of(16, 24, 32);
+
+    /**
+     * Returns the key the snapshot is encrypted with.
+     *
+     * @return the AES key
+     */
+    SecretKey getKey();
+
+    /**
+     * Returns a provider reading the base64 encoded key from the specified environment variable.
+     *
+     * @param environment the Environment the variable is read from
+     * @param variable    the name of the variable
+     * @return the key provider
+     * @throws IllegalStateException if the variable is not set or does not hold a 128, 192 or 256 bits key
+     */
+    static SecretSnapshotKeyProvider fromEnvironment(Environment environment, String variable) {
+        String encoded = environment.getProperty(variable);
+        if (isNull(encoded) || encoded.isBlank()) {
+            throw new IllegalStateException("No key for the secrets snapshot: set the environment variable "
+                    + variable + " or declare a SecretSnapshotKeyProvider bean");
+        }
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(encoded.trim());
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalStateException("The key of the secrets snapshot in " + variable + " is not base64 encoded",
+                    exception);
+        }
+        if (!KEY_LENGTHS.contains(key.length)) {
+            throw new IllegalStateException("The key of the secrets snapshot in " + variable
+                    + " must be an AES key of 128, 192 or 256 bits");
+        }
+        SecretKey secretKey = new SecretKeySpec(key, "AES");
+        return () -> secretKey;
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsExecutors creates the executors used to query secrets providers concurrently.
+ * <br>
+ * On Java 21 or later every provider call runs on its own virtual thread. On earlier versions
+ * a bounded pool of daemon threads is used instead; when it is saturated, provider calls are rejected
+ * rather than run on the calling thread, so a caller waiting on a deadline never blocks on a provider call itself.
+ * Tasks submitted through {@link #supplyAsync(Supplier, Executor)} then fail fast with a
+ * {@link RejectedExecutionException}.
+ * <br>
+ * Background refreshes of cached secrets are triggered by a small scheduler, whose tasks only
+ * start the refresh and never wait for a provider.
+ */
+@Slf4j
+@UtilityClass
+public class SecretsExecutors {
+
+    /**
+     * The prefix of the name of the threads created by the bounded pool.
+     */
+    private static final String THREAD_NAME_PREFIX = "secrets-lookup-";
+
+    /**
+     * The prefix of the name of the threads created by the refresh scheduler.
+     */
+    private static final String REFRESH_THREAD_NAME_PREFIX = "secrets-refresh-";
+
+    /**
+     * The number of pending provider calls queued per thread of the bounded pool.
+     */
+    private static final int QUEUE_CAPACITY_PER_THREAD = 16;
+
+    /**
+     * The maximum number of threads of the shared bounded pool.
+     */
+    private static final int SHARED_MAX_CONCURRENCY = 16;
+
+    /**
+     * Creates an executor for provider calls, backed by virtual threads when they are available.
+     *
+     * @param maxConcurrency the maximum number of threads of the bounded pool used when virtual threads are not available
+     * @return a new executor
+     */
+    public ExecutorService newLookupExecutor(int maxConcurrency) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            log.debug("stage=virtual-threads-unavailable, maxConcurrency={}", maxConcurrency);
+        }
+        var executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxConcurrency * QUEUE_CAPACITY_PER_THREAD), daemonThreadFactory(THREAD_NAME_PREFIX),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs a supplier on an executor. Unlike {@link CompletableFuture#supplyAsync(Supplier, Executor)},
+     * cancelling the returned future interrupts the thread running the supplier, and a task rejected by
+     * the executor completes the future exceptionally instead of throwing to the caller.
+     * Whether an interrupted provider call stops right away depends on its client honouring interrupts.
+     *
+     * @param supplier the supplier to run
+     * @param executor the executor running the supplier
+     * @param <T>      the type of the result
+     * @return a future completed with the result of the supplier
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        var future = new InterruptibleFuture<T>();
+        var task = new FutureTask<Void>(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, null);
+        future.task = task;
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    /**
+     * Returns the executor shared by the services and providers that were not given one.
+     * It is created on first use and lives as long as the JVM.
+     *
+     * @return the shared executor
+     */
+    public ExecutorService sharedLookupExecutor() {
+        return SharedExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a single-threaded scheduler for the background refreshes of cached secrets.
+     * Cancelled refreshes are removed from its queue right away.
+     *
+     * @return a new scheduler
+     */
+    public ScheduledExecutorService newRefreshScheduler() {
+        var scheduler = new ScheduledThreadPoolExecutor(1, daemonThreadFactory(REFRESH_THREAD_NAME_PREFIX));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Returns the refresh scheduler shared by the caches that were not given one.
+     * It is created on first use and lives as long as the JVM.
+     *
+     * @return the shared scheduler
+     */
+    public ScheduledExecutorService sharedRefreshScheduler() {
+        return SharedRefreshSchedulerHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a thread factory producing named daemon threads, so pending lookups never prevent the JVM from exiting.
+     *
+     * @param prefix the prefix of the name of the threads
+     * @return a new thread factory
+     */
+    private ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * InterruptibleFuture cancels the task computing it when it is cancelled, interrupting the thread running it.
+     *
+     * @param <T> the type of the result
+     */
+    private static final class InterruptibleFuture<T> extends CompletableFuture<T> {
+
+        volatile FutureTask<Void> task;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            FutureTask<Void> running = task;
+            if (cancelled && nonNull(running)) {
+                running.cancel(mayInterruptIfRunning);
+            }
+            return cancelled;
+        }
+    }
+
+    /**
+     * Holds the shared executor, created lazily when the holder class is initialized.
+     */
+    private static final class SharedExecutorHolder {
+        private static final ExecutorService INSTANCE = newLookupExecutor(SHARED_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Holds the shared refresh scheduler, created lazily when the holder class is initialized.
+     */
+    private static final class SharedRefreshSchedulerHolder {
+        private static final ScheduledExecutorService INSTANCE = newRefreshScheduler();
+    }
+}
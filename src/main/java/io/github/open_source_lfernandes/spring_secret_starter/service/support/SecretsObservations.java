@@ -0,0 +1,251 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsObservationProperties;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * SecretsObservations wraps secret lookups in Micrometer {@link Observation}s, so they show up in the
+ * tracing and metrics of the application.
+ * <br>
+ * Every observation is tagged with the low cardinality {@code operation}, {@code origin} and {@code outcome}
+ * ({@code hit}, {@code miss} or {@code error}), and with the key of the secret as a high cardinality tag
+ * unless it is turned off. A blocking lookup is observed in scope, so the lookups it makes are nested in it.
+ * <pre>
+ * return observations.observe(SecretsObservations.SERVICE, "get", origin, key, () -&gt; provider.get(key));
+ * </pre>
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SecretsObservations {
+
+    /**
+     * The name of the observations of the SecretsManagerService operations.
+     */
+    public static final String SERVICE = "secrets.service";
+
+    /**
+     * The name of the observations of the calls made to a provider.
+     */
+    public static final String PROVIDER = "secrets.provider";
+
+    /**
+     * The name of the observations of the injection of an annotated field.
+     */
+    public static final String INJECTION = "secrets.injection";
+
+    /**
+     * The observations of a context without an ObservationRegistry, which observe nothing.
+     */
+    private static final SecretsObservations NOOP =
+            new SecretsObservations(ObservationRegistry.NOOP, new SecretsObservationProperties(false));
+
+    /**
+     * The registry the observations are reported to.
+     */
+    @Getter
+    ObservationRegistry registry;
+    /**
+     * Whether the key of the secret is added as a high cardinality tag.
+     */
+    boolean includeKey;
+
+    /**
+     * Constructs a SecretsObservations reporting to the specified registry.
+     *
+     * @param registry   the registry the observations are reported to
+     * @param properties the observation configuration properties
+     */
+    public SecretsObservations(ObservationRegistry registry, SecretsObservationProperties properties) {
+        this.registry = registry;
+        this.includeKey = properties.getIncludeKey();
+    }
+
+    /**
+     * Returns the observations that observe nothing.
+     *
+     * @return the no-op observations
+     */
+    public static SecretsObservations noop() {
+        return NOOP;
+    }
+
+    /**
+     * Creates an observation of a lookup, not started yet, so callers can add tags before observing it.
+     *
+     * @param name      the name of the observation
+     * @param operation the name of the operation
+     * @param origin    the origin of the secret, ANY when any provider may answer
+     * @param key       the key of the secret, null for a lookup of several keys
+     * @return the observation
+     */
+    public Observation create(String name, String operation, Origin origin, String key) {
+        Observation observation = Observation.createNotStarted(name, registry)
+                .contextualName(name + " " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("origin", isNull(origin) ? Origin.ANY.name() : origin.name());
+        if (includeKey && nonNull(key)) {
+            observation.highCardinalityKeyValue("key", key);
+        }
+        return observation;
+    }
+
+    /**
+     * Observes a blocking lookup.
+     *
+     * @param name      the name of the observation
+     * @param operation the name of the operation
+     * @param origin    the origin of the secret, ANY when any provider may answer
+     * @param key       the key of the secret, null for a lookup of several keys
+     * @param call      the lookup
+     * @param <R>       the type of the result
+     * @param <E>       the type of the checked exception of the lookup
+     * @return the result of the lookup
+     * @throws E if the lookup failed with a checked exception
+     */
+    public <R, E extends Exception> R observe(String name, String operation, Origin origin, String key,
+                                              Call<R, E> call) throws E {
+        if (registry.isNoop()) {
+            return call.call();
+        }
+        return observe(create(name, operation, origin, key), call);
+    }
+
+    /**
+     * Observes a blocking lookup with an observation created beforehand.
+     *
+     * @param observation the observation, not started yet
+     * @param call        the lookup
+     * @param <R>         the type of the result
+     * @param <E>         the type of the checked exception of the lookup
+     * @return the result of the lookup
+     * @throws E if the lookup failed with a checked exception
+     */
+    public <R, E extends Exception> R observe(Observation observation, Call<R, E> call) throws E {
+        observation.start();
+        // closed explicitly rather than with try-with-resources, as the scope is never referenced in the block
+        Observation.Scope scope = observation.openScope();
+        try {
+            R result = call.call();
+            observation.lowCardinalityKeyValue("outcome", outcome(result));
+            return result;
+        } catch (Exception exception) {
+            onError(observation, exception);
+            throw exception;
+        } finally {
+            scope.close();
+            observation.stop();
+        }
+    }
+
+    /**
+     * Observes an asynchronous lookup until its future completes.
+     *
+     * @param name      the name of the observation
+     * @param operation the name of the operation
+     * @param origin    the origin of the secret, ANY when any provider may answer
+     * @param key       the key of the secret, null for a lookup of several keys
+     * @param call      the lookup
+     * @param <R>       the type of the result
+     * @return the future of the lookup
+     */
+    public <R> CompletableFuture<R> observeAsync(String name, String operation, Origin origin, String key,
+                                                 Supplier<CompletableFuture<R>> call) {
+        if (registry.isNoop()) {
+            return call.get();
+        }
+        return observeAsync(create(name, operation, origin, key), call);
+    }
+
+    /**
+     * Observes an asynchronous lookup with an observation created beforehand, until its future completes.
+     *
+     * @param observation the observation, not started yet
+     * @param call        the lookup
+     * @param <R>         the type of the result
+     * @return the future of the lookup
+     */
+    public <R> CompletableFuture<R> observeAsync(Observation observation, Supplier<CompletableFuture<R>> call) {
+        observation.start();
+        CompletableFuture<R> started;
+        Observation.Scope scope = observation.openScope();
+        try {
+            started = call.get();
+        } catch (RuntimeException exception) {
+            scope.close();
+            onError(observation, exception);
+            observation.stop();
+            throw exception;
+        }
+        scope.close();
+        return started.whenComplete((result, error) -> {
+            if (isNull(error)) {
+                observation.lowCardinalityKeyValue("outcome", outcome(result));
+            } else {
+                onError(observation, error instanceof CompletionException ? error.getCause() : error);
+            }
+            observation.stop();
+        });
+    }
+
+    /**
+     * Tags a failed lookup, a secret not found being a miss rather than an error.
+     *
+     * @param observation the observation of the lookup
+     * @param error       the failure of the lookup
+     */
+    private static void onError(Observation observation, Throwable error) {
+        if (error instanceof SecretNotFoundException) {
+            observation.lowCardinalityKeyValue("outcome", "miss");
+            return;
+        }
+        observation.lowCardinalityKeyValue("outcome", "error");
+        observation.error(error);
+    }
+
+    /**
+     * Determines the outcome of a successful lookup from its result.
+     *
+     * @param result the result of the lookup
+     * @return {@code miss} if nothing was found, {@code hit} otherwise
+     */
+    private static String outcome(Object result) {
+        boolean missed = isNull(result)
+                || result instanceof Optional<?> optional && optional.isEmpty()
+                || result instanceof Collection<?> collection && collection.isEmpty()
+                || result instanceof SecretBatchDTO batch && !batch.errors().isEmpty();
+        return missed ? "miss" : "hit";
+    }
+
+    /**
+     * Call is a lookup that may throw a checked exception.
+     *
+     * @param <R> the type of the result
+     * @param <E> the type of the checked exception
+     */
+    @FunctionalInterface
+    public interface Call<R, E extends Exception> {
+
+        /**
+         * Runs the lookup.
+         *
+         * @return the result of the lookup
+         * @throws E if the lookup failed
+         */
+        R call() throws E;
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsRateLimitProperties;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+/**
+ * TokenBucket limits the rate of the calls made to a provider.
+ * <br>
+ * The bucket holds up to the burst of permits and is refilled at the configured rate. A call takes
+ * a permit right away when one is available; otherwise it reserves the next permit and is told how
+ * long to wait for it, so callers are served in order without spinning. A call that would wait longer
+ * than allowed does not reserve anything and is rejected.
+ * <pre>
+ * long waitNanos = bucket.reserve(maxWaitNanos);
+ * if (waitNanos &lt; 0) {
+ *     throw new RateLimitExceededException(origin);
+ * }
+ * TimeUnit.NANOSECONDS.sleep(waitNanos);
+ * </pre>
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TokenBucket {
+
+    /**
+     * The number of permits added per nanosecond.
+     */
+    double permitsPerNano;
+    /**
+     * The maximum number of permits stored.
+     */
+    double capacity;
+
+    /**
+     * The number of permits available, negative while permits are reserved ahead of the refill.
+     */
+    @NonFinal
+    double permits;
+    /**
+     * The {@link System#nanoTime()} of the last refill.
+     */
+    @NonFinal
+    long refilledAt;
+
+    /**
+     * Constructs a full TokenBucket from the rate limit configuration properties.
+     *
+     * @param properties the rate limit configuration properties
+     */
+    public TokenBucket(SecretsRateLimitProperties properties) {
+        this(properties.getPermitsPerSecond(), properties.getBurst());
+    }
+
+    /**
+     * Constructs a full TokenBucket.
+     *
+     * @param permitsPerSecond the number of permits added per second
+     * @param burst            the maximum number of permits stored
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.capacity = burst;
+        this.permits = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Takes a permit, reserving the next one when none is available.
+     *
+     * @param maxWaitNanos the maximum duration the caller accepts to wait for the permit, in nanoseconds
+     * @return the duration to wait before the call, in nanoseconds, 0 if a permit was available,
+     * or -1 if the permit would not be available within the maximum duration and none was taken
+     */
+    public synchronized long reserve(long maxWaitNanos) {
+        refill(System.nanoTime());
+        if (permits >= 1d) {
+            permits -= 1d;
+            return 0L;
+        }
+        long waitNanos = (long) Math.ceil((1d - permits) / permitsPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1L;
+        }
+        permits -= 1d;
+        return waitNanos;
+    }
+
+    /**
+     * Returns the number of permits available right now, negative while permits are reserved.
+     *
+     * @return the number of permits available
+     */
+    public synchronized double getAvailablePermits() {
+        refill(System.nanoTime());
+        return permits;
+    }
+
+    /**
+     * Adds the permits accumulated since the last refill, up to the capacity.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    private void refill(long now) {
+        permits = Math.min(capacity, permits + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+    }
+}
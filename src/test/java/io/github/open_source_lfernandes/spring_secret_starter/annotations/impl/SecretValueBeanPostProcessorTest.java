@@ -0,0 +1,212 @@
+package io.github.open_source_lfernandes.spring_secret_starter.annotations.impl;
+
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.events.SecretRotatedEvent;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotInjectSecretValueException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsInjectionProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsObservationProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsObservations;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SecretValueBeanPostProcessorTest {
+
+    SecretsManagerService secretService;
+
+    @BeforeEach
+    void setUpService() {
+        secretService = mock(SecretsManagerService.class);
+        when(secretService.getObservations()).thenReturn(SecretsObservations.noop());
+        when(secretService.getFromAnyProvider(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(60L);
+            return Optional.of(SecretDTO.builder().key(invocation.getArgument(0)).value("value").build());
+        });
+    }
+
+    @Test
+    void shouldFailFastOnceStartupBudgetIsExhausted() {
+        var postProcessor = postProcessor(Duration.ofMillis(50));
+
+        postProcessor.postProcessBeforeInitialization(new SecretHolder(), "first");
+
+        var exception = assertThrows(CannotInjectSecretValueException.class,
+                () -> postProcessor.postProcessBeforeInitialization(new SecretHolder(), "second"));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        verify(secretService, times(1)).getFromAnyProvider("key");
+    }
+
+    @Test
+    void shouldNotApplyStartupBudgetOnceContextIsRefreshed() {
+        var postProcessor = postProcessor(Duration.ofMillis(50));
+        postProcessor.postProcessBeforeInitialization(new SecretHolder(), "first");
+
+        postProcessor.onApplicationEvent(new ContextRefreshedEvent(new GenericApplicationContext()));
+        var holder = (SecretHolder) postProcessor.postProcessBeforeInitialization(new SecretHolder(), "second");
+
+        assertEquals("value", holder.secret);
+    }
+
+    @Test
+    void shouldNotLimitStartupWithoutBudget() {
+        var postProcessor = postProcessor(Duration.ZERO);
+
+        for (int i = 0; i < 3; i++) {
+            postProcessor.postProcessBeforeInitialization(new SecretHolder(), "holder" + i);
+        }
+
+        verify(secretService, times(3)).getFromAnyProvider("key");
+    }
+
+    @Test
+    void shouldObserveFieldResolution() {
+        var stopped = new ArrayList<Observation.Context>();
+        var registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+        });
+        when(secretService.getObservations())
+                .thenReturn(new SecretsObservations(registry, new SecretsObservationProperties(true)));
+
+        postProcessor(Duration.ZERO).postProcessBeforeInitialization(new SecretHolder(), "holder");
+
+        assertEquals(1, stopped.size());
+        assertEquals(SecretsObservations.INJECTION, stopped.get(0).getName());
+        assertEquals("hit", stopped.get(0).getLowCardinalityKeyValue("outcome").getValue());
+        assertEquals("false", stopped.get(0).getLowCardinalityKeyValue("cached").getValue());
+        assertEquals("key", stopped.get(0).getHighCardinalityKeyValue("key").getValue());
+    }
+
+    @Test
+    void shouldInjectInheritedFields() {
+        var holder = (ChildSecretHolder) postProcessor(Duration.ZERO)
+                .postProcessBeforeInitialization(new ChildSecretHolder(), "child");
+
+        assertEquals("value", holder.secret);
+        assertEquals("value", holder.childSecret);
+    }
+
+    @Test
+    void shouldMemoizeResolvedSecretsForLaterInstances() {
+        var postProcessor = postProcessor(Duration.ZERO, true);
+
+        for (int i = 0; i < 3; i++) {
+            var holder = (SecretHolder) postProcessor.postProcessBeforeInitialization(new SecretHolder(), "holder" + i);
+            assertEquals("value", holder.secret);
+        }
+
+        verify(secretService, times(1)).getFromAnyProvider("key");
+    }
+
+    @Test
+    void shouldResolveEveryInstanceWhenMemoizationIsNotConfigured() {
+        var postProcessor = new SecretValueBeanPostProcessor(new MockEnvironment(), secretService,
+                new SecretsInjectionProperties(false, false, Duration.ZERO, null),
+                new SecretBindingRegistry(secretService));
+
+        postProcessor.postProcessBeforeInitialization(new SecretHolder(), "first");
+        postProcessor.postProcessBeforeInitialization(new SecretHolder(), "second");
+
+        verify(secretService, times(2)).getFromAnyProvider("key");
+    }
+
+    @Test
+    void shouldResolveAgainOnceMemoizedSecretIsRotated() {
+        var postProcessor = postProcessor(Duration.ZERO, true);
+        postProcessor.postProcessBeforeInitialization(new SecretHolder(), "first");
+        var previous = SecretDTO.builder().origin(Origin.CUSTOM).key("key").value("value").build();
+        var current = SecretDTO.builder().origin(Origin.CUSTOM).key("key").value("rotated").build();
+
+        postProcessor.onApplicationEvent(new SecretRotatedEvent(this, Origin.CUSTOM, "key", previous, current));
+        postProcessor.postProcessBeforeInitialization(new SecretHolder(), "second");
+
+        verify(secretService, times(2)).getFromAnyProvider("key");
+    }
+
+    @Test
+    void shouldRegisterOnlySingletonBeansForHotReload() {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("singleton", new RootBeanDefinition(SecretHolder.class));
+        var prototype = new RootBeanDefinition(SecretHolder.class);
+        prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("prototype", prototype);
+        var registry = new SecretBindingRegistry(secretService);
+        var postProcessor = new SecretValueBeanPostProcessor(new MockEnvironment(), secretService,
+                new SecretsInjectionProperties(false, true, Duration.ZERO, false), registry);
+        postProcessor.setBeanFactory(beanFactory);
+
+        postProcessor.postProcessBeforeInitialization(new SecretHolder(), "singleton");
+        for (int i = 0; i < 3; i++) {
+            postProcessor.postProcessBeforeInitialization(new SecretHolder(), "prototype");
+        }
+
+        assertEquals(1, registry.size());
+        verify(secretService, times(1)).retain(Origin.ANY, "key");
+    }
+
+    @Test
+    void shouldReinjectRegisteredFieldWhenSecretIsRotated() {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("holder", new RootBeanDefinition(SecretHolder.class));
+        var registry = new SecretBindingRegistry(secretService);
+        var postProcessor = new SecretValueBeanPostProcessor(new MockEnvironment(), secretService,
+                new SecretsInjectionProperties(false, true, Duration.ZERO, false), registry);
+        postProcessor.setBeanFactory(beanFactory);
+        var holder = (SecretHolder) postProcessor.postProcessBeforeInitialization(new SecretHolder(), "holder");
+        var previous = SecretDTO.builder().origin(Origin.CUSTOM).key("key").value("value").build();
+        var current = SecretDTO.builder().origin(Origin.CUSTOM).key("key").value("rotated").build();
+        when(secretService.getFromAnyProvider("key")).thenReturn(Optional.of(current));
+
+        registry.onApplicationEvent(new SecretRotatedEvent(this, Origin.CUSTOM, "key", previous, current));
+
+        assertEquals("rotated", holder.secret);
+    }
+
+    private SecretValueBeanPostProcessor postProcessor(Duration startupBudget) {
+        return postProcessor(startupBudget, false);
+    }
+
+    private SecretValueBeanPostProcessor postProcessor(Duration startupBudget, boolean memoize) {
+        return new SecretValueBeanPostProcessor(new MockEnvironment(), secretService,
+                new SecretsInjectionProperties(false, false, startupBudget, memoize),
+                new SecretBindingRegistry(secretService));
+    }
+
+    static class SecretHolder {
+        @SecretValue("key")
+        String secret;
+    }
+
+    static class ChildSecretHolder extends SecretHolder {
+        @SecretValue("child-key")
+        String childSecret;
+    }
+}
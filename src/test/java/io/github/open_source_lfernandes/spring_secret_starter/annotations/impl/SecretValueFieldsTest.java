@@ -0,0 +1,72 @@
+package io.github.open_source_lfernandes.spring_secret_starter.annotations.impl;
+
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.impl.SecretValueFields.SecretField;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretValueFieldsTest {
+
+    final SecretValueFields secretValueFields = new SecretValueFields();
+
+    @Test
+    void shouldIncludeInheritedFieldsSuperclassFirst() {
+        List<SecretField> fields = secretValueFields.get(ChildHolder.class);
+
+        assertEquals(List.of("inherited", "declared"), fields.stream().map(field -> field.field().getName()).toList());
+    }
+
+    @Test
+    void shouldCacheClassesWithoutAnnotatedFields() {
+        List<SecretField> fields = secretValueFields.get(PlainHolder.class);
+
+        assertTrue(fields.isEmpty());
+        assertSame(fields, secretValueFields.get(PlainHolder.class));
+    }
+
+    @Test
+    void shouldInjectPrivateFinalAndStaticFields() {
+        var holder = new ChildHolder();
+        List<SecretField> fields = secretValueFields.get(ChildHolder.class);
+        fields.forEach(field -> field.set(holder, field.field().getName() + "-value"));
+        var finalHolder = new FinalHolder();
+        secretValueFields.get(FinalHolder.class).get(0).set(finalHolder, "final-value");
+        secretValueFields.get(StaticHolder.class).get(0).set(new StaticHolder(), "static-value");
+
+        assertEquals("inherited-value", holder.getInherited());
+        assertEquals("declared-value", holder.declared);
+        assertEquals("final-value", finalHolder.secret);
+        assertEquals("static-value", StaticHolder.secret);
+    }
+
+    static class ParentHolder {
+        @SecretValue("inherited")
+        private String inherited;
+
+        String getInherited() {
+            return inherited;
+        }
+    }
+
+    static class ChildHolder extends ParentHolder {
+        @SecretValue("declared")
+        private String declared;
+    }
+
+    static class PlainHolder {
+        String field;
+    }
+
+    static class FinalHolder {
+        @SecretValue("final")
+        private final String secret = null;
+    }
+
+    static class StaticHolder {
+        @SecretValue("static")
+        static String secret;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.open_source_lfernandes.spring_secret_starter.aot;
+
+import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.aot.BeanRegistrationCode;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.javapoet.ClassName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SecretValueBeanRegistrationAotProcessorTest {
+
+    final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    final SecretValueBeanRegistrationAotProcessor processor = new SecretValueBeanRegistrationAotProcessor();
+
+    @Test
+    void shouldNotContributeForBeansWithoutAnnotatedFields() {
+        assertNull(processor.processAheadOfTime(register(PlainBean.class)));
+    }
+
+    @Test
+    void shouldRegisterHintsOfAnnotatedFieldsTypesAndCallbacks() throws NoSuchMethodException {
+        BeanRegistrationAotContribution contribution = processor.processAheadOfTime(register(ChildBean.class));
+        var generationContext = new DefaultGenerationContext(
+                new ClassNameGenerator(ClassName.get(getClass())), new InMemoryGeneratedFiles());
+
+        contribution.applyTo(generationContext, mock(BeanRegistrationCode.class));
+
+        RuntimeHints hints = generationContext.getRuntimeHints();
+        assertTrue(RuntimeHintsPredicates.reflection().onField(ParentBean.class, "inherited").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(ChildBean.class, "credentials").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Credentials.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(ChildBean.class.getDeclaredMethod("reconnect", Credentials.class)).test(hints));
+    }
+
+    private RegisteredBean register(Class<?> beanClass) {
+        beanFactory.registerBeanDefinition(beanClass.getSimpleName(), new RootBeanDefinition(beanClass));
+        return RegisteredBean.of(beanFactory, beanClass.getSimpleName());
+    }
+
+    record Credentials(String username, List<String> roles) {
+    }
+
+    static class PlainBean {
+        String field;
+    }
+
+    static class ParentBean {
+        @SecretValue("inherited")
+        private String inherited;
+    }
+
+    static class ChildBean extends ParentBean {
+        @SecretValue(value = "credentials", type = Credentials.class, onChange = "reconnect")
+        private Credentials credentials;
+
+        void reconnect(Credentials credentials) {
+        }
+    }
+}
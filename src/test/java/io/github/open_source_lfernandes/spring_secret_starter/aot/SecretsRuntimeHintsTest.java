@@ -0,0 +1,21 @@
+package io.github.open_source_lfernandes.spring_secret_starter.aot;
+
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretsRuntimeHintsTest {
+
+    @Test
+    void shouldRegisterDtoBindingAndSkipAbsentAwsModules() {
+        var hints = new RuntimeHints();
+
+        new SecretsRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SecretDTO.class).test(hints));
+        assertTrue(hints.reflection().typeHints().noneMatch(type -> type.getType().getName().contains(".sts.")));
+    }
+}
@@ -2,13 +2,16 @@ package io.github.open_source_lfernandes.spring_secret_starter.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.open_source_lfernandes.spring_secret_starter.annotations.SecretValue;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretBatchDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
 import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsProperties;
 import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
 import io.github.open_source_lfernandes.spring_secret_starter.utils.faker.Credential;
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Bean;
@@ -17,13 +20,22 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 @ActiveProfiles("test")
-@TestPropertySource(locations = "classpath:application-test.yml")
+@TestPropertySource(locations = "classpath:application-test.yml", properties = {
+        "spring.secrets.cache.enabled=true",
+        "spring.secrets.cache.ttl=300ms",
+        "spring.secrets.cache.refresh-ahead=true",
+        "spring.secrets.cache.refresh-window=100ms",
+        "spring.secrets.cache.negative-ttl=0s"
+})
 @ContextConfiguration(classes = {
         SecretsManagerServiceAutoConfiguration.class,
         SecretValueBeanPostProcessorConfiguration.class,
@@ -43,6 +55,11 @@ class SecretValueBeanPostProcessorConfigurationTest {
     @SecretValue(value = "${example.credential}", type = Credential.class)
     private Credential secretCredentialValue;
 
+    @Autowired
+    private SecretHolder secretHolder;
+    @Autowired
+    private CustomSecretsProvider customSecretsProvider;
+
     @Test
     void contextLoads() {
         // tests configuration startup
@@ -50,8 +67,51 @@ class SecretValueBeanPostProcessorConfigurationTest {
         assertEquals(CUSTOM_OBJECT_VALUE_CREDENTIAL, secretCredentialValue);
     }
 
+    @Test
+    void shouldInjectBeanFieldsFromPrefetchedSecrets() {
+        assertEquals(CUSTOM_VALUE, secretHolder.secretValue);
+        assertEquals(1, customSecretsProvider.batchCalls.get());
+    }
+
+    @Test
+    void shouldReinjectRotatedSecretAndInvokeCallback() {
+        customSecretsProvider.value = "rotated-value";
+        try {
+            // the key is retained by the registry, so the cache refreshes it although nothing reads it
+            awaitRotation("rotated-value");
+
+            assertEquals("rotated-value", secretHolder.secretValue);
+            assertEquals("rotated-value", secretHolder.lastRotated);
+        } finally {
+            customSecretsProvider.value = CUSTOM_VALUE;
+            awaitRotation(CUSTOM_VALUE);
+        }
+    }
+
+    @SneakyThrows
+    private void awaitRotation(String value) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!value.equals(secretHolder.lastRotated) && System.nanoTime() < deadline) {
+            Thread.sleep(20L);
+        }
+    }
+
+    // Bean declaring an annotated field, prefetched before initialization
+    static class SecretHolder {
+        @SecretValue(value = "${example.secret-key}", onChange = "onSecretRotated")
+        private volatile String secretValue;
+        private volatile String lastRotated;
+
+        void onSecretRotated(String secret) {
+            lastRotated = secret;
+        }
+    }
+
     // Custom Secrets Provider for testing
     static class CustomSecretsProvider extends AbstractSecretsProvider {
+        final AtomicInteger batchCalls = new AtomicInteger();
+        volatile String value = CUSTOM_VALUE;
+
         public CustomSecretsProvider(Integer order) {
             super(new ObjectMapper(), order);
         }
@@ -67,7 +127,7 @@ class SecretValueBeanPostProcessorConfigurationTest {
                 return Optional.of(SecretDTO.builder()
                         .origin(Origin.CUSTOM)
                         .key(key)
-                        .value(CUSTOM_VALUE)
+                        .value(value)
                         .build()
                 );
             }
@@ -81,6 +141,12 @@ class SecretValueBeanPostProcessorConfigurationTest {
             }
             throw new SecretNotFoundException(key);
         }
+
+        @Override
+        public SecretBatchDTO getAll(Collection<String> keys) {
+            batchCalls.incrementAndGet();
+            return super.getAll(keys);
+        }
     }
 
     // Configuration class to provide the custom secrets provider
@@ -91,5 +157,10 @@ class SecretValueBeanPostProcessorConfigurationTest {
         public CustomSecretsProvider customSecretsProvider() {
             return new CustomSecretsProvider(1);
         }
+
+        @Bean
+        public SecretHolder secretHolder() {
+            return new SecretHolder();
+        }
     }
 }
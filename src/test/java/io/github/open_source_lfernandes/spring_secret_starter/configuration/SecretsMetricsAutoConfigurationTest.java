@@ -0,0 +1,82 @@
+package io.github.open_source_lfernandes.spring_secret_starter.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.MeteredSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SecretsProviderDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecretsMetricsAutoConfigurationTest {
+
+    final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(SecretsMetricsAutoConfiguration.class,
+                    SecretsManagerServiceAutoConfiguration.class))
+            .withUserConfiguration(ProviderConfiguration.class)
+            .withPropertyValues("spring.secrets.circuit-breaker.enabled=true", "spring.secrets.cache.enabled=true");
+
+    @Test
+    void shouldRecordProviderCallsWhenMeterRegistryIsPresent() {
+        runner.withBean(MeterRegistry.class, SimpleMeterRegistry::new).run(context -> {
+            assertThat(context).hasSingleBean(SecretsProviderDecorator.class);
+            var registry = context.getBean(MeterRegistry.class);
+
+            context.getBean(SecretsManagerService.class).getFromAnyProvider("key");
+
+            assertThat(registry.get(MeteredSecretsProvider.CALLS).tag("outcome", "hit").timer().count()).isEqualTo(1);
+            assertThat(registry.get("secrets.cache.size").gauge().value()).isEqualTo(1.0);
+            assertThat(registry.get("secrets.circuit-breaker.state").tag("state", "CLOSED").gauge().value()).isEqualTo(1.0);
+            assertThat(registry.get("secrets.circuit-breaker.rejected").functionCounter().count()).isZero();
+        });
+    }
+
+    @Test
+    void shouldNotActivateWithoutMeterRegistry() {
+        runner.run(context -> {
+            assertThat(context).doesNotHaveBean(SecretsProviderDecorator.class);
+            assertThat(context.getBean(SecretsManagerService.class).getFromAnyProvider("key")).isPresent();
+        });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class ProviderConfiguration {
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        AbstractSecretsProvider customSecretsProvider(ObjectMapper objectMapper) {
+            return new AbstractSecretsProvider(objectMapper, 1) {
+                @Override
+                public Origin getOrigin() {
+                    return Origin.CUSTOM;
+                }
+
+                @Override
+                public Optional<SecretDTO> get(String key) {
+                    return Optional.of(SecretDTO.builder().origin(Origin.CUSTOM).key(key).value("value").build());
+                }
+
+                @Override
+                public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+                    throw new SecretNotFoundException(key);
+                }
+            };
+        }
+    }
+}
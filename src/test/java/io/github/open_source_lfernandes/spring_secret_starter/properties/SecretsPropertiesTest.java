@@ -0,0 +1,67 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretsPropertiesTest {
+
+    static final SecretsLookupProperties DEFAULT_LOOKUP = new SecretsLookupProperties(null, null, null, null, null);
+    static final SecretsRetryProperties NO_RETRY = new SecretsRetryProperties(false, null, null, null);
+
+    @Test
+    void shouldAcceptDefaultTimeoutsWithinDefaultDeadline() {
+        assertDoesNotThrow(() -> properties(aws(null), vault(true), DEFAULT_LOOKUP, NO_RETRY));
+    }
+
+    @Test
+    void shouldRejectRetriesOutlastingDeadline() {
+        var retry = new SecretsRetryProperties(true, null, null, null);
+
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> properties(aws(null), null, DEFAULT_LOOKUP, retry));
+        assertTrue(exception.getMessage().contains("spring.secrets.aws.secrets-manager"));
+    }
+
+    @Test
+    void shouldAcceptRetriesWithinDeadline() {
+        var retry = new SecretsRetryProperties(true, 3, null, Duration.ofMillis(500));
+
+        assertDoesNotThrow(() -> properties(aws(Duration.ofSeconds(2)), null, DEFAULT_LOOKUP, retry));
+    }
+
+    @Test
+    void shouldCountBothReadsOfVersionCheck() {
+        var lookup = new SecretsLookupProperties(Duration.ofSeconds(8), null, null, null, null);
+
+        assertDoesNotThrow(() -> properties(null, vault(false), lookup, NO_RETRY));
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> properties(null, vault(true), lookup, NO_RETRY));
+        assertTrue(exception.getMessage().contains("spring.secrets.vault"));
+    }
+
+    @Test
+    void shouldIgnoreDisabledProviders() {
+        var disabled = new SecretsManagerProperties(false, 1, "us-east-1", null, null,
+                new SecretsTimeoutProperties(null, null, Duration.ofMinutes(1)));
+
+        assertDoesNotThrow(() -> properties(new SecretsProperties.AWS(disabled), null, DEFAULT_LOOKUP, NO_RETRY));
+    }
+
+    private static SecretsProperties.AWS aws(Duration call) {
+        return new SecretsProperties.AWS(new SecretsManagerProperties(true, 1, "us-east-1", null, null,
+                new SecretsTimeoutProperties(null, null, call)));
+    }
+
+    private static SecretsVaultProperties vault(boolean versionCheck) {
+        return new SecretsVaultProperties(true, 2, "http://localhost:8200", "secret/data/app", "token",
+                null, null, versionCheck, new SecretsTimeoutProperties(null, null, null));
+    }
+
+    private static SecretsProperties properties(SecretsProperties.AWS aws, SecretsVaultProperties vault,
+                                                SecretsLookupProperties lookup, SecretsRetryProperties retry) {
+        return new SecretsProperties(aws, vault, null, null, lookup, null, null, retry, null, null);
+    }
+}
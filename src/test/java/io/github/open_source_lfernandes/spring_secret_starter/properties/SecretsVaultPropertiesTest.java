@@ -0,0 +1,32 @@
+package io.github.open_source_lfernandes.spring_secret_starter.properties;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretsVaultPropertiesTest {
+
+    @Test
+    void shouldRejectCallTimeout() {
+        var timeout = new SecretsTimeoutProperties(null, null, Duration.ofSeconds(5));
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> properties(timeout));
+        assertTrue(exception.getMessage().contains("spring.secrets.vault.timeout.call"));
+    }
+
+    @Test
+    void shouldBoundDefaultTimeoutsByDefaultDeadline() {
+        var timeout = properties(new SecretsTimeoutProperties(null, null, null)).getTimeout();
+        var deadline = new SecretsLookupProperties(null, null, null, null, null).getDeadline();
+
+        assertTrue(timeout.getConnect().plus(timeout.getRead()).compareTo(deadline) < 0);
+        assertTrue(timeout.getCall().compareTo(deadline) < 0);
+    }
+
+    private static SecretsVaultProperties properties(SecretsTimeoutProperties timeout) {
+        return new SecretsVaultProperties(true, 1, "http://localhost:8200", "secret/app", "token",
+                null, null, null, timeout);
+    }
+}
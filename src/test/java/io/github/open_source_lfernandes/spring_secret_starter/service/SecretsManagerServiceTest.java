@@ -3,19 +3,32 @@ package io.github.open_source_lfernandes.spring_secret_starter.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
 import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.LookupStrategy;
 import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsLookupProperties;
 import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
 import io.github.open_source_lfernandes.spring_secret_starter.service.providers.SecretsProviderAws;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
 import io.github.open_source_lfernandes.spring_secret_starter.utils.faker.Credential;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,12 +48,19 @@ class SecretsManagerServiceTest {
 
     CustomSecretsProvider customSecretsProvider = new CustomSecretsProvider(1);
 
+    final ExecutorService executor = Executors.newCachedThreadPool();
+
     @BeforeEach
     void setUpProviders() {
         final List<AbstractSecretsProvider> providers = List.of(secretsProviderAws, customSecretsProvider);
         secretsManagerService = new SecretsManagerService(providers, new ObjectMapper());
     }
 
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
     @Test
     void shouldReturnSecretFromList() {
         final var secretDTOAwsExpected = SecretDTO.builder()
@@ -85,6 +105,198 @@ class SecretsManagerServiceTest {
                 .isEqualTo(listExpected);
     }
 
+    @Test
+    void shouldIsolateProviderFailureFromList() {
+        when(secretsProviderAws.getOrigin()).thenReturn(Origin.AWS);
+        when(secretsProviderAws.get(CUSTOM_KEY)).thenThrow(new IllegalStateException("aws unavailable"));
+
+        List<SecretDTO> setKeysResponse = secretsManagerService.get(CUSTOM_KEY);
+
+        assertThat(setKeysResponse)
+                .extracting(SecretDTO::origin)
+                .containsExactly(Origin.CUSTOM);
+    }
+
+    @Test
+    void shouldLeaveOutProvidersExceedingDeadline() {
+        final var slowProvider = new CustomSecretsProvider(0) {
+            @Override
+            @SneakyThrows
+            public Optional<SecretDTO> get(String key) {
+                Thread.sleep(1_000L);
+                return super.get(key);
+            }
+        };
+        final var service = new SecretsManagerService(List.of(slowProvider, customSecretsProvider), new ObjectMapper(),
+                executor, new SecretsLookupProperties(Duration.ofMillis(100), null, null, null, null));
+
+        List<SecretDTO> setKeysResponse = service.get(CUSTOM_KEY);
+
+        assertThat(setKeysResponse).hasSize(1);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldInterruptProvidersExceedingDeadline() {
+        final var interrupted = new CountDownLatch(1);
+        final var slowProvider = new CustomSecretsProvider(0) {
+            @Override
+            public Optional<SecretDTO> get(String key) {
+                try {
+                    Thread.sleep(10_000L);
+                } catch (InterruptedException exception) {
+                    interrupted.countDown();
+                }
+                return super.get(key);
+            }
+        };
+        final var service = new SecretsManagerService(List.of(slowProvider, customSecretsProvider), new ObjectMapper(),
+                executor, new SecretsLookupProperties(Duration.ofMillis(100), null, null, null, null));
+
+        assertThat(service.get(CUSTOM_KEY)).hasSize(1);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldLeaveOutProvidersRejectedBySaturatedExecutor() {
+        final var saturated = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.AbortPolicy());
+        final var release = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            final var service = new SecretsManagerService(List.of(secretsProviderAws, customSecretsProvider),
+                    new ObjectMapper(), saturated, new SecretsLookupProperties(Duration.ofSeconds(5), null, null, null, null));
+
+            long start = System.nanoTime();
+            List<SecretDTO> secrets = service.get(CUSTOM_KEY);
+
+            assertThat(secrets).isEmpty();
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        } finally {
+            release.countDown();
+            saturated.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStopQueryingProvidersOnceDeadlineExceeded() {
+        final var slowProvider = new CustomSecretsProvider(0) {
+            @Override
+            @SneakyThrows
+            public Optional<SecretDTO> get(String key) {
+                Thread.sleep(200L);
+                return Optional.empty();
+            }
+        };
+        final var service = new SecretsManagerService(List.of(slowProvider, customSecretsProvider), new ObjectMapper(),
+                executor, new SecretsLookupProperties(Duration.ofMillis(100), null, null, null, null));
+
+        assertTrue(service.getFromAnyProvider(CUSTOM_KEY).isEmpty());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldReturnSecretFromAnyProviderAsync() {
+        when(secretsProviderAws.getAsync(CUSTOM_KEY))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("aws unavailable")));
+
+        var optionalSecretDTO = secretsManagerService.getFromAnyProviderAsync(CUSTOM_KEY).get();
+
+        assertTrue(optionalSecretDTO.isPresent());
+        assertEquals(Origin.CUSTOM, optionalSecretDTO.get().origin());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldReturnSecretsFromAllProvidersAsync() {
+        final var secretDTOAws = SecretDTO.builder().origin(Origin.AWS).key(CUSTOM_KEY).value("secret").build();
+        when(secretsProviderAws.getAsync(CUSTOM_KEY)).thenReturn(CompletableFuture.completedFuture(Optional.of(secretDTOAws)));
+
+        List<SecretDTO> secrets = secretsManagerService.getAsync(CUSTOM_KEY).get();
+
+        assertThat(secrets).extracting(SecretDTO::origin).containsExactly(Origin.AWS, Origin.CUSTOM);
+    }
+
+    @Test
+    void shouldFailWithSecretNotFoundWhenNoProviderFindsSecretAsync() {
+        when(secretsProviderAws.getAsync("wrong-key", Credential.class))
+                .thenReturn(CompletableFuture.failedFuture(new SecretNotFoundException("wrong-key")));
+
+        var exception = assertThrows(ExecutionException.class,
+                () -> secretsManagerService.getFromAnyProviderAsync("wrong-key", Credential.class).get());
+        assertInstanceOf(SecretNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void shouldReturnSecretFromFasterProviderWhenHedged() {
+        final var slowProvider = new CustomSecretsProvider(0) {
+            @Override
+            @SneakyThrows
+            public Optional<SecretDTO> get(String key) {
+                Thread.sleep(2_000L);
+                return super.get(key);
+            }
+
+            @Override
+            public Origin getOrigin() {
+                return Origin.VAULT;
+            }
+        };
+        final var service = new SecretsManagerService(List.of(slowProvider, customSecretsProvider), new ObjectMapper(),
+                executor,
+                new SecretsLookupProperties(Duration.ofMillis(300), null, LookupStrategy.HEDGED, Duration.ofMillis(50), null));
+
+        long start = System.nanoTime();
+        var optionalSecretDTO = service.getFromAnyProvider(CUSTOM_KEY);
+
+        assertTrue(optionalSecretDTO.isPresent());
+        assertEquals(Origin.CUSTOM, optionalSecretDTO.get().origin());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void shouldPreferSlowerHigherPriorityProviderWhenHedged() {
+        final var slowProvider = new CustomSecretsProvider(0) {
+            @Override
+            @SneakyThrows
+            public Optional<SecretDTO> get(String key) {
+                Thread.sleep(300L);
+                return super.get(key).map(secret -> SecretDTO.builder()
+                        .origin(Origin.VAULT).key(secret.key()).value(secret.value()).build());
+            }
+
+            @Override
+            public Origin getOrigin() {
+                return Origin.VAULT;
+            }
+        };
+        final var service = new SecretsManagerService(List.of(slowProvider, customSecretsProvider), new ObjectMapper(),
+                executor,
+                new SecretsLookupProperties(Duration.ofSeconds(5), null, LookupStrategy.HEDGED, Duration.ZERO, null));
+
+        var optionalSecretDTO = service.getFromAnyProvider(CUSTOM_KEY);
+
+        assertTrue(optionalSecretDTO.isPresent());
+        assertEquals(Origin.VAULT, optionalSecretDTO.get().origin());
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoProviderFindsSecretHedged() {
+        when(secretsProviderAws.get(anyString())).thenReturn(Optional.empty());
+        final var service = new SecretsManagerService(List.of(secretsProviderAws, customSecretsProvider), new ObjectMapper(),
+                executor,
+                new SecretsLookupProperties(null, null, LookupStrategy.HEDGED, Duration.ZERO, null));
+
+        assertTrue(service.getFromAnyProvider("wrong-key").isEmpty());
+    }
+
     @Test
     void shouldReturnSecretFromProviderAws() {
         final var key = "key";
@@ -193,6 +405,17 @@ class SecretsManagerServiceTest {
         assertEquals(secretDTOExpected.get(), optionalSecretDTO.get());
     }
 
+    @Test
+    void shouldReturnSecretBytesFromAnyProviderCustom() {
+        when(secretsProviderAws.getOrigin()).thenReturn(Origin.AWS);
+        when(secretsProviderAws.getBytes(CUSTOM_KEY)).thenReturn(Optional.empty());
+
+        try (SecretBytes bytes = secretsManagerService.getBytesFromAnyProvider(CUSTOM_KEY).orElseThrow()) {
+            assertArrayEquals(CUSTOM_SECRET_VALUE.toCharArray(), bytes.toCharArray());
+        }
+        assertTrue(secretsManagerService.getBytes(Origin.AWS, CUSTOM_KEY).isEmpty());
+    }
+
     @Test
     void shouldReturnEmptySecretFromAnyProvider() {
         when(secretsProviderAws.get(anyString())).thenReturn(Optional.empty());
@@ -0,0 +1,461 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.SecretStorage;
+import io.github.open_source_lfernandes.spring_secret_starter.events.SecretRotatedEvent;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsCacheProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretBytes;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors;
+import io.github.open_source_lfernandes.spring_secret_starter.utils.faker.Credential;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingSecretsProviderTest {
+
+    static final String KEY = "key";
+    static final String VALUE = "value";
+    static final String CREDENTIAL_KEY = "credential";
+    static final String CREDENTIAL_VALUE = "{\"username\":\"lucas\",\"password\":\"123456\"}";
+
+    CountingSecretsProvider delegate;
+
+    @BeforeEach
+    void setUpProvider() {
+        delegate = new CountingSecretsProvider();
+    }
+
+    @Test
+    void shouldReturnSameInstanceFromCache() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMinutes(1), null));
+
+        Optional<SecretDTO> first = cachingProvider.get(KEY);
+        Optional<SecretDTO> second = cachingProvider.get(KEY);
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    void shouldKeepOriginAndOrderOfDelegate() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMinutes(1), null));
+
+        assertEquals(Origin.CUSTOM, cachingProvider.getOrigin());
+        assertEquals(delegate.getOrder(), cachingProvider.getOrder());
+    }
+
+    @Test
+    void shouldNotCacheMissingSecretsWhenNegativeCachingIsDisabled() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMinutes(1), null));
+
+        assertTrue(cachingProvider.get("wrong-key").isEmpty());
+        assertTrue(cachingProvider.get("wrong-key").isEmpty());
+
+        assertEquals(2, delegate.calls.get());
+        assertEquals(0, cachingProvider.size());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldReloadSecretAfterTtl() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMillis(10), null));
+
+        cachingProvider.get(KEY);
+        Thread.sleep(50L);
+        cachingProvider.get(KEY);
+
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    void shouldReloadSecretAfterInvalidate() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMinutes(1), null));
+
+        cachingProvider.get(KEY);
+        cachingProvider.invalidate(KEY);
+        cachingProvider.get(KEY);
+
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    void shouldEvictByWeight() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMinutes(1), 1L));
+
+        cachingProvider.get(KEY);
+
+        assertEquals(0, cachingProvider.size());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldConvertCachedSecretToType() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMinutes(1), null));
+
+        Credential first = cachingProvider.get(CREDENTIAL_KEY, Credential.class);
+        Credential second = cachingProvider.get(CREDENTIAL_KEY, Credential.class);
+
+        assertEquals(new Credential("lucas", "123456"), first);
+        assertEquals(first, second);
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    void shouldFallbackToDelegateWhenTypedSecretIsMissing() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMinutes(1), null));
+
+        assertThrows(SecretNotFoundException.class, () -> cachingProvider.get("wrong-key", Credential.class));
+    }
+
+    @Test
+    void shouldLoadOnlyMissingKeysInBatch() {
+        var cachingProvider = new CachingSecretsProvider(delegate, properties(Duration.ofMinutes(1), null));
+
+        cachingProvider.get(KEY);
+        var batch = cachingProvider.getAll(List.of(KEY, CREDENTIAL_KEY, "wrong-key"));
+
+        assertEquals(2, batch.secrets().size());
+        assertTrue(batch.errors().containsKey("wrong-key"));
+        assertEquals(3, delegate.calls.get());
+    }
+
+    @Test
+    void shouldRememberMissingSecretsUntilNegativeTtl() {
+        var cachingProvider = new CachingSecretsProvider(delegate,
+                new SecretsCacheProperties(true, Duration.ofMinutes(1), null, null, Duration.ofMinutes(1), null, null, null, null));
+
+        assertTrue(cachingProvider.get("wrong-key").isEmpty());
+        assertTrue(cachingProvider.get("wrong-key").isEmpty());
+        assertThrows(SecretNotFoundException.class, () -> cachingProvider.get("wrong-key", Credential.class));
+        assertTrue(cachingProvider.getAll(List.of("wrong-key")).errors().containsKey("wrong-key"));
+
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldQueryMissingSecretAgainAfterNegativeTtl() {
+        var cachingProvider = new CachingSecretsProvider(delegate,
+                new SecretsCacheProperties(true, Duration.ofMinutes(1), null, null, Duration.ofMillis(10), null, null, null, null));
+
+        cachingProvider.get("wrong-key");
+        Thread.sleep(50L);
+        cachingProvider.get("wrong-key");
+
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    void shouldForgetMissingSecretAfterInvalidate() {
+        var cachingProvider = new CachingSecretsProvider(delegate,
+                new SecretsCacheProperties(true, Duration.ofMinutes(1), null, null, Duration.ofMinutes(1), null, null, null, null));
+
+        cachingProvider.get("wrong-key");
+        cachingProvider.invalidate("wrong-key");
+        cachingProvider.get("wrong-key");
+
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRefreshSecretInBackgroundBeforeTtl() {
+        var cachingProvider = new CachingSecretsProvider(delegate, refreshAheadProperties());
+
+        cachingProvider.get(KEY);
+        readFor(cachingProvider, Duration.ofMillis(500));
+
+        assertTrue(delegate.calls.get() >= 2);
+        assertEquals(VALUE, cachingProvider.get(KEY).orElseThrow().value());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldLetSecretNotReadExpireInsteadOfRefreshingIt() {
+        var cachingProvider = new CachingSecretsProvider(delegate, refreshAheadProperties());
+
+        cachingProvider.get(KEY);
+        Thread.sleep(300L);
+
+        assertEquals(1, delegate.calls.get());
+        assertFalse(cachingProvider.isCached(KEY));
+        cachingProvider.get(KEY);
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRefreshRetainedSecretNotRead() {
+        var cachingProvider = new CachingSecretsProvider(delegate, refreshAheadProperties());
+
+        cachingProvider.retain(KEY);
+        cachingProvider.get(KEY);
+        Thread.sleep(500L);
+
+        assertTrue(delegate.calls.get() >= 3);
+        assertTrue(cachingProvider.isCached(KEY));
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldDiscardRefreshCompletingAfterInvalidate() {
+        List<Object> events = new CopyOnWriteArrayList<>();
+        var cachingProvider = new CachingSecretsProvider(delegate, refreshAheadProperties(),
+                SecretsExecutors.sharedRefreshScheduler(), events::add);
+        var refresh = new CompletableFuture<Optional<SecretDTO>>();
+        delegate.refresh = refresh;
+
+        cachingProvider.get(KEY);
+        cachingProvider.get(KEY);
+        assertTrue(delegate.refreshing.await(1, TimeUnit.SECONDS));
+        cachingProvider.invalidate(KEY);
+        refresh.complete(Optional.of(SecretDTO.builder().origin(Origin.CUSTOM).key(KEY).value("rotated").build()));
+
+        assertFalse(cachingProvider.isCached(KEY));
+        assertTrue(events.isEmpty());
+        assertEquals(VALUE, cachingProvider.get(KEY).orElseThrow().value());
+        assertEquals(2, delegate.calls.get());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldServeLastGoodSecretWhileRefreshFails() {
+        var cachingProvider = new CachingSecretsProvider(delegate, refreshAheadProperties());
+
+        cachingProvider.get(KEY);
+        delegate.failure = new IllegalStateException("provider unavailable");
+        readFor(cachingProvider, Duration.ofMillis(500));
+
+        assertEquals(VALUE, cachingProvider.get(KEY).orElseThrow().value());
+        assertTrue(delegate.calls.get() >= 2);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldPublishRotationWhenRefreshFindsNewValue() {
+        List<Object> events = new CopyOnWriteArrayList<>();
+        var cachingProvider = new CachingSecretsProvider(delegate, refreshAheadProperties(),
+                SecretsExecutors.sharedRefreshScheduler(), events::add);
+
+        cachingProvider.get(KEY);
+        delegate.value = "rotated";
+        readFor(cachingProvider, Duration.ofMillis(500));
+
+        assertEquals("rotated", cachingProvider.get(KEY).orElseThrow().value());
+        var rotation = assertInstanceOf(SecretRotatedEvent.class, events.get(0));
+        assertEquals(KEY, rotation.getKey());
+        assertEquals(Origin.CUSTOM, rotation.getOrigin());
+        assertEquals(VALUE, rotation.getPrevious().value());
+        assertEquals("rotated", rotation.getCurrent().value());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldStopRefreshingAfterInvalidate() {
+        var cachingProvider = new CachingSecretsProvider(delegate, refreshAheadProperties());
+
+        cachingProvider.get(KEY);
+        cachingProvider.invalidate(KEY);
+        Thread.sleep(300L);
+
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldServeSecretStoredOffHeap() {
+        var cachingProvider = new CachingSecretsProvider(delegate, offHeapProperties());
+
+        Optional<SecretDTO> first = cachingProvider.get(CREDENTIAL_KEY);
+        Optional<SecretDTO> second = cachingProvider.get(CREDENTIAL_KEY);
+
+        assertEquals(first, second);
+        assertNotSame(first.get(), second.get());
+        assertEquals(CREDENTIAL_VALUE, second.get().value());
+        assertEquals(new Credential("lucas", "123456"), cachingProvider.get(CREDENTIAL_KEY, Credential.class));
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    void shouldCopyBytesOfSecretStoredOffHeap() {
+        var cachingProvider = new CachingSecretsProvider(delegate, offHeapProperties());
+
+        SecretBytes loaded = cachingProvider.getBytes(KEY).orElseThrow();
+        SecretBytes cached = cachingProvider.getBytes(KEY).orElseThrow();
+        cachingProvider.invalidate(KEY);
+
+        assertArrayEquals(VALUE.toCharArray(), loaded.toCharArray());
+        assertArrayEquals(VALUE.toCharArray(), cached.toCharArray());
+        assertTrue(cachingProvider.getBytes("wrong-key").isEmpty());
+        assertEquals(2, delegate.calls.get());
+        loaded.destroy();
+        cached.destroy();
+    }
+
+    @Test
+    void shouldCopyBytesFromCacheThroughDecorator() {
+        var decodedGets = new AtomicInteger();
+        var cachingProvider = new CachingSecretsProvider(delegate, offHeapProperties()) {
+            @Override
+            public Optional<SecretDTO> get(String key) {
+                decodedGets.incrementAndGet();
+                return super.get(key);
+            }
+        };
+        var decorator = new DelegatingSecretsProvider(cachingProvider) {
+        };
+
+        try (SecretBytes loaded = decorator.getBytes(KEY).orElseThrow();
+             SecretBytes cached = decorator.getBytes(KEY).orElseThrow()) {
+            assertArrayEquals(VALUE.toCharArray(), cached.toCharArray());
+        }
+        assertEquals(1, decodedGets.get());
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    void shouldZeroBytesOfSecretStoredOffHeapOnInvalidate() {
+        var cachingProvider = new CachingSecretsProvider(delegate, offHeapProperties());
+        cachingProvider.get(KEY);
+        SecretBytes cached = cachingProvider.cachedBytes(KEY);
+        ByteBuffer view = cached.apply(ByteBuffer::duplicate);
+
+        cachingProvider.invalidate(KEY);
+
+        assertTrue(cached.isDestroyed());
+        assertZeroed(view);
+    }
+
+    @Test
+    void shouldZeroBytesOfSecretStoredOffHeapOnEviction() {
+        var properties = new SecretsCacheProperties(true, Duration.ofMinutes(1), 1L, null, Duration.ZERO,
+                null, null, null, SecretStorage.OFF_HEAP);
+        var cachingProvider = new CachingSecretsProvider(delegate, properties);
+        cachingProvider.get(KEY);
+        SecretBytes cached = cachingProvider.cachedBytes(KEY);
+        ByteBuffer view = cached.apply(ByteBuffer::duplicate);
+
+        cachingProvider.get(CREDENTIAL_KEY);
+
+        assertFalse(cachingProvider.isCached(KEY));
+        assertTrue(cached.isDestroyed());
+        assertZeroed(view);
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldZeroBytesOfSecretStoredOffHeapOnReplacement() {
+        var properties = new SecretsCacheProperties(true, Duration.ofMillis(100), null, null, Duration.ZERO,
+                true, Duration.ofMillis(20), Duration.ofMinutes(1), SecretStorage.OFF_HEAP);
+        var cachingProvider = new CachingSecretsProvider(delegate, properties);
+        cachingProvider.get(KEY);
+        SecretBytes cached = cachingProvider.cachedBytes(KEY);
+        ByteBuffer view = cached.apply(ByteBuffer::duplicate);
+
+        delegate.value = "rotated";
+        readFor(cachingProvider, Duration.ofMillis(300));
+
+        assertEquals("rotated", cachingProvider.get(KEY).orElseThrow().value());
+        assertNotSame(cached, cachingProvider.cachedBytes(KEY));
+        assertTrue(cached.isDestroyed());
+        assertZeroed(view);
+    }
+
+    @Test
+    void shouldNotCaptureStackTraceOfSecretNotFound() {
+        assertEquals(0, new SecretNotFoundException(KEY).getStackTrace().length);
+    }
+
+    private static void assertZeroed(ByteBuffer view) {
+        for (int i = 0; i < view.capacity(); i++) {
+            assertEquals(0, view.get(i));
+        }
+    }
+
+    @SneakyThrows
+    private static void readFor(CachingSecretsProvider cachingProvider, Duration duration) {
+        long end = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < end) {
+            cachingProvider.get(KEY);
+            Thread.sleep(10L);
+        }
+    }
+
+    private static SecretsCacheProperties refreshAheadProperties() {
+        return new SecretsCacheProperties(true, Duration.ofMillis(100), null, null, Duration.ZERO,
+                true, Duration.ofMillis(20), Duration.ofMinutes(1), null);
+    }
+
+    private static SecretsCacheProperties offHeapProperties() {
+        return new SecretsCacheProperties(true, Duration.ofMinutes(1), null, null, Duration.ZERO,
+                null, null, null, SecretStorage.OFF_HEAP);
+    }
+
+    private static SecretsCacheProperties properties(Duration ttl, Long maxWeight) {
+        return new SecretsCacheProperties(true, ttl, null, maxWeight, Duration.ZERO, null, null, null, null);
+    }
+
+    static class CountingSecretsProvider extends AbstractSecretsProvider {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile RuntimeException failure;
+        volatile String value = VALUE;
+        volatile CompletableFuture<Optional<SecretDTO>> refresh;
+        final CountDownLatch refreshing = new CountDownLatch(1);
+
+        CountingSecretsProvider() {
+            super(new ObjectMapper(), 1);
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return Origin.CUSTOM;
+        }
+
+        @Override
+        public Optional<SecretDTO> get(String key) {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            if (KEY.equals(key)) {
+                return Optional.of(SecretDTO.builder().origin(Origin.CUSTOM).key(key).value(value).build());
+            }
+            if (CREDENTIAL_KEY.equals(key)) {
+                return Optional.of(SecretDTO.builder().origin(Origin.CUSTOM).key(key).value(CREDENTIAL_VALUE).build());
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+            throw new SecretNotFoundException(key);
+        }
+
+        @Override
+        public CompletableFuture<Optional<SecretDTO>> refreshAsync(String key, SecretDTO previous) {
+            if (refresh != null) {
+                refreshing.countDown();
+                return refresh;
+            }
+            return super.refreshAsync(key, previous);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.CircuitState;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.ProviderUnavailableException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.RateLimitExceededException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsCircuitBreakerProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsRateLimitProperties;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerSecretsProviderTest {
+
+    static final String KEY = "key";
+
+    FlakySecretsProvider delegate;
+
+    @BeforeEach
+    void setUpProvider() {
+        delegate = new FlakySecretsProvider();
+    }
+
+    @Test
+    void shouldOpenAfterFailureRateThresholdAndFailFast() {
+        var provider = new CircuitBreakerSecretsProvider(delegate, properties(Duration.ofMinutes(1)));
+        delegate.failure = new IllegalStateException("vault unreachable");
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> provider.get(KEY));
+        }
+
+        assertEquals(CircuitState.OPEN, provider.getState());
+        assertThrows(ProviderUnavailableException.class, () -> provider.get(KEY));
+        assertEquals(4, delegate.calls.get());
+        assertEquals(1, provider.getRejectedCount());
+    }
+
+    @Test
+    void shouldCountMissingSecretsAsSuccess() {
+        var provider = new CircuitBreakerSecretsProvider(delegate, properties(Duration.ofMinutes(1)));
+
+        for (int i = 0; i < 8; i++) {
+            assertThrows(SecretNotFoundException.class, () -> provider.get("missing", String.class));
+            assertTrue(provider.get("missing").isEmpty());
+        }
+
+        assertEquals(CircuitState.CLOSED, provider.getState());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldCloseAfterSuccessfulProbe() {
+        var provider = new CircuitBreakerSecretsProvider(delegate, properties(Duration.ofMillis(20)));
+        delegate.failure = new IllegalStateException("vault unreachable");
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> provider.get(KEY));
+        }
+        delegate.failure = null;
+        Thread.sleep(50L);
+
+        assertEquals("value", provider.get(KEY).orElseThrow().value());
+        assertEquals(CircuitState.CLOSED, provider.getState());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldOpenAgainAfterFailedProbe() {
+        var provider = new CircuitBreakerSecretsProvider(delegate, properties(Duration.ofMillis(20)));
+        delegate.failure = new IllegalStateException("vault unreachable");
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> provider.get(KEY));
+        }
+        Thread.sleep(50L);
+
+        var probe = assertThrows(ExecutionException.class, () -> provider.getAsync(KEY).get());
+        assertInstanceOf(IllegalStateException.class, probe.getCause());
+
+        assertEquals(CircuitState.OPEN, provider.getState());
+        assertEquals(2, provider.getOpenedCount());
+        var rejected = assertThrows(ExecutionException.class, () -> provider.getAsync(KEY).get());
+        assertInstanceOf(ProviderUnavailableException.class, rejected.getCause());
+    }
+
+    @Test
+    void shouldCountSlowCallsAsFailures() {
+        var properties = new SecretsCircuitBreakerProperties(true, 4, 4, 50, Duration.ZERO, Duration.ofMinutes(1));
+        var provider = new CircuitBreakerSecretsProvider(delegate, properties);
+
+        for (int i = 0; i < 4; i++) {
+            provider.get(KEY);
+        }
+
+        assertEquals(CircuitState.OPEN, provider.getState());
+    }
+
+    @Test
+    void shouldNotOpenWhenLocalRateLimiterIsSaturated() {
+        var rateLimited = new RateLimitedSecretsProvider(delegate,
+                new SecretsRateLimitProperties(true, 0.001, 1, Duration.ZERO));
+        var provider = new CircuitBreakerSecretsProvider(rateLimited, properties(Duration.ofMinutes(1)));
+
+        provider.get(KEY);
+        for (int i = 0; i < 8; i++) {
+            assertThrows(RateLimitExceededException.class, () -> provider.get(KEY));
+            var rejected = assertThrows(ExecutionException.class, () -> provider.getAsync(KEY).get());
+            assertInstanceOf(RateLimitExceededException.class, rejected.getCause());
+        }
+
+        assertEquals(CircuitState.CLOSED, provider.getState());
+        assertEquals(0, provider.getOpenedCount());
+        assertEquals(1, delegate.calls.get());
+    }
+
+    private static SecretsCircuitBreakerProperties properties(Duration openDuration) {
+        return new SecretsCircuitBreakerProperties(true, 4, 4, 50, Duration.ofMinutes(1), openDuration);
+    }
+
+    static class FlakySecretsProvider extends AbstractSecretsProvider {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile RuntimeException failure;
+
+        FlakySecretsProvider() {
+            super(new ObjectMapper(), 1);
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return Origin.VAULT;
+        }
+
+        @Override
+        public Optional<SecretDTO> get(String key) {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            if (KEY.equals(key)) {
+                return Optional.of(SecretDTO.builder().origin(Origin.VAULT).key(key).value("value").build());
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+            calls.incrementAndGet();
+            throw new SecretNotFoundException(key);
+        }
+    }
+}
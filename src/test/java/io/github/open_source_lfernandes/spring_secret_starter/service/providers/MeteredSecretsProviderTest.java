@@ -0,0 +1,101 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsCacheProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredSecretsProviderTest {
+
+    static final String KEY = "key";
+
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeHitsMissesAndErrors() {
+        var delegate = new StubSecretsProvider();
+        var provider = new MeteredSecretsProvider(delegate, registry);
+
+        provider.get(KEY);
+        provider.get("missing");
+        delegate.failure = new IllegalStateException("unreachable");
+        assertThrows(IllegalStateException.class, () -> provider.get(KEY));
+
+        assertEquals(1, timer("get", MeteredSecretsProvider.HIT).count());
+        assertEquals(1, timer("get", MeteredSecretsProvider.MISS).count());
+        assertEquals(1, timer("get", MeteredSecretsProvider.ERROR).count());
+        assertEquals(0, provider.getInFlight());
+        assertEquals(0.0, registry.get(MeteredSecretsProvider.IN_FLIGHT).gauge().value());
+    }
+
+    @Test
+    void shouldTagLookupsServedByTheCache() {
+        var delegate = new StubSecretsProvider();
+        var cache = new CachingSecretsProvider(delegate, new SecretsCacheProperties(true, null, null, null, null, null, null, null, null));
+        var provider = new MeteredSecretsProvider(cache, registry);
+
+        provider.get(KEY);
+        provider.get(KEY);
+
+        assertEquals(1, timer("get", MeteredSecretsProvider.HIT).count());
+        assertEquals(1, timer("get", MeteredSecretsProvider.CACHE_HIT).count());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldTimeAsyncAndTypedLookups() {
+        var provider = new MeteredSecretsProvider(new StubSecretsProvider(), registry);
+
+        provider.getAsync(KEY).get(5, TimeUnit.SECONDS);
+        assertThrows(SecretNotFoundException.class, () -> provider.get("missing", String.class));
+
+        assertEquals(1, timer("get-async", MeteredSecretsProvider.HIT).count());
+        assertEquals(1, timer("get-typed", MeteredSecretsProvider.MISS).count());
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return registry.get(MeteredSecretsProvider.CALLS)
+                .tags("origin", Origin.CUSTOM.name(), "operation", operation, "outcome", outcome)
+                .timer();
+    }
+
+    static class StubSecretsProvider extends AbstractSecretsProvider {
+
+        volatile RuntimeException failure;
+
+        StubSecretsProvider() {
+            super(new ObjectMapper(), 1);
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return Origin.CUSTOM;
+        }
+
+        @Override
+        public Optional<SecretDTO> get(String key) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (KEY.equals(key)) {
+                return Optional.of(SecretDTO.builder().origin(Origin.CUSTOM).key(key).value("\"value\"").build());
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+            throw new SecretNotFoundException(key);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.RateLimitExceededException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsRateLimitProperties;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitedSecretsProviderTest {
+
+    static final String KEY = "key";
+
+    @Test
+    void shouldRejectCallsBeyondBurstWhenNoWaitIsAllowed() {
+        var delegate = new CountingSecretsProvider();
+        var provider = new RateLimitedSecretsProvider(delegate,
+                new SecretsRateLimitProperties(true, 1.0, 2, Duration.ZERO));
+
+        provider.get(KEY);
+        provider.get(KEY);
+        assertThrows(RateLimitExceededException.class, () -> provider.get(KEY));
+
+        assertEquals(2, delegate.calls.get());
+        assertEquals(1, provider.getRejectedCount());
+        assertEquals(0, provider.getThrottledCount());
+    }
+
+    @Test
+    void shouldDelayCallsBeyondBurstWithinMaxWait() {
+        var delegate = new CountingSecretsProvider();
+        var provider = new RateLimitedSecretsProvider(delegate,
+                new SecretsRateLimitProperties(true, 50.0, 1, Duration.ofSeconds(1)));
+
+        long start = System.nanoTime();
+        provider.get(KEY);
+        provider.get(KEY);
+        provider.get(KEY);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertEquals(3, delegate.calls.get());
+        assertEquals(2, provider.getThrottledCount());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldDelayAsyncCallsAndFailRejectedOnes() {
+        var delegate = new CountingSecretsProvider();
+        var provider = new RateLimitedSecretsProvider(delegate,
+                new SecretsRateLimitProperties(true, 20.0, 1, Duration.ofMillis(60)));
+
+        var first = provider.getAsync(KEY);
+        var delayed = provider.getAsync(KEY);
+        var rejected = provider.getAsync(KEY);
+
+        assertEquals("value", first.get(5, TimeUnit.SECONDS).orElseThrow().value());
+        assertEquals("value", delayed.get(5, TimeUnit.SECONDS).orElseThrow().value());
+        var exception = assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RateLimitExceededException.class, exception.getCause());
+        assertEquals(1, provider.getThrottledCount());
+        assertEquals(1, provider.getRejectedCount());
+    }
+
+    static class CountingSecretsProvider extends AbstractSecretsProvider {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        CountingSecretsProvider() {
+            super(new ObjectMapper(), 1);
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return Origin.AWS;
+        }
+
+        @Override
+        public Optional<SecretDTO> get(String key) {
+            calls.incrementAndGet();
+            return Optional.of(SecretDTO.builder().origin(Origin.AWS).key(key).value("value").build());
+        }
+
+        @Override
+        public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+            throw new SecretNotFoundException(key);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsRetryProperties;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.secretsmanager.model.InternalServiceErrorException;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryingSecretsProviderTest {
+
+    static final String KEY = "key";
+
+    @Test
+    void shouldRetryThrottledCallsUntilSuccess() {
+        var delegate = new FailingSecretsProvider(2, throttling());
+        var provider = new RetryingSecretsProvider(delegate, properties(3));
+
+        assertEquals("value", provider.get(KEY).orElseThrow().value());
+
+        assertEquals(3, delegate.calls.get());
+        assertEquals(2, provider.getRetriedCount());
+        assertEquals(2, provider.getThrottledCount());
+        assertEquals(0, provider.getExhaustedCount());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        var delegate = new FailingSecretsProvider(Integer.MAX_VALUE,
+                InternalServiceErrorException.builder().statusCode(500).message("internal error").build());
+        var provider = new RetryingSecretsProvider(delegate, properties(3));
+
+        assertThrows(InternalServiceErrorException.class, () -> provider.get(KEY));
+
+        assertEquals(3, delegate.calls.get());
+        assertEquals(2, provider.getRetriedCount());
+        assertEquals(0, provider.getThrottledCount());
+        assertEquals(1, provider.getExhaustedCount());
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        var delegate = new FailingSecretsProvider(Integer.MAX_VALUE,
+                ResourceNotFoundException.builder().statusCode(400).message("not found").build());
+        var provider = new RetryingSecretsProvider(delegate, properties(3));
+
+        assertThrows(ResourceNotFoundException.class, () -> provider.get(KEY));
+        assertThrows(SecretNotFoundException.class, () -> provider.get(KEY, String.class));
+
+        assertEquals(1, delegate.calls.get());
+        assertEquals(0, provider.getRetriedCount());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRetryAsyncCallsWithoutBlocking() {
+        var delegate = new FailingSecretsProvider(1, throttling());
+        var provider = new RetryingSecretsProvider(delegate, properties(3));
+
+        assertEquals("value", provider.getAsync(KEY).get(5, TimeUnit.SECONDS).orElseThrow().value());
+        assertEquals(1, provider.getRetriedCount());
+
+        delegate.failuresLeft.set(Integer.MAX_VALUE);
+        var exception = assertThrows(ExecutionException.class, () -> provider.getAsync(KEY).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SecretsManagerException.class, exception.getCause());
+        assertEquals(1, provider.getExhaustedCount());
+    }
+
+    @Test
+    void shouldClassifyThrottlingAndServerErrors() {
+        assertTrue(RetryingSecretsProvider.isRetryable(throttling()));
+        assertTrue(RetryingSecretsProvider.isThrottling(new IllegalStateException(throttling())));
+        assertTrue(RetryingSecretsProvider.isRetryable(SecretsManagerException.builder().statusCode(503).build()));
+        assertFalse(RetryingSecretsProvider.isRetryable(ResourceNotFoundException.builder().statusCode(400).build()));
+        assertFalse(RetryingSecretsProvider.isRetryable(new IllegalStateException("unreachable")));
+    }
+
+    private static SecretsManagerException throttling() {
+        return (SecretsManagerException) SecretsManagerException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .message("Rate exceeded")
+                .build();
+    }
+
+    private static SecretsRetryProperties properties(int maxAttempts) {
+        return new SecretsRetryProperties(true, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5));
+    }
+
+    static class FailingSecretsProvider extends AbstractSecretsProvider {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failuresLeft;
+        final RuntimeException failure;
+
+        FailingSecretsProvider(int failures, RuntimeException failure) {
+            super(new ObjectMapper(), 1);
+            this.failuresLeft = new AtomicInteger(failures);
+            this.failure = failure;
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return Origin.AWS;
+        }
+
+        @Override
+        public Optional<SecretDTO> get(String key) {
+            calls.incrementAndGet();
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw failure;
+            }
+            return Optional.of(SecretDTO.builder().origin(Origin.AWS).key(key).value("value").build());
+        }
+
+        @Override
+        public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+            throw new SecretNotFoundException(key);
+        }
+    }
+}
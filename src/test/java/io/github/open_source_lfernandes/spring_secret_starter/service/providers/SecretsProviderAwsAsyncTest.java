@@ -0,0 +1,122 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.utils.faker.Credential;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.ResourceNotFoundException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecretsProviderAwsAsyncTest {
+
+    SecretsManagerClient client;
+    SecretsManagerAsyncClient asyncClient;
+    SecretsProviderAws secretsProviderAws;
+
+    @BeforeEach
+    void setUpProvider() {
+        client = mock(SecretsManagerClient.class);
+        asyncClient = mock(SecretsManagerAsyncClient.class);
+        secretsProviderAws = new SecretsProviderAws(new ObjectMapper(), 1, client, asyncClient);
+    }
+
+    @Test
+    void shouldReturnSecretWithAsyncClient() throws Exception {
+        when(asyncClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(GetSecretValueResponse.builder().secretString("value").versionId("v1").build()));
+
+        var secret = secretsProviderAws.getAsync("key").get();
+
+        assertTrue(secret.isPresent());
+        assertEquals(Origin.AWS, secret.get().origin());
+        assertEquals("value", secret.get().value());
+        assertEquals("v1", secret.get().version());
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void shouldKeepCachedSecretWhenCurrentVersionIsUnchanged() throws Exception {
+        var previous = SecretDTO.builder().origin(Origin.AWS).key("key").value("value").version("v1").build();
+        when(asyncClient.describeSecret(any(DescribeSecretRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                describeResponse(Map.of("v1", List.of("AWSCURRENT"), "v0", List.of("AWSPREVIOUS")))));
+
+        var refreshed = secretsProviderAws.refreshAsync("key", previous).get();
+
+        assertSame(previous, refreshed.orElseThrow());
+        verify(asyncClient, never()).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    @Test
+    void shouldDownloadSecretWhenCurrentVersionMoved() throws Exception {
+        var previous = SecretDTO.builder().origin(Origin.AWS).key("key").value("value").version("v1").build();
+        when(asyncClient.describeSecret(any(DescribeSecretRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                describeResponse(Map.of("v2", List.of("AWSCURRENT"), "v1", List.of("AWSPREVIOUS")))));
+        when(asyncClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(GetSecretValueResponse.builder().secretString("rotated").versionId("v2").build()));
+
+        var refreshed = secretsProviderAws.refreshAsync("key", previous).get().orElseThrow();
+
+        assertEquals("rotated", refreshed.value());
+        assertEquals("v2", refreshed.version());
+    }
+
+    @Test
+    void shouldDownloadSecretWhenDescribeFails() throws Exception {
+        var previous = SecretDTO.builder().origin(Origin.AWS).key("key").value("value").version("v1").build();
+        when(asyncClient.describeSecret(any(DescribeSecretRequest.class))).thenReturn(
+                CompletableFuture.failedFuture(new IllegalStateException("access denied")));
+        when(asyncClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(GetSecretValueResponse.builder().secretString("value").versionId("v1").build()));
+
+        assertEquals("value", secretsProviderAws.refreshAsync("key", previous).get().orElseThrow().value());
+        verify(asyncClient).getSecretValue(any(GetSecretValueRequest.class));
+    }
+
+    private static DescribeSecretResponse describeResponse(Map<String, List<String>> versionIdsToStages) {
+        return DescribeSecretResponse.builder().versionIdsToStages(versionIdsToStages).build();
+    }
+
+    @Test
+    void shouldReturnEmptyWhenSecretIsNotFound() throws Exception {
+        when(asyncClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(
+                CompletableFuture.failedFuture(ResourceNotFoundException.builder().message("not found").build()));
+
+        assertTrue(secretsProviderAws.getAsync("missing").get().isEmpty());
+    }
+
+    @Test
+    void shouldConvertSecretToTypeAsync() throws Exception {
+        when(asyncClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(GetSecretValueResponse.builder()
+                        .secretString("{\"username\":\"lucas\",\"password\":\"123456\"}").build()));
+
+        assertEquals(new Credential("lucas", "123456"), secretsProviderAws.getAsync("key", Credential.class).get());
+    }
+
+    @Test
+    void shouldFailWithSecretNotFoundWhenTypedSecretIsMissing() {
+        when(asyncClient.getSecretValue(any(GetSecretValueRequest.class))).thenReturn(
+                CompletableFuture.failedFuture(ResourceNotFoundException.builder().message("not found").build()));
+
+        var exception = assertThrows(ExecutionException.class,
+                () -> secretsProviderAws.getAsync("missing", Credential.class).get());
+        assertInstanceOf(SecretNotFoundException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.messages.Messages;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsRetryProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.APIErrorType;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.BatchGetSecretValueResponse;
+import software.amazon.awssdk.services.secretsmanager.model.SecretValueEntry;
+import software.amazon.awssdk.services.secretsmanager.model.SecretsManagerException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecretsProviderAwsBatchTest {
+
+    SecretsManagerClient client;
+    SecretsProviderAws secretsProviderAws;
+
+    @BeforeEach
+    void setUpProvider() {
+        client = mock(SecretsManagerClient.class);
+        secretsProviderAws = new SecretsProviderAws(new ObjectMapper(), 1, client);
+    }
+
+    @Test
+    void shouldReturnSecretsAndErrorsPerKey() {
+        when(client.batchGetSecretValue(any(BatchGetSecretValueRequest.class))).thenReturn(
+                BatchGetSecretValueResponse.builder()
+                        .secretValues(SecretValueEntry.builder().name("key").arn("arn:key").secretString("value").build())
+                        .errors(
+                                APIErrorType.builder().secretId("missing").errorCode("ResourceNotFoundException").build(),
+                                APIErrorType.builder().secretId("denied").errorCode("AccessDeniedException").message("denied").build())
+                        .build());
+
+        var batch = secretsProviderAws.getAll(List.of("key", "missing", "denied"));
+
+        assertEquals("value", batch.secrets().get("key").value());
+        assertEquals(Messages.SECRET_NOT_FOUND.getDescription(), batch.errors().get("missing"));
+        assertEquals("AccessDeniedException: denied", batch.errors().get("denied"));
+    }
+
+    @Test
+    void shouldSplitKeysInChunksOfTwenty() {
+        when(client.batchGetSecretValue(any(BatchGetSecretValueRequest.class)))
+                .thenReturn(BatchGetSecretValueResponse.builder().build());
+
+        var keys = IntStream.range(0, 45).mapToObj(index -> "key-" + index).toList();
+        var batch = secretsProviderAws.getAll(keys);
+
+        verify(client, times(3)).batchGetSecretValue(any(BatchGetSecretValueRequest.class));
+        assertEquals(45, batch.errors().size());
+        assertTrue(batch.secrets().isEmpty());
+    }
+
+    @Test
+    void shouldThrowThrottledChunk() {
+        when(client.batchGetSecretValue(any(BatchGetSecretValueRequest.class))).thenThrow(throttling());
+
+        assertThrows(SecretsManagerException.class, () -> secretsProviderAws.getAll(List.of("key")));
+    }
+
+    @Test
+    void shouldRetryThrottledChunk() {
+        var retrying = new RetryingSecretsProvider(secretsProviderAws,
+                new SecretsRetryProperties(true, 3, Duration.ofMillis(1), Duration.ofMillis(5)));
+        when(client.batchGetSecretValue(any(BatchGetSecretValueRequest.class)))
+                .thenThrow(throttling())
+                .thenReturn(BatchGetSecretValueResponse.builder()
+                        .secretValues(SecretValueEntry.builder().name("key").arn("arn:key").secretString("value").build())
+                        .build());
+
+        var batch = retrying.getAll(List.of("key"));
+
+        assertEquals("value", batch.secrets().get("key").value());
+        assertEquals(1, retrying.getRetriedCount());
+    }
+
+    @Test
+    void shouldReportNonRetryableChunkFailurePerKey() {
+        when(client.batchGetSecretValue(any(BatchGetSecretValueRequest.class)))
+                .thenThrow(SecretsManagerException.builder().statusCode(403).message("denied").build());
+
+        var batch = secretsProviderAws.getAll(List.of("key", "other"));
+
+        assertEquals("denied", batch.errors().get("key"));
+        assertEquals("denied", batch.errors().get("other"));
+    }
+
+    private static SecretsManagerException throttling() {
+        return (SecretsManagerException) SecretsManagerException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .message("Rate exceeded")
+                .build();
+    }
+}
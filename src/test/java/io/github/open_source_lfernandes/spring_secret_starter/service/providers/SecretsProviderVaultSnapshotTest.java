@@ -0,0 +1,165 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import org.springframework.vault.core.ReactiveVaultTemplate;
+import org.springframework.vault.core.VaultTemplate;
+import org.springframework.vault.support.VaultResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SecretsProviderVaultSnapshotTest {
+
+    static final String PATH = "secret/data/test";
+    static final String METADATA_PATH = "secret/metadata/test";
+
+    VaultTemplate vaultTemplate;
+
+    @BeforeEach
+    void setUpVaultTemplate() {
+        vaultTemplate = mock(VaultTemplate.class);
+        when(vaultTemplate.read(PATH)).thenReturn(response(Map.of("user", "lucas", "password", "123456")));
+    }
+
+    @Test
+    void shouldServeEveryKeyFromOneRead() {
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, PATH, Duration.ofMinutes(1));
+
+        assertEquals("lucas", provider.get("user").orElseThrow().value());
+        assertEquals("123456", provider.get("password").orElseThrow().value());
+        assertTrue(provider.get("wrong-key").isEmpty());
+
+        verify(vaultTemplate, times(1)).read(PATH);
+    }
+
+    @Test
+    void shouldReadPathOnEveryLookupWithoutRefreshInterval() {
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, PATH);
+
+        provider.get("user");
+        provider.get("password");
+
+        verify(vaultTemplate, times(2)).read(PATH);
+    }
+
+    @Test
+    void shouldReadPathAgainAfterRefresh() {
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, PATH, Duration.ofMinutes(1));
+
+        provider.get("user");
+        provider.refresh();
+        provider.get("user");
+
+        verify(vaultTemplate, times(2)).read(PATH);
+    }
+
+    @Test
+    void shouldKeepPreviousSnapshotWhenRefreshFails() throws InterruptedException {
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, PATH, Duration.ofMillis(10));
+
+        provider.get("user");
+        when(vaultTemplate.read(PATH)).thenThrow(new IllegalStateException("vault unavailable"));
+        Thread.sleep(50L);
+
+        assertEquals("lucas", provider.get("user").orElseThrow().value());
+    }
+
+    @Test
+    void shouldServeAsyncLookupsFromOneReactiveRead() throws Exception {
+        var reactiveVaultTemplate = mock(ReactiveVaultTemplate.class);
+        when(reactiveVaultTemplate.read(PATH)).thenReturn(Mono.just(response(Map.of("user", "lucas"))));
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, reactiveVaultTemplate, PATH,
+                Duration.ofMinutes(1));
+
+        assertEquals("lucas", provider.getAsync("user").get().orElseThrow().value());
+        assertTrue(provider.getAsync("wrong-key").get().isEmpty());
+        assertEquals("lucas", provider.get("user").orElseThrow().value());
+
+        verify(reactiveVaultTemplate, times(1)).read(PATH);
+        verifyNoInteractions(vaultTemplate);
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenVersionIsUnchanged() throws InterruptedException {
+        when(vaultTemplate.read(PATH)).thenReturn(versionedResponse(Map.of("user", "lucas"), 3));
+        when(vaultTemplate.read(METADATA_PATH)).thenReturn(metadataResponse(3));
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, null, PATH,
+                Duration.ofMillis(10), true);
+
+        provider.get("user");
+        Thread.sleep(50L);
+        assertEquals("lucas", provider.get("user").orElseThrow().value());
+
+        verify(vaultTemplate, times(1)).read(PATH);
+        verify(vaultTemplate, times(1)).read(METADATA_PATH);
+    }
+
+    @Test
+    void shouldReadDataAgainWhenVersionChanged() throws InterruptedException {
+        when(vaultTemplate.read(PATH)).thenReturn(versionedResponse(Map.of("user", "lucas"), 3),
+                versionedResponse(Map.of("user", "rotated"), 4));
+        when(vaultTemplate.read(METADATA_PATH)).thenReturn(metadataResponse(4));
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, null, PATH,
+                Duration.ofMillis(10), true);
+
+        provider.get("user");
+        Thread.sleep(50L);
+
+        assertEquals("rotated", provider.get("user").orElseThrow().value());
+        verify(vaultTemplate, times(2)).read(PATH);
+    }
+
+    @Test
+    void shouldReadDataAgainWhenMetadataIsNotReadable() throws InterruptedException {
+        when(vaultTemplate.read(PATH)).thenReturn(versionedResponse(Map.of("user", "lucas"), 3));
+        when(vaultTemplate.read(METADATA_PATH)).thenThrow(new IllegalStateException("permission denied"));
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, null, PATH,
+                Duration.ofMillis(10), true);
+
+        provider.get("user");
+        Thread.sleep(50L);
+        provider.get("user");
+
+        verify(vaultTemplate, times(2)).read(PATH);
+    }
+
+    @Test
+    void shouldCheckVersionOfAsyncRefreshWithReactiveRead() throws Exception {
+        var reactiveVaultTemplate = mock(ReactiveVaultTemplate.class);
+        when(reactiveVaultTemplate.read(PATH)).thenReturn(Mono.just(versionedResponse(Map.of("user", "lucas"), 3)));
+        when(reactiveVaultTemplate.read(METADATA_PATH)).thenReturn(Mono.just(metadataResponse(3)));
+        var provider = new SecretsProviderVault(new ObjectMapper(), 1, vaultTemplate, reactiveVaultTemplate, PATH,
+                Duration.ofMillis(10), true);
+
+        provider.getAsync("user").get();
+        Thread.sleep(50L);
+        assertEquals("lucas", provider.getAsync("user").get().orElseThrow().value());
+
+        verify(reactiveVaultTemplate, times(1)).read(PATH);
+        verify(reactiveVaultTemplate, times(1)).read(METADATA_PATH);
+    }
+
+    private static VaultResponse versionedResponse(Map<String, Object> data, int version) {
+        var response = new VaultResponse();
+        response.setData(Map.of("data", data, "metadata", Map.of("version", version)));
+        return response;
+    }
+
+    private static VaultResponse metadataResponse(int currentVersion) {
+        var response = new VaultResponse();
+        response.setData(Map.of("current_version", currentVersion));
+        return response;
+    }
+
+    private static VaultResponse response(Map<String, Object> data) {
+        var response = new VaultResponse();
+        response.setData(Map.of("data", data));
+        return response;
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightSecretsProviderTest {
+
+    static final String KEY = "key";
+    static final int CALLERS = 8;
+
+    final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldCoalesceConcurrentLookupsOfSameKey() {
+        var delegate = new BlockingSecretsProvider(null);
+        var provider = new SingleFlightSecretsProvider(delegate);
+
+        List<Future<Optional<SecretDTO>>> lookups = startLookups(provider, delegate);
+        delegate.release.countDown();
+
+        for (Future<Optional<SecretDTO>> lookup : lookups) {
+            assertEquals("value", lookup.get(5, TimeUnit.SECONDS).orElseThrow().value());
+        }
+        assertEquals(1, delegate.calls.get());
+        assertEquals(1, provider.getDelegatedCount());
+        assertEquals(CALLERS - 1, provider.getDeduplicatedCount());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldShareFailureWithCoalescedLookups() {
+        var delegate = new BlockingSecretsProvider(new IllegalStateException("provider unavailable"));
+        var provider = new SingleFlightSecretsProvider(delegate);
+
+        List<Future<Optional<SecretDTO>>> lookups = startLookups(provider, delegate);
+        delegate.release.countDown();
+
+        for (Future<Optional<SecretDTO>> lookup : lookups) {
+            var exception = assertThrows(ExecutionException.class, () -> lookup.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+        }
+        assertEquals(1, delegate.calls.get());
+    }
+
+    @Test
+    void shouldStartNewLookupOnceThePreviousOneCompleted() {
+        var delegate = new BlockingSecretsProvider(null);
+        delegate.release.countDown();
+        var provider = new SingleFlightSecretsProvider(delegate);
+
+        provider.get(KEY);
+        provider.get(KEY);
+
+        assertEquals(2, delegate.calls.get());
+        assertEquals(0, provider.getDeduplicatedCount());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldCoalesceAsyncLookupsOfSameKey() {
+        var pending = new CompletableFuture<Optional<SecretDTO>>();
+        var asyncCalls = new AtomicInteger();
+        var provider = new SingleFlightSecretsProvider(new BlockingSecretsProvider(null) {
+            @Override
+            public CompletableFuture<Optional<SecretDTO>> getAsync(String key) {
+                asyncCalls.incrementAndGet();
+                return pending;
+            }
+        });
+
+        var first = provider.getAsync(KEY);
+        var second = provider.getAsync(KEY);
+        second.cancel(true);
+        pending.complete(Optional.of(SecretDTO.builder().origin(Origin.CUSTOM).key(KEY).value("value").build()));
+
+        assertEquals("value", first.get().orElseThrow().value());
+        assertEquals(1, asyncCalls.get());
+        assertEquals(1, provider.getDeduplicatedCount());
+    }
+
+    /**
+     * Starts concurrent lookups of the same key and waits until the first one reached the delegate.
+     */
+    @SneakyThrows
+    private List<Future<Optional<SecretDTO>>> startLookups(SingleFlightSecretsProvider provider,
+                                                           BlockingSecretsProvider delegate) {
+        List<Future<Optional<SecretDTO>>> lookups = new ArrayList<>();
+        lookups.add(executor.submit(() -> provider.get(KEY)));
+        assertTrue(delegate.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            lookups.add(executor.submit(() -> provider.get(KEY)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (provider.getDeduplicatedCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5L);
+        }
+        return lookups;
+    }
+
+    static class BlockingSecretsProvider extends AbstractSecretsProvider {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final RuntimeException failure;
+
+        BlockingSecretsProvider(RuntimeException failure) {
+            super(new ObjectMapper(), 1);
+            this.failure = failure;
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return Origin.CUSTOM;
+        }
+
+        @Override
+        @SneakyThrows
+        public Optional<SecretDTO> get(String key) {
+            calls.incrementAndGet();
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            if (failure != null) {
+                throw failure;
+            }
+            return Optional.of(SecretDTO.builder().origin(Origin.CUSTOM).key(key).value("value").build());
+        }
+
+        @Override
+        public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+            throw new SecretNotFoundException(key);
+        }
+    }
+}
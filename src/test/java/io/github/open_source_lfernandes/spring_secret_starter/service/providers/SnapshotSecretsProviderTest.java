@@ -0,0 +1,169 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.providers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.ProviderUnavailableException;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsSnapshotProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretSnapshot;
+import io.github.open_source_lfernandes.spring_secret_starter.service.support.SecretsExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotSecretsProviderTest {
+
+    @TempDir
+    Path directory;
+
+    SecretSnapshot snapshot;
+    FlakySecretsProvider delegate;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new SecretsSnapshotProperties(true, directory.resolve("secrets.snapshot"), null, null,
+                Duration.ofMinutes(1), false);
+        snapshot = new SecretSnapshot(properties, new SecretKeySpec(new byte[16], "AES"), new ObjectMapper(),
+                SecretsExecutors.sharedRefreshScheduler());
+        delegate = new FlakySecretsProvider();
+    }
+
+    @Test
+    void shouldServeLastKnownGoodSecretWhenProviderFails() throws Exception {
+        var provider = new SnapshotSecretsProvider(delegate, snapshot, false);
+        delegate.values.put("key", "\"value\"");
+        provider.get("key");
+
+        delegate.available = false;
+
+        assertEquals("\"value\"", provider.get("key").orElseThrow().value());
+        assertEquals("value", provider.get("key", String.class));
+        assertEquals("\"value\"", provider.getAsync("key").get(5, TimeUnit.SECONDS).orElseThrow().value());
+        assertEquals(3, provider.getFallbackCount());
+    }
+
+    @Test
+    void shouldRecordSecretsResolvedWithoutOriginUnderOriginOfProvider() {
+        var provider = new SnapshotSecretsProvider(delegate, snapshot, false);
+        delegate.origin = null;
+        delegate.values.put("key", "\"value\"");
+        provider.get("key");
+
+        assertEquals(Origin.CUSTOM, snapshot.get(Origin.CUSTOM, "key").orElseThrow().origin());
+        delegate.available = false;
+        assertEquals("\"value\"", provider.get("key").orElseThrow().value());
+
+        delegate.available = true;
+        delegate.values.remove("key");
+        provider.get("key");
+        assertEquals(0, snapshot.size());
+    }
+
+    @Test
+    void shouldRecordSecretsResolvedByTypedLookups() throws SecretNotFoundException {
+        var provider = new SnapshotSecretsProvider(delegate, snapshot, false);
+        delegate.values.put("key", "\"value\"");
+
+        assertEquals("value", provider.get("key", String.class));
+        assertTrue(snapshot.get(Origin.CUSTOM, "key").isPresent());
+
+        delegate.available = false;
+        assertEquals("value", provider.get("key", String.class));
+        assertEquals(1, provider.getFallbackCount());
+    }
+
+    @Test
+    void shouldFailWhenSnapshotDoesNotHoldTheKey() {
+        var provider = new SnapshotSecretsProvider(delegate, snapshot, false);
+        delegate.available = false;
+
+        assertThrows(ProviderUnavailableException.class, () -> provider.get("key"));
+        var exception = assertThrows(ExecutionException.class, () -> provider.getAsync("key").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ProviderUnavailableException.class, exception.getCause());
+    }
+
+    @Test
+    void shouldForgetSecretsTheProviderNoLongerHolds() {
+        var provider = new SnapshotSecretsProvider(delegate, snapshot, false);
+        delegate.values.put("key", "\"value\"");
+        provider.get("key");
+
+        delegate.values.remove("key");
+        provider.get("key");
+
+        assertTrue(snapshot.get(Origin.CUSTOM, "key").isEmpty());
+    }
+
+    @Test
+    void shouldServeFirstLookupFromSnapshotWhenWarmStarting() throws Exception {
+        snapshot.put(SecretDTO.builder().origin(Origin.CUSTOM).key("key").value("\"previous\"").build());
+        delegate.values.put("key", "\"current\"");
+        var provider = new SnapshotSecretsProvider(delegate, snapshot, true);
+
+        assertEquals("\"previous\"", provider.get("key").orElseThrow().value());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"\"current\"".equals(snapshot.get(Origin.CUSTOM, "key").orElseThrow().value())
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5L);
+        }
+
+        assertEquals("\"current\"", snapshot.get(Origin.CUSTOM, "key").orElseThrow().value());
+        assertEquals("\"current\"", provider.get("key").orElseThrow().value());
+    }
+
+    @Test
+    void shouldServeBatchErrorsFromSnapshot() {
+        snapshot.put(SecretDTO.builder().origin(Origin.CUSTOM).key("key").value("\"value\"").build());
+        delegate.available = false;
+        var provider = new SnapshotSecretsProvider(delegate, snapshot, false);
+
+        var batch = provider.getAll(List.of("key", "other"));
+
+        assertEquals("\"value\"", batch.secrets().get("key").value());
+        assertTrue(batch.errors().containsKey("other"));
+    }
+
+    static class FlakySecretsProvider extends AbstractSecretsProvider {
+
+        final Map<String, String> values = new HashMap<>();
+        volatile boolean available = true;
+        volatile Origin origin = Origin.CUSTOM;
+
+        FlakySecretsProvider() {
+            super(new ObjectMapper(), 1);
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return Origin.CUSTOM;
+        }
+
+        @Override
+        public Optional<SecretDTO> get(String key) {
+            if (!available) {
+                throw new ProviderUnavailableException(Origin.CUSTOM);
+            }
+            return Optional.ofNullable(values.get(key))
+                    .map(value -> SecretDTO.builder().origin(origin).key(key).value(value).build());
+        }
+
+        @Override
+        public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+            return get(key).map(secret -> convertJsonStringToTypeInstance(secret.value(), type))
+                    .orElseThrow(() -> new SecretNotFoundException(key));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import io.github.open_source_lfernandes.spring_secret_starter.enums.CircuitState;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsCircuitBreakerProperties;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    @SneakyThrows
+    void shouldIgnoreCallsStartedBeforeBreakerOpenedWhileProbing() {
+        var breaker = new CircuitBreaker(properties(Duration.ofMillis(20)));
+        long slow = breaker.tryAcquire();
+        long stale = breaker.tryAcquire();
+        openBreaker(breaker);
+        Thread.sleep(50L);
+
+        long probe = breaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.REJECTED, probe);
+        breaker.onSuccess(slow, 0L);
+        breaker.onFailure(stale);
+
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        assertEquals(1, breaker.getOpenedCount());
+        breaker.onSuccess(probe, 0L);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldIgnoreReplacedProbe() {
+        var breaker = new CircuitBreaker(properties(Duration.ofMillis(20)));
+        openBreaker(breaker);
+        Thread.sleep(50L);
+        long replaced = breaker.tryAcquire();
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        Thread.sleep(50L);
+
+        long probe = breaker.tryAcquire();
+        breaker.onSuccess(replaced, 0L);
+
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        breaker.onFailure(probe);
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertEquals(2, breaker.getOpenedCount());
+    }
+
+    @Test
+    void shouldIgnoreCallsCompletingWhileOpen() {
+        var breaker = new CircuitBreaker(properties(Duration.ofMinutes(1)));
+        long inFlight = breaker.tryAcquire();
+        openBreaker(breaker);
+
+        breaker.onSuccess(inFlight, 0L);
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldLetNextCallProbeOnceProbeIsReleased() {
+        var breaker = new CircuitBreaker(properties(Duration.ofMillis(20)));
+        openBreaker(breaker);
+        Thread.sleep(50L);
+
+        breaker.release(breaker.tryAcquire());
+        long probe = breaker.tryAcquire();
+
+        assertNotEquals(CircuitBreaker.REJECTED, probe);
+        breaker.onSuccess(probe, 0L);
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    private static void openBreaker(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure(breaker.tryAcquire());
+        }
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+
+    private static SecretsCircuitBreakerProperties properties(Duration openDuration) {
+        return new SecretsCircuitBreakerProperties(true, 4, 4, 50, Duration.ofMinutes(1), openDuration);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedLookupTest {
+
+    final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldInterruptLookupStillRunningAtDeadline() {
+        var interrupted = new CountDownLatch(1);
+        var hedgedLookup = new HedgedLookup(executor, Duration.ZERO, Duration.ofMillis(100));
+
+        Optional<String> result = hedgedLookup.firstSuccess(List.of("slow"), candidate -> {
+            try {
+                Thread.sleep(10_000L);
+            } catch (InterruptedException exception) {
+                interrupted.countDown();
+            }
+            return Optional.of(candidate);
+        });
+
+        assertTrue(result.isEmpty());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldTreatLookupsRejectedBySaturatedExecutorAsMisses() {
+        var saturated = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.AbortPolicy());
+        var release = new CountDownLatch(1);
+        saturated.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        var calls = new AtomicInteger();
+        try {
+            var hedgedLookup = new HedgedLookup(saturated, Duration.ZERO, Duration.ofSeconds(5));
+
+            long start = System.nanoTime();
+            Optional<String> result = hedgedLookup.firstSuccess(List.of("first", "second"), candidate -> {
+                calls.incrementAndGet();
+                return Optional.of(candidate);
+            });
+
+            assertTrue(result.isEmpty());
+            assertEquals(0, calls.get());
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        } finally {
+            release.countDown();
+            saturated.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.CannotCastTypeException;
+import io.github.open_source_lfernandes.spring_secret_starter.utils.faker.Credential;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretDecoderTest {
+
+    static final String CREDENTIAL_VALUE = "{\"username\":\"lucas\",\"password\":\"123456\"}";
+
+    final SecretDecoder decoder = new SecretDecoder(new ObjectMapper());
+
+    @Test
+    void shouldReuseDecodedRecordForSameVersion() {
+        DatabaseCredential first = decoder.decode(secret(CREDENTIAL_VALUE, "v1"), DatabaseCredential.class);
+        DatabaseCredential second = decoder.decode(secret(new String(CREDENTIAL_VALUE), "v1"), DatabaseCredential.class);
+
+        assertEquals(new DatabaseCredential("lucas", "123456"), first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldDecodeRecordAgainWhenVersionChanges() {
+        DatabaseCredential first = decoder.decode(secret(CREDENTIAL_VALUE, "v1"), DatabaseCredential.class);
+        DatabaseCredential rotated = decoder.decode(secret("{\"username\":\"lucas\",\"password\":\"654321\"}", "v2"),
+                DatabaseCredential.class);
+
+        assertEquals("654321", rotated.password());
+        assertNotSame(first, rotated);
+    }
+
+    @Test
+    void shouldDecodeRecordOnEveryCallWhenSecretHasNoVersion() {
+        DatabaseCredential first = decoder.decode(secret(CREDENTIAL_VALUE, null), DatabaseCredential.class);
+        DatabaseCredential second = decoder.decode(CREDENTIAL_VALUE, DatabaseCredential.class);
+
+        assertEquals(first, decoder.decode(secret(CREDENTIAL_VALUE, null), DatabaseCredential.class));
+        assertNotSame(first, decoder.decode(secret(CREDENTIAL_VALUE, null), DatabaseCredential.class));
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void shouldDecodePrimitiveTypeAgainFromMemo() {
+        assertEquals(42, decoder.decode(secret("42", "v1"), int.class));
+        assertEquals(42, decoder.decode(secret("42", "v1"), int.class));
+        assertEquals(42, decoder.decode("42", int.class));
+    }
+
+    @Test
+    void shouldDecodeMutableTypeOnEveryCall() {
+        Credential first = decoder.decode(secret(CREDENTIAL_VALUE, "v1"), Credential.class);
+        Credential second = decoder.decode(secret(CREDENTIAL_VALUE, "v1"), Credential.class);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void shouldReuseDecodedRecordWithNestedImmutableRecord() {
+        String value = "{\"name\":\"db\",\"credential\":" + CREDENTIAL_VALUE + "}";
+
+        assertSame(decoder.decode(secret(value, "v1"), Datasource.class),
+                decoder.decode(secret(value, "v1"), Datasource.class));
+    }
+
+    @Test
+    void shouldDecodeRecordHoldingCollectionOnEveryCall() {
+        String value = "{\"username\":\"lucas\",\"roles\":[\"admin\"]}";
+
+        Account first = decoder.decode(secret(value, "v1"), Account.class);
+        first.roles().add("guest");
+        Account second = decoder.decode(secret(value, "v1"), Account.class);
+
+        assertNotSame(first, second);
+        assertEquals(List.of("admin"), second.roles());
+    }
+
+    @Test
+    void shouldThrowCannotCastTypeWhenValueIsNotJson() {
+        assertThrows(CannotCastTypeException.class, () -> decoder.decode("not-json", DatabaseCredential.class));
+    }
+
+    private static SecretDTO secret(String value, String version) {
+        return SecretDTO.builder()
+                .origin(Origin.AWS)
+                .key("database")
+                .value(value)
+                .version(version)
+                .build();
+    }
+
+    record DatabaseCredential(String username, String password) {
+    }
+
+    record Datasource(String name, DatabaseCredential credential) {
+    }
+
+    record Account(String username, List<String> roles) {
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsSnapshotProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretSnapshotTest {
+
+    static final SecretKey KEY = new SecretKeySpec(new byte[32], "AES");
+    static final SecretDTO SECRET = SecretDTO.builder().origin(Origin.AWS).key("db/password").value("s3cr3t").version("v1").build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReloadEncryptedSecrets() throws Exception {
+        var snapshot = snapshot(KEY, Duration.ofDays(1));
+        snapshot.put(SECRET);
+        snapshot.flush();
+
+        assertFalse(new String(Files.readAllBytes(file()), StandardCharsets.ISO_8859_1).contains("s3cr3t"));
+        assertEquals(SECRET, snapshot(KEY, Duration.ofDays(1)).get(Origin.AWS, "db/password").orElseThrow());
+    }
+
+    @Test
+    void shouldIgnoreSnapshotEncryptedWithAnotherKey() {
+        var snapshot = snapshot(KEY, Duration.ofDays(1));
+        snapshot.put(SECRET);
+        snapshot.flush();
+
+        var otherKey = new SecretKeySpec(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16}, "AES");
+        assertEquals(0, snapshot(otherKey, Duration.ofDays(1)).size());
+    }
+
+    @Test
+    void shouldIgnoreExpiredSnapshot() throws InterruptedException {
+        var snapshot = snapshot(KEY, Duration.ofDays(1));
+        snapshot.put(SECRET);
+        snapshot.flush();
+        Thread.sleep(5L);
+
+        assertEquals(0, snapshot(KEY, Duration.ofMillis(1)).size());
+    }
+
+    @Test
+    void shouldWriteRemovedSecrets() {
+        var snapshot = snapshot(KEY, Duration.ofDays(1));
+        snapshot.put(SECRET);
+        snapshot.flush();
+        snapshot.remove(Origin.AWS, "db/password");
+        snapshot.flush();
+
+        assertTrue(snapshot(KEY, Duration.ofDays(1)).get(Origin.AWS, "db/password").isEmpty());
+    }
+
+    @Test
+    void shouldReadKeyFromEnvironment() {
+        var environment = new MockEnvironment()
+                .withProperty("SNAPSHOT_KEY", Base64.getEncoder().encodeToString(new byte[32]))
+                .withProperty("SHORT_KEY", Base64.getEncoder().encodeToString(new byte[8]));
+
+        assertArrayEquals(new byte[32], SecretSnapshotKeyProvider.fromEnvironment(environment, "SNAPSHOT_KEY").getKey().getEncoded());
+        assertThrows(IllegalStateException.class, () -> SecretSnapshotKeyProvider.fromEnvironment(environment, "SHORT_KEY"));
+        assertThrows(IllegalStateException.class, () -> SecretSnapshotKeyProvider.fromEnvironment(environment, "MISSING_KEY"));
+    }
+
+    private SecretSnapshot snapshot(SecretKey key, Duration maxAge) {
+        var properties = new SecretsSnapshotProperties(true, file(), null, maxAge, Duration.ofMinutes(1), false);
+        return new SecretSnapshot(properties, key, new ObjectMapper(), SecretsExecutors.sharedRefreshScheduler());
+    }
+
+    private Path file() {
+        return directory.resolve("secrets.snapshot");
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.open_source_lfernandes.spring_secret_starter.service.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.open_source_lfernandes.spring_secret_starter.dto.SecretDTO;
+import io.github.open_source_lfernandes.spring_secret_starter.enums.Origin;
+import io.github.open_source_lfernandes.spring_secret_starter.exceptions.SecretNotFoundException;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsLookupProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.properties.SecretsObservationProperties;
+import io.github.open_source_lfernandes.spring_secret_starter.service.SecretsManagerService;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.AbstractSecretsProvider;
+import io.github.open_source_lfernandes.spring_secret_starter.service.providers.ObservedSecretsProvider;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecretsObservationsTest {
+
+    final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+    final ObservationRegistry registry = ObservationRegistry.create();
+
+    @BeforeEach
+    void setUpRegistry() {
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+        });
+    }
+
+    @Test
+    void shouldNestProviderObservationsInServiceObservation() {
+        var observations = new SecretsObservations(registry, new SecretsObservationProperties(null));
+        var service = service(observations);
+
+        service.getFromAnyProvider("missing");
+        service.getFromAnyProvider("key");
+
+        var providerCalls = stopped.stream().filter(context -> SecretsObservations.PROVIDER.equals(context.getName())).toList();
+        var serviceCalls = stopped.stream().filter(context -> SecretsObservations.SERVICE.equals(context.getName())).toList();
+        assertEquals(2, providerCalls.size());
+        assertEquals(2, serviceCalls.size());
+        assertEquals("miss", tag(serviceCalls.get(0), "outcome"));
+        assertEquals("hit", tag(serviceCalls.get(1), "outcome"));
+        assertEquals(Origin.CUSTOM.name(), tag(providerCalls.get(1), "origin"));
+        assertEquals("false", tag(providerCalls.get(1), "cached"));
+        assertEquals("key", serviceCalls.get(1).getHighCardinalityKeyValue("key").getValue());
+        assertSame(serviceCalls.get(1), providerCalls.get(1).getParentObservation().getContextView());
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldTagFailuresAndLeaveOutKeyWhenDisabled() {
+        var observations = new SecretsObservations(registry, new SecretsObservationProperties(false));
+        var service = service(observations);
+
+        assertThrows(SecretNotFoundException.class, () -> service.get(Origin.CUSTOM, "missing", String.class));
+        service.getFromAnyProviderAsync("key").get(5, TimeUnit.SECONDS);
+
+        var typed = stopped.stream()
+                .filter(context -> SecretsObservations.SERVICE.equals(context.getName()))
+                .findFirst().orElseThrow();
+        assertEquals("miss", tag(typed, "outcome"));
+        assertNull(typed.getHighCardinalityKeyValue("key"));
+        assertTrue(stopped.stream().anyMatch(context -> "getFromAnyProviderAsync".equals(tag(context, "operation"))
+                && "hit".equals(tag(context, "outcome"))));
+    }
+
+    private static String tag(Observation.Context context, String key) {
+        KeyValue keyValue = context.getLowCardinalityKeyValue(key);
+        return keyValue == null ? null : keyValue.getValue();
+    }
+
+    private static SecretsManagerService service(SecretsObservations observations) {
+        AbstractSecretsProvider provider = new ObservedSecretsProvider(new StubSecretsProvider(), observations);
+        return new SecretsManagerService(List.of(provider), new ObjectMapper(), SecretsExecutors.sharedLookupExecutor(),
+                new SecretsLookupProperties(null, null, null, null, null), observations);
+    }
+
+    static class StubSecretsProvider extends AbstractSecretsProvider {
+
+        StubSecretsProvider() {
+            super(new ObjectMapper(), 1);
+        }
+
+        @Override
+        public Origin getOrigin() {
+            return Origin.CUSTOM;
+        }
+
+        @Override
+        public Optional<SecretDTO> get(String key) {
+            if ("key".equals(key)) {
+                return Optional.of(SecretDTO.builder().origin(Origin.CUSTOM).key(key).value("value").build());
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public <T> T get(String key, Class<T> type) throws SecretNotFoundException {
+            throw new SecretNotFoundException(key);
+        }
+    }
+}